@@ -3,9 +3,11 @@ package br.com.fiap.aposta_apoio;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
+@EnableScheduling
 public class ApostaApoioApplication {
     public static void main(String[] args) {
         SpringApplication.run(ApostaApoioApplication.class, args);
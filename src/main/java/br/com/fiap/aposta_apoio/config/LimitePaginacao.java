@@ -0,0 +1,24 @@
+package br.com.fiap.aposta_apoio.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limites de um parâmetro Pageable, aplicados pelo LimitePaginacaoResolver.
+ * Parâmetros sem esta anotação usam o grupo "padrao" e descartam a ordenação.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LimitePaginacao {
+
+    /** Grupo cujo tamanho máximo de página vem de api.paginacao.max-tamanho.&lt;grupo&gt;. */
+    String grupo() default LimitePaginacaoResolver.GRUPO_PADRAO;
+
+    /**
+     * Campos aceitos no parâmetro sort; devem ter índice no banco. Vazio quando o endpoint não usa a
+     * ordenação recebida (ela é descartada).
+     */
+    String[] ordenacoes() default {};
+}
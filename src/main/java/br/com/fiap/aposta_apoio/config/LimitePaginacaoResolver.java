@@ -0,0 +1,86 @@
+package br.com.fiap.aposta_apoio.config;
+
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolve todos os parâmetros Pageable dos controllers com limites definidos no servidor.
+ * O tamanho da página deve ficar entre 1 e o máximo do grupo (api.paginacao.max-tamanho.&lt;grupo&gt;, ou
+ * api.paginacao.max-tamanho.padrao), e a ordenação só é aceita nos campos listados em {@link LimitePaginacao}.
+ * Fora disso a requisição recebe 400, em vez de o cliente escolher quantas entidades são carregadas ou
+ * forçar uma ordenação sem índice. A leitura de page/size/sort continua com o resolver do Spring Data.
+ */
+public class LimitePaginacaoResolver implements HandlerMethodArgumentResolver {
+
+    public static final String GRUPO_PADRAO = "padrao";
+
+    private static final String PROPRIEDADE = "api.paginacao.max-tamanho.";
+    private static final int MAX_TAMANHO_PADRAO = 100;
+
+    private final PageableHandlerMethodArgumentResolver delegado;
+    private final Environment environment;
+    private final Map<String, Integer> maximos = new ConcurrentHashMap<>();
+
+    public LimitePaginacaoResolver(PageableHandlerMethodArgumentResolver delegado, Environment environment) {
+        this.delegado = delegado;
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Pageable.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Pageable resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                    NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        LimitePaginacao limite = parameter.getParameterAnnotation(LimitePaginacao.class);
+        int maximo = maximoDoGrupo(limite == null ? GRUPO_PADRAO : limite.grupo());
+        String tamanho = webRequest.getParameter("size");
+        if (tamanho != null && !tamanho.isBlank()) {
+            int valor;
+            try {
+                valor = Integer.parseInt(tamanho.trim());
+            } catch (NumberFormatException e) {
+                throw new ParametroInvalidoException("Parâmetro size deve ser um número entre 1 e " + maximo + ".");
+            }
+            if (valor < 1 || valor > maximo) {
+                throw new ParametroInvalidoException("Parâmetro size deve estar entre 1 e " + maximo + ".");
+            }
+        }
+
+        Pageable pageable = delegado.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        if (pageable.isUnpaged() || pageable.getSort().isUnsorted()) {
+            return pageable;
+        }
+        String[] permitidas = limite == null ? new String[0] : limite.ordenacoes();
+        if (permitidas.length == 0) {
+            return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        }
+        for (Sort.Order ordem : pageable.getSort()) {
+            if (!Arrays.asList(permitidas).contains(ordem.getProperty())) {
+                throw new ParametroInvalidoException("Ordenação por '" + ordem.getProperty()
+                        + "' não permitida. Campos aceitos: " + String.join(", ", permitidas) + ".");
+            }
+        }
+        return pageable;
+    }
+
+    private int maximoDoGrupo(String grupo) {
+        return maximos.computeIfAbsent(grupo, g -> environment.getProperty(PROPRIEDADE + g, Integer.class,
+                environment.getProperty(PROPRIEDADE + GRUPO_PADRAO, Integer.class, MAX_TAMANHO_PADRAO)));
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.fiap.aposta_apoio.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registra o LimitePaginacaoResolver antes do resolver de Pageable do Spring Data, para que todo
+ * parâmetro Pageable passe pelos limites do servidor.
+ */
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PaginacaoConfig implements WebMvcConfigurer {
+
+    private final PageableHandlerMethodArgumentResolver pageableResolver;
+    private final Environment environment;
+
+    public PaginacaoConfig(PageableHandlerMethodArgumentResolver pageableResolver, Environment environment) {
+        this.pageableResolver = pageableResolver;
+        this.environment = environment;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new LimitePaginacaoResolver(pageableResolver, environment));
+    }
+}
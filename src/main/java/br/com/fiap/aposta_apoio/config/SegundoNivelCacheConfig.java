@@ -0,0 +1,69 @@
+package br.com.fiap.aposta_apoio.config;
+
+import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache com Ehcache 3) para as entidades Profissional e Usuario.
+ * Desligado por padrão; habilitado com api.cache.segundo-nivel.habilitado=true. Cada região tem limite
+ * de entradas em heap e TTL próprios, definidos no application.properties. Regiões não configuradas aqui
+ * fazem a inicialização falhar, para que nenhuma região fique sem limite.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.cache.segundo-nivel.habilitado", havingValue = "true")
+public class SegundoNivelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager segundoNivelCacheManager(
+            @Value("${api.cache.segundo-nivel.profissional.max-entradas:5000}") long maxProfissionais,
+            @Value("${api.cache.segundo-nivel.usuario.max-entradas:10000}") long maxUsuarios,
+            @Value("${api.cache.segundo-nivel.ttl-segundos:600}") long ttlSegundos) {
+        CachingProvider provedor = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // Regiões configuradas por código, sem ehcache.xml: usa o CacheManager padrão do provedor
+        CacheManager cacheManager = provedor.getCacheManager(provedor.getDefaultURI(), getClass().getClassLoader());
+        Duration ttl = Duration.ofSeconds(ttlSegundos);
+        criarRegiao(cacheManager, Profissional.REGIAO_CACHE, maxProfissionais, ttl);
+        criarRegiao(cacheManager, Usuario.REGIAO_CACHE, maxUsuarios, ttl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer segundoNivelCache(CacheManager segundoNivelCacheManager) {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            propriedades.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            propriedades.put(ConfigSettings.CACHE_MANAGER, segundoNivelCacheManager);
+            propriedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Acertos e falhas do cache aparecem em /dashboard/metricas
+            propriedades.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void criarRegiao(CacheManager cacheManager, String regiao, long maxEntradas, Duration ttl) {
+        // O provedor JCache reaproveita o CacheManager padrão (por exemplo, entre contextos de teste)
+        if (cacheManager.getCache(regiao) != null) {
+            cacheManager.destroyCache(regiao);
+        }
+        cacheManager.createCache(regiao, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(maxEntradas))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))));
+    }
+}
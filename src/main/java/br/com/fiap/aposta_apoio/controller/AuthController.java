@@ -2,11 +2,15 @@ package br.com.fiap.aposta_apoio.controller;
 
 import br.com.fiap.aposta_apoio.dto.LoginDTO;
 import br.com.fiap.aposta_apoio.dto.RegistroDTO;
+import br.com.fiap.aposta_apoio.dto.RegistroLoteResultadoDTO;
 import br.com.fiap.aposta_apoio.dto.TokenDTO;
 import br.com.fiap.aposta_apoio.dto.UsuarioDTO;
+import br.com.fiap.aposta_apoio.event.UsuarioAlteradoEvent;
 import br.com.fiap.aposta_apoio.model.Usuario;
 import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
 import br.com.fiap.aposta_apoio.security.TokenService;
+import br.com.fiap.aposta_apoio.service.Cpf;
+import br.com.fiap.aposta_apoio.service.RegistroLoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,6 +18,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,6 +27,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller responsável pela autenticação e registro de usuários.
  * Expõe endpoints públicos para login e cadastro.
@@ -34,15 +42,21 @@ public class AuthController {
     private final TokenService tokenService;
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RegistroLoteService registroLoteService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthController(AuthenticationManager authenticationManager,
                          TokenService tokenService,
                          UsuarioRepository usuarioRepository,
-                         PasswordEncoder passwordEncoder) {
+                         PasswordEncoder passwordEncoder,
+                         RegistroLoteService registroLoteService,
+                         ApplicationEventPublisher eventPublisher) {
         this.authenticationManager = authenticationManager;
         this.tokenService = tokenService;
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.registroLoteService = registroLoteService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -86,28 +100,30 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Usuário registrado com sucesso",
             content = @Content(schema = @Schema(implementation = UsuarioDTO.class))),
-        @ApiResponse(responseCode = "400", description = "Login já existe ou dados inválidos"),
+        @ApiResponse(responseCode = "409", description = "Login ou CPF já existe"),
         @ApiResponse(responseCode = "400", description = "Dados de registro inválidos")
     })
     public ResponseEntity<UsuarioDTO> registro(@RequestBody @Valid RegistroDTO registroDTO) {
-        // Verificar se o login já existe
-        if (usuarioRepository.existsByLogin(registroDTO.login())) {
-            return ResponseEntity.badRequest().build();
-        }
-
         // Criar novo usuário
         Usuario usuario = new Usuario();
         usuario.setNome(registroDTO.nome());
         usuario.setEmail(registroDTO.email());
         usuario.setTelefone(registroDTO.telefone());
-        usuario.setCpf(registroDTO.cpf());
+        usuario.setCpf(Cpf.normalizar(registroDTO.cpf()));
         usuario.setDataNascimento(registroDTO.dataNascimento());
         usuario.setEndereco(registroDTO.endereco());
         usuario.setLogin(registroDTO.login());
         usuario.setSenha(passwordEncoder.encode(registroDTO.senha()));
         usuario.setRole(registroDTO.role() != null ? registroDTO.role() : "USER");
 
-        Usuario salvo = usuarioRepository.save(usuario);
+        // Um único INSERT: os índices únicos de login e CPF resolvem a disputa entre cadastros simultâneos
+        Usuario salvo;
+        try {
+            salvo = usuarioRepository.saveAndFlush(usuario);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(Cpf.violouIndiceUnico(e) ? "CPF já cadastrado" : "Login já cadastrado");
+        }
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(salvo.getId(), salvo.getLogin(), UsuarioAlteradoEvent.Tipo.CRIADO));
 
         UsuarioDTO dto = new UsuarioDTO(
             salvo.getId(),
@@ -121,4 +137,22 @@ public class AuthController {
 
         return ResponseEntity.status(201).body(dto);
     }
+
+    /**
+     * Endpoint de registro em lote para onboarding de clínicas parceiras.
+     */
+    @PostMapping("/registro/lote")
+    @Operation(
+        summary = "Registrar usuários em lote",
+        description = "Cria vários usuários em uma única requisição (restrito a ADMIN). Cada item é validado individualmente; logins repetidos ou já cadastrados são rejeitados sem interromper o lote. As senhas são criptografadas em paralelo e os usuários inseridos via JDBC batch."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; o resultado de cada item é retornado",
+            content = @Content(schema = @Schema(implementation = RegistroLoteResultadoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do limite"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    public ResponseEntity<RegistroLoteResultadoDTO> registroLote(@RequestBody List<RegistroDTO> registros) {
+        return ResponseEntity.ok(registroLoteService.registrar(registros));
+    }
 }
@@ -0,0 +1,103 @@
+package br.com.fiap.aposta_apoio.controller;
+
+import br.com.fiap.aposta_apoio.dto.AutoExclusaoConsultaDTO;
+import br.com.fiap.aposta_apoio.dto.AutoExclusaoDTO;
+import br.com.fiap.aposta_apoio.dto.AutoExclusaoVerificacaoDTO;
+import br.com.fiap.aposta_apoio.service.AutoExclusaoService;
+import br.com.fiap.aposta_apoio.service.Cpf;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Controller do registro de autoexclusão: inclusão/revogação pelo usuário e consultas pelos operadores.
+ */
+@RestController
+@RequestMapping("/autoexclusoes")
+@Tag(name = "Autoexclusão", description = "Registro de autoexclusão consultado pelos operadores de apostas")
+public class AutoExclusaoController {
+
+    private final AutoExclusaoService service;
+
+    public AutoExclusaoController(AutoExclusaoService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    @Operation(
+        summary = "Registrar autoexclusão",
+        description = "Inclui o usuário no registro de autoexclusão. A partir do commit, o CPF do usuário passa a constar nas consultas dos operadores."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Autoexclusão registrada",
+            content = @Content(schema = @Schema(implementation = AutoExclusaoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Usuário não informado"),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Usuário já está autoexcluído"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<AutoExclusaoDTO> registrar(@RequestBody @Valid AutoExclusaoDTO dto) {
+        AutoExclusaoDTO criada = service.registrar(dto.usuarioId());
+        return ResponseEntity.created(URI.create("/autoexclusoes/" + criada.usuarioId())).body(criada);
+    }
+
+    @DeleteMapping("/{usuarioId}")
+    @Operation(
+        summary = "Revogar autoexclusão",
+        description = "Remove o usuário do registro de autoexclusão."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Autoexclusão revogada"),
+        @ApiResponse(responseCode = "404", description = "Autoexclusão não encontrada"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<Void> revogar(
+        @Parameter(description = "ID do usuário", required = true, example = "1") @PathVariable Long usuarioId
+    ) {
+        service.revogar(usuarioId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/cpf/{cpf}")
+    @Operation(
+        summary = "Consultar CPF",
+        description = "Indica se o CPF (com ou sem pontuação) está autoexcluído. Respondido pelo conjunto em memória, sem consulta ao banco."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consulta realizada",
+            content = @Content(schema = @Schema(implementation = AutoExclusaoConsultaDTO.class))),
+        @ApiResponse(responseCode = "400", description = "CPF sem 11 dígitos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<AutoExclusaoConsultaDTO> consultar(
+        @Parameter(description = "CPF", required = true, example = "12345678901") @PathVariable String cpf
+    ) {
+        boolean autoexcluido = service.estaAutoexcluido(cpf);
+        return ResponseEntity.ok(new AutoExclusaoConsultaDTO(Cpf.descompactar(Cpf.compactar(cpf)), autoexcluido));
+    }
+
+    @PostMapping("/verificacao")
+    @Operation(
+        summary = "Verificar CPFs em lote",
+        description = "Recebe uma lista de CPFs (até api.autoexclusao.verificacao.max-cpfs, padrão 10000) e devolve os que estão autoexcluídos. CPFs em formato inválido são listados à parte, sem falhar a verificação."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Verificação realizada",
+            content = @Content(schema = @Schema(implementation = AutoExclusaoVerificacaoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Lista vazia ou acima do limite"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<AutoExclusaoVerificacaoDTO> verificar(@RequestBody List<String> cpfs) {
+        return ResponseEntity.ok(service.verificar(cpfs));
+    }
+}
@@ -1,20 +1,38 @@
 package br.com.fiap.aposta_apoio.controller;
 
 import br.com.fiap.aposta_apoio.dto.ResumoDTO;
-import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
-import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
-import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import br.com.fiap.aposta_apoio.dto.SessaoSerieDTO;
+import br.com.fiap.aposta_apoio.security.BoundedBCryptPasswordEncoder;
+import br.com.fiap.aposta_apoio.security.RateLimitFilter;
+import br.com.fiap.aposta_apoio.security.TokenService;
+import br.com.fiap.aposta_apoio.service.AgendaProfissionalService;
+import br.com.fiap.aposta_apoio.service.BuscaNomeService;
+import br.com.fiap.aposta_apoio.service.ContadorResumoService;
+import br.com.fiap.aposta_apoio.service.ProfissionalBuscaCache;
+import br.com.fiap.aposta_apoio.service.SessaoRollupService;
+import br.com.fiap.aposta_apoio.service.SessaoRollupService.Agrupamento;
+import br.com.fiap.aposta_apoio.service.SessaoRollupService.Granularidade;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Controller para dashboard e métricas gerais do sistema.
  */
@@ -23,22 +41,40 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Dashboard", description = "Endpoints para visualização de métricas e estatísticas do sistema")
 public class DashboardController {
 
-    private final UsuarioRepository usuarioRepository;
-    private final ProfissionalRepository profissionalRepository;
-    private final SessaoApoioRepository sessaoApoioRepository;
+    private final ContadorResumoService contadorResumoService;
+    private final SessaoRollupService sessaoRollupService;
+    private final TokenService tokenService;
+    private final BoundedBCryptPasswordEncoder passwordEncoder;
+    private final RateLimitFilter rateLimitFilter;
+    private final AgendaProfissionalService agendaService;
+    private final ProfissionalBuscaCache profissionalBuscaCache;
+    private final BuscaNomeService buscaNomeService;
+    private final SessionFactory sessionFactory;
 
-    public DashboardController(UsuarioRepository usuarioRepository,
-                               ProfissionalRepository profissionalRepository,
-                               SessaoApoioRepository sessaoApoioRepository) {
-        this.usuarioRepository = usuarioRepository;
-        this.profissionalRepository = profissionalRepository;
-        this.sessaoApoioRepository = sessaoApoioRepository;
+    public DashboardController(ContadorResumoService contadorResumoService,
+                               SessaoRollupService sessaoRollupService,
+                               TokenService tokenService,
+                               BoundedBCryptPasswordEncoder passwordEncoder,
+                               RateLimitFilter rateLimitFilter,
+                               AgendaProfissionalService agendaService,
+                               ProfissionalBuscaCache profissionalBuscaCache,
+                               BuscaNomeService buscaNomeService,
+                               EntityManagerFactory entityManagerFactory) {
+        this.contadorResumoService = contadorResumoService;
+        this.sessaoRollupService = sessaoRollupService;
+        this.tokenService = tokenService;
+        this.passwordEncoder = passwordEncoder;
+        this.rateLimitFilter = rateLimitFilter;
+        this.agendaService = agendaService;
+        this.profissionalBuscaCache = profissionalBuscaCache;
+        this.buscaNomeService = buscaNomeService;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
     }
 
     @GetMapping("/resumo")
     @Operation(
         summary = "Obter resumo do sistema",
-        description = "Retorna estatísticas gerais do sistema: total de usuários cadastrados, total de profissionais e total de sessões de apoio agendadas."
+        description = "Retorna estatísticas gerais do sistema: total de usuários cadastrados, total de profissionais e total de sessões de apoio agendadas. Os totais vêm de contadores em memória, reconciliados periodicamente com o banco."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso",
@@ -46,11 +82,66 @@ public class DashboardController {
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<ResumoDTO> resumo() {
-        ResumoDTO dto = new ResumoDTO(
-                usuarioRepository.count(),
-                profissionalRepository.count(),
-                sessaoApoioRepository.count()
-        );
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok(contadorResumoService.resumo());
+    }
+
+    @GetMapping("/sessoes")
+    @Operation(
+        summary = "Série de sessões por período",
+        description = "Retorna a quantidade de sessões por dia, semana (início na segunda-feira) ou mês, opcionalmente agrupada por especialidade ou estado do profissional. Lê apenas o agregado diário pré-calculado. Padrão: últimos 30 dias, por dia, sem agrupamento."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Série retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Período ou parâmetros inválidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<List<SessaoSerieDTO>> sessoes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "DIA") Granularidade granularidade,
+            @RequestParam(defaultValue = "NENHUM") Agrupamento agrupamento) {
+        LocalDate ate = fim != null ? fim : LocalDate.now();
+        LocalDate de = inicio != null ? inicio : ate.minusDays(30);
+        return ResponseEntity.ok(sessaoRollupService.consultar(de, ate, granularidade, agrupamento));
+    }
+
+    @GetMapping("/metricas")
+    @Operation(
+        summary = "Obter métricas internas",
+        description = "Retorna contadores internos da aplicação: o cache de tokens JWT verificados, o executor de hash BCrypt (fila, latência e rejeições), o limitador de taxa da autenticação e as divergências corrigidas na reconciliação dos contadores do resumo."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<Map<String, Long>> metricas() {
+        Map<String, Long> metricas = new LinkedHashMap<>();
+        metricas.put("tokenCacheHits", tokenService.getCacheHits());
+        metricas.put("tokenCacheMisses", tokenService.getCacheMisses());
+        metricas.put("tokenCacheTamanho", (long) tokenService.getCacheSize());
+        metricas.put("bcryptFila", (long) passwordEncoder.getTamanhoFila());
+        metricas.put("bcryptThreadsAtivas", (long) passwordEncoder.getThreadsAtivas());
+        metricas.put("bcryptOperacoes", passwordEncoder.getOperacoes());
+        metricas.put("bcryptLatenciaMediaMicros", passwordEncoder.getLatenciaMediaMicros());
+        metricas.put("bcryptLatenciaMaximaMicros", passwordEncoder.getLatenciaMaximaMicros());
+        metricas.put("bcryptRejeicoes", passwordEncoder.getRejeicoes());
+        metricas.put("rateLimitRejeicoes", rateLimitFilter.getRejeicoes());
+        metricas.put("rateLimitBuckets", (long) rateLimitFilter.getBucketsAtivos());
+        metricas.put("resumoDivergencias", contadorResumoService.getDivergencias());
+        metricas.put("agendaConflitos", agendaService.getConflitos());
+        metricas.put("agendaHorariosIndexados", agendaService.getHorariosIndexados());
+        metricas.put("buscaProfissionaisCacheAcertos", profissionalBuscaCache.getAcertos());
+        metricas.put("buscaProfissionaisCacheFaltas", profissionalBuscaCache.getFaltas());
+        metricas.put("buscaProfissionaisCacheTamanho", (long) profissionalBuscaCache.getTamanho());
+        metricas.put("buscaNomeUsuariosIndexados", (long) buscaNomeService.getUsuariosIndexados());
+        metricas.put("buscaNomeProfissionaisIndexados", (long) buscaNomeService.getProfissionaisIndexados());
+        metricas.put("buscaNomeBytesPostings", buscaNomeService.getBytesPostings());
+        if (sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            Statistics estatisticas = sessionFactory.getStatistics();
+            metricas.put("cacheSegundoNivelAcertos", estatisticas.getSecondLevelCacheHitCount());
+            metricas.put("cacheSegundoNivelFaltas", estatisticas.getSecondLevelCacheMissCount());
+            metricas.put("cacheSegundoNivelInsercoes", estatisticas.getSecondLevelCachePutCount());
+        }
+        return ResponseEntity.ok(metricas);
     }
 }
@@ -1,6 +1,14 @@
 package br.com.fiap.aposta_apoio.controller;
 
+import br.com.fiap.aposta_apoio.config.LimitePaginacao;
+import br.com.fiap.aposta_apoio.dto.BuscaPorIdsDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
 import br.com.fiap.aposta_apoio.dto.ProfissionalDTO;
+import br.com.fiap.aposta_apoio.dto.ProfissionalProximoDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.service.BuscaPorIds;
 import br.com.fiap.aposta_apoio.service.IProfissionalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,12 +18,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.List;
 
 /**
  * Controller para operações com profissionais.
@@ -27,8 +38,12 @@ import java.net.URI;
 public class ProfissionalController {
     private final IProfissionalService service;
 
-    public ProfissionalController(IProfissionalService service) {
+    private final int maxIds;
+
+    public ProfissionalController(IProfissionalService service,
+                                  @Value("${api.consultas.max-ids:100}") int maxIds) {
         this.service = service;
+        this.maxIds = maxIds;
     }
 
     @PostMapping
@@ -56,14 +71,131 @@ public class ProfissionalController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de profissionais retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Tamanho de página ou ordenação não permitidos"),
+        @ApiResponse(responseCode = "503", description = "Consulta excedeu o tempo limite"),
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<Page<ProfissionalDTO>> listar(
-        @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable
+        @Parameter(description = "Parâmetros de paginação (page, size até 100, sort: id, nome)")
+        @LimitePaginacao(grupo = "profissionais", ordenacoes = {"id", "nome"}) Pageable pageable
     ) {
         return ResponseEntity.ok(service.listarPaginado(pageable));
     }
 
+    @GetMapping(params = "ids")
+    @Operation(
+        summary = "Buscar vários profissionais por ID",
+        description = "Resolve até api.consultas.max-ids (padrão 100) ids com uma única consulta IN, substituindo uma chamada a /{id} por registro. Os resultados seguem a ordem dos ids informados (repetidos são ignorados) e os ids inexistentes são listados em naoEncontrados."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consulta realizada"),
+        @ApiResponse(responseCode = "400", description = "Lista de ids vazia, inválida, acima do limite ou combinada com mode"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<BuscaPorIdsDTO<ProfissionalDTO>> buscarPorIds(
+        @Parameter(description = "IDs dos profissionais, separados por vírgula", required = true, example = "1,2,3") @RequestParam List<Long> ids,
+        @Parameter(hidden = true) @RequestParam(required = false) String mode
+    ) {
+        // As variantes mode=slice/cursor excluem ids no mapeamento, então a combinação chega aqui
+        if (mode != null) {
+            throw new ParametroInvalidoException("O parâmetro ids não pode ser combinado com mode.");
+        }
+        return ResponseEntity.ok(service.buscarPorIds(BuscaPorIds.distintos(ids, maxIds)));
+    }
+
+    @GetMapping(params = {"mode=slice", "!ids"})
+    @Operation(
+        summary = "Listar profissionais por slice",
+        description = "Paginação por número de página (mode=slice) sem contagem total: uma única consulta busca size + 1 linhas e hasNext indica se há próxima página. Ordenações: id, nome."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Tamanho de página ou ordenação não permitidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<SlicePageDTO<ProfissionalDTO>> listarPorSlice(
+        @Parameter(description = "Parâmetros de paginação (page, size até 100, sort: id, nome)")
+        @LimitePaginacao(grupo = "profissionais", ordenacoes = {"id", "nome"}) Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.listarPorSlice(pageable));
+    }
+
+    @GetMapping(params = {"mode=cursor", "!ids"})
+    @Operation(
+        summary = "Listar profissionais por cursor",
+        description = "Paginação por keyset (mode=cursor): cada página filtra a partir da última chave entregue, sem OFFSET e sem contagem total. Repasse o nextCursor recebido no parâmetro cursor para obter a próxima página. Ordenações: id, nome (padrão: nome)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor, ordenação ou tamanho inválidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<CursorPageDTO<ProfissionalDTO>> listarPorCursor(
+        @Parameter(description = "Cursor opaco da página anterior (omitir na primeira página)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Tamanho da página (1 a 100)") @RequestParam(defaultValue = "20") int size,
+        @Parameter(description = "Campo de ordenação") @RequestParam(defaultValue = "nome") String sort,
+        @Parameter(description = "Direção da ordenação") @RequestParam(defaultValue = "ASC") Sort.Direction direction
+    ) {
+        return ResponseEntity.ok(service.listarPorCursor(cursor, size, sort, direction));
+    }
+
+    @GetMapping("/busca")
+    @Operation(
+        summary = "Buscar profissionais por especialidade e localização",
+        description = "Filtra por especialidade, cidade e estado (UF), com paginação. Todos os filtros são opcionais e combinados com E. Combinações frequentes são servidas de um cache em memória invalidado a cada alteração de profissional."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Especialidade ou estado inválidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<Page<ProfissionalDTO>> buscar(
+        @Parameter(description = "Especialidade") @RequestParam(required = false) Especialidade especialidade,
+        @Parameter(description = "Cidade", example = "São Paulo") @RequestParam(required = false) String cidade,
+        @Parameter(description = "Sigla do estado", example = "SP") @RequestParam(required = false) String estado,
+        @Parameter(description = "Parâmetros de paginação (page, size até 100, sort: id, nome)")
+        @LimitePaginacao(grupo = "profissionais", ordenacoes = {"id", "nome"}) Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.buscar(especialidade, cidade, estado, pageable));
+    }
+
+    @GetMapping(value = "/busca", params = "nome")
+    @Operation(
+        summary = "Buscar profissionais por nome",
+        description = "Busca por trecho do nome, sem diferenciar maiúsculas nem acentos, usando um índice de trigramas em memória. Resultados ordenados por relevância: nomes que contêm o trecho exato primeiro. Com o parâmetro nome, os demais filtros e o sort são ignorados."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Nome com menos de 2 letras"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<Page<ProfissionalDTO>> buscarPorNome(
+        @Parameter(description = "Trecho do nome", required = true, example = "ana") @RequestParam String nome,
+        @Parameter(description = "Parâmetros de paginação (page, size até 50)")
+        @LimitePaginacao(grupo = "busca-nome") Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.buscarPorNome(nome, pageable));
+    }
+
+    @GetMapping("/proximos")
+    @Operation(
+        summary = "Recomendar profissionais próximos de um usuário",
+        description = "Retorna os profissionais da especialidade mais próximos do usuário pelo CEP: primeiro os que compartilham mais dígitos iniciais do CEP e, entre eles, os de CEP numericamente mais próximo. Consulta um índice em memória por especialidade, sem acessar o banco para a busca."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso (pode ser vazia)"),
+        @ApiResponse(responseCode = "400", description = "Especialidade, limite ou CEP do usuário inválidos"),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<List<ProfissionalProximoDTO>> buscarProximos(
+        @Parameter(description = "ID do usuário", required = true, example = "1") @RequestParam Long usuarioId,
+        @Parameter(description = "Especialidade", required = true) @RequestParam Especialidade especialidade,
+        @Parameter(description = "Quantidade máxima de profissionais (1 a 50)") @RequestParam(defaultValue = "5") int limite
+    ) {
+        return ResponseEntity.ok(service.buscarProximos(usuarioId, especialidade, limite));
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Buscar profissional por ID",
@@ -1,7 +1,18 @@
 package br.com.fiap.aposta_apoio.controller;
 
+import br.com.fiap.aposta_apoio.config.LimitePaginacao;
+import br.com.fiap.aposta_apoio.dto.AtribuicaoSessaoDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
+import br.com.fiap.aposta_apoio.dto.RecorrenciaSessaoDTO;
 import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoExpandidaDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoLoteResultadoDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
 import br.com.fiap.aposta_apoio.service.ISessaoApoioService;
+import br.com.fiap.aposta_apoio.service.SessaoExportacaoService;
+import br.com.fiap.aposta_apoio.service.SessaoExportacaoService.Formato;
+import br.com.fiap.aposta_apoio.service.SessaoLoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,13 +20,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Controller para operações com sessões de apoio.
@@ -26,9 +44,14 @@ import java.net.URI;
 @Tag(name = "Sessões de Apoio", description = "Endpoints para gerenciamento de sessões de apoio entre usuários e profissionais")
 public class SessaoApoioController {
     private final ISessaoApoioService service;
+    private final SessaoLoteService loteService;
+    private final SessaoExportacaoService exportacaoService;
 
-    public SessaoApoioController(ISessaoApoioService service) {
+    public SessaoApoioController(ISessaoApoioService service, SessaoLoteService loteService,
+                                 SessaoExportacaoService exportacaoService) {
         this.service = service;
+        this.loteService = loteService;
+        this.exportacaoService = exportacaoService;
     }
 
     @PostMapping
@@ -40,6 +63,7 @@ public class SessaoApoioController {
         @ApiResponse(responseCode = "201", description = "Sessão criada com sucesso",
             content = @Content(schema = @Schema(implementation = SessaoApoioDTO.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos ou usuário/profissional não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Profissional já possui sessão em horário conflitante"),
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<SessaoApoioDTO> criar(@RequestBody @Valid SessaoApoioDTO dto) {
@@ -49,6 +73,56 @@ public class SessaoApoioController {
                 .body(criado);
     }
 
+    @PostMapping("/atribuicao")
+    @Operation(
+        summary = "Criar sessão com atribuição automática de profissional",
+        description = "Agenda a sessão com o profissional menos ocupado da especialidade (menor número de sessões futuras). Se o escolhido já tiver sessão no horário, o próximo da fila é tentado."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Sessão criada com o profissional atribuído",
+            content = @Content(schema = @Schema(implementation = SessaoApoioDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Nenhum profissional da especialidade disponível no horário"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<SessaoApoioDTO> atribuir(@RequestBody @Valid AtribuicaoSessaoDTO dto) {
+        SessaoApoioDTO criado = service.atribuir(dto);
+        return ResponseEntity
+                .created(URI.create("/sessoes/" + criado.id()))
+                .body(criado);
+    }
+
+    @PostMapping("/lote")
+    @Operation(
+        summary = "Agendar sessões em lote",
+        description = "Cria várias sessões em uma única requisição. Cada item é validado individualmente; usuários e profissionais são conferidos com uma consulta por tabela e horários conflitantes são rejeitados sem interromper o lote. As sessões são inseridas via JDBC batch."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; o resultado de cada item é retornado",
+            content = @Content(schema = @Schema(implementation = SessaoLoteResultadoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do limite"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<SessaoLoteResultadoDTO> criarLote(@RequestBody List<SessaoApoioDTO> sessoes) {
+        return ResponseEntity.ok(loteService.agendar(sessoes));
+    }
+
+    @PostMapping("/recorrencia")
+    @Operation(
+        summary = "Agendar série recorrente",
+        description = "Expande a regra de recorrência (frequência DIARIA, SEMANAL, QUINZENAL ou MENSAL e número de ocorrências) e agenda todas as sessões em lote. Com vários usuários, cada ocorrência gera uma sessão por usuário; só profissionais de TERAPIA_GRUPO aceitam sessões no mesmo horário."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Série processada; o resultado de cada sessão é retornado",
+            content = @Content(schema = @Schema(implementation = SessaoLoteResultadoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Regra inválida ou série acima do limite"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<SessaoLoteResultadoDTO> criarRecorrencia(@RequestBody @Valid RecorrenciaSessaoDTO regra) {
+        return ResponseEntity.ok(loteService.agendarRecorrencia(regra));
+    }
+
     @GetMapping
     @Operation(
         summary = "Listar todas as sessões",
@@ -56,14 +130,103 @@ public class SessaoApoioController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de sessões retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Tamanho de página ou ordenação não permitidos"),
+        @ApiResponse(responseCode = "503", description = "Consulta excedeu o tempo limite"),
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<Page<SessaoApoioDTO>> listar(
-        @Parameter(description = "Parâmetros de paginação (page, size, sort)") Pageable pageable
+        @Parameter(description = "Parâmetros de paginação (page, size até 200, sort: id, dataHora)")
+        @LimitePaginacao(grupo = "sessoes", ordenacoes = {"id", "dataHora"}) Pageable pageable
     ) {
         return ResponseEntity.ok(service.listarPaginado(pageable));
     }
 
+    @GetMapping(params = "expand")
+    @Operation(
+        summary = "Listar sessões com usuário e profissional",
+        description = "Mesma página de GET /sessoes, com os resumos pedidos em expand (usuario, profissional) embutidos em cada sessão. Cada relação expandida é carregada com uma única consulta por página, sem uma chamada a /usuarios/{id} ou /profissionais/{id} por linha. O resumo do usuário não inclui CPF, login nem senha. Não pode ser combinado com mode (slice ou cursor)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Valor de expand, combinação com mode, tamanho de página ou ordenação não permitidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<Page<SessaoExpandidaDTO>> listarExpandido(
+        @Parameter(description = "Relações a embutir, separadas por vírgula", example = "usuario,profissional") @RequestParam List<String> expand,
+        @Parameter(hidden = true) @RequestParam(required = false) String mode,
+        @Parameter(description = "Parâmetros de paginação (page, size até 200, sort: id, dataHora)")
+        @LimitePaginacao(grupo = "sessoes", ordenacoes = {"id", "dataHora"}) Pageable pageable
+    ) {
+        // As variantes mode=slice/cursor excluem expand no mapeamento, então a combinação chega aqui
+        if (mode != null) {
+            throw new ParametroInvalidoException("O parâmetro expand não pode ser combinado com mode.");
+        }
+        return ResponseEntity.ok(service.listarExpandido(expand, pageable));
+    }
+
+    @GetMapping(params = {"mode=slice", "!expand"})
+    @Operation(
+        summary = "Listar sessões por slice",
+        description = "Paginação por número de página (mode=slice) sem contagem total: uma única consulta busca size + 1 linhas e hasNext indica se há próxima página. Ordenações: id, dataHora."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Tamanho de página ou ordenação não permitidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<SlicePageDTO<SessaoApoioDTO>> listarPorSlice(
+        @Parameter(description = "Parâmetros de paginação (page, size até 200, sort: id, dataHora)")
+        @LimitePaginacao(grupo = "sessoes", ordenacoes = {"id", "dataHora"}) Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.listarPorSlice(pageable));
+    }
+
+    @GetMapping(params = {"mode=cursor", "!expand"})
+    @Operation(
+        summary = "Listar sessões por cursor",
+        description = "Paginação por keyset (mode=cursor): cada página filtra a partir da última chave entregue, sem OFFSET e sem contagem total. Repasse o nextCursor recebido no parâmetro cursor para obter a próxima página. Ordenações: id, dataHora (padrão: dataHora)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor, ordenação ou tamanho inválidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<CursorPageDTO<SessaoApoioDTO>> listarPorCursor(
+        @Parameter(description = "Cursor opaco da página anterior (omitir na primeira página)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Tamanho da página (1 a 100)") @RequestParam(defaultValue = "20") int size,
+        @Parameter(description = "Campo de ordenação") @RequestParam(defaultValue = "dataHora") String sort,
+        @Parameter(description = "Direção da ordenação") @RequestParam(defaultValue = "ASC") Sort.Direction direction
+    ) {
+        return ResponseEntity.ok(service.listarPorCursor(cursor, size, sort, direction));
+    }
+
+    @GetMapping("/exportacao")
+    @Operation(
+        summary = "Exportar sessões",
+        description = "Exporta as sessões em NDJSON (um objeto por linha) ou CSV, ordenadas por id. As linhas são lidas por cursor e escritas direto na resposta, sem paginação nem contagem total, então o uso de memória não depende do volume. Filtros opcionais: período [inicio, fim) e profissional."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação gerada"),
+        @ApiResponse(responseCode = "400", description = "Formato ou período inválido"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public void exportar(
+        @Parameter(description = "Formato da saída") @RequestParam(defaultValue = "NDJSON") Formato formato,
+        @Parameter(description = "Data/hora inicial (inclusiva)", example = "2025-01-01T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+        @Parameter(description = "Data/hora final (exclusiva)", example = "2026-01-01T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+        @Parameter(description = "ID do profissional") @RequestParam(required = false) Long profissionalId,
+        HttpServletResponse response
+    ) throws IOException {
+        exportacaoService.validarFiltros(inicio, fim);
+        String extensao = formato == Formato.CSV ? "csv" : "ndjson";
+        response.setContentType(formato == Formato.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sessoes." + extensao + "\"");
+        exportacaoService.exportar(formato, inicio, fim, profissionalId, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Buscar sessão por ID",
@@ -91,6 +254,7 @@ public class SessaoApoioController {
             content = @Content(schema = @Schema(implementation = SessaoApoioDTO.class))),
         @ApiResponse(responseCode = "404", description = "Sessão não encontrada"),
         @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "409", description = "Profissional já possui sessão em horário conflitante"),
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<SessaoApoioDTO> atualizar(
@@ -1,18 +1,36 @@
 package br.com.fiap.aposta_apoio.controller;
 
+import br.com.fiap.aposta_apoio.config.LimitePaginacao;
+import br.com.fiap.aposta_apoio.dto.BuscaPorIdsDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
 import br.com.fiap.aposta_apoio.dto.UsuarioDTO;
+import br.com.fiap.aposta_apoio.dto.UsuarioImportacaoResultadoDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.service.BuscaPorIds;
 import br.com.fiap.aposta_apoio.service.IUsuarioService;
+import br.com.fiap.aposta_apoio.service.UsuarioImportacaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -25,20 +43,26 @@ import java.util.List;
 @Tag(name = "Usuários", description = "Endpoints para gerenciamento de usuários com vício em apostas")
 public class UsuarioController {
     private final IUsuarioService service;
+    private final UsuarioImportacaoService importacaoService;
+    private final int maxIds;
 
-    public UsuarioController(IUsuarioService service) {
+    public UsuarioController(IUsuarioService service, UsuarioImportacaoService importacaoService,
+                             @Value("${api.consultas.max-ids:100}") int maxIds) {
         this.service = service;
+        this.importacaoService = importacaoService;
+        this.maxIds = maxIds;
     }
 
     @PostMapping
     @Operation(
         summary = "Criar novo usuário",
-        description = "Cria um novo usuário no sistema. Requer todos os campos obrigatórios: nome, email, telefone, CPF, data de nascimento e endereço completo."
+        description = "Cria um novo usuário no sistema. Requer todos os campos obrigatórios: nome, email, telefone, CPF, data de nascimento e endereço completo. O CPF é gravado apenas com os dígitos e deve ser único."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Usuário criado com sucesso",
             content = @Content(schema = @Schema(implementation = UsuarioDTO.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
+        @ApiResponse(responseCode = "409", description = "CPF já cadastrado"),
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<UsuarioDTO> criar(@RequestBody @Valid UsuarioDTO dto) {
@@ -46,17 +70,115 @@ public class UsuarioController {
         return ResponseEntity.created(URI.create("/usuarios/" + criado.id())).body(criado);
     }
 
+    @PostMapping(value = "/importacao", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+        summary = "Importar usuários de um CSV",
+        description = "Importa usuários de um arquivo CSV (UTF-8) com cabeçalho nome,email,telefone,cpf,dataNascimento,rua,numero,bairro,cidade,estado,cep (em qualquer ordem). O arquivo é lido em fluxo e processado em lotes validados em paralelo; cada lote de linhas válidas é gravado em uma transação própria. Linhas inválidas não interrompem a importação e aparecem no relatório de rejeições."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importação concluída; relatório com totais e linhas rejeitadas",
+            content = @Content(schema = @Schema(implementation = UsuarioImportacaoResultadoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Arquivo vazio ou cabeçalho sem as colunas obrigatórias"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<UsuarioImportacaoResultadoDTO> importar(
+        @Parameter(description = "Arquivo CSV", required = true) @RequestParam("arquivo") MultipartFile arquivo
+    ) throws IOException {
+        try (InputStream entrada = arquivo.getInputStream()) {
+            return ResponseEntity.ok(importacaoService.importar(entrada));
+        }
+    }
+
     @GetMapping
     @Operation(
         summary = "Listar todos os usuários",
-        description = "Retorna uma lista de usuários cadastrados no sistema."
+        description = "Retorna uma lista de usuários cadastrados no sistema, ordenada por id. Os usuários são lidos por cursor e escritos direto na resposta, então o uso de memória não depende do total cadastrado."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de usuários retornada com sucesso",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = UsuarioDTO.class)))),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public void listar(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        service.listar(response.getOutputStream());
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(
+        summary = "Buscar vários usuários por ID",
+        description = "Resolve até api.consultas.max-ids (padrão 100) ids com uma única consulta IN, substituindo uma chamada a /{id} por registro. Os resultados seguem a ordem dos ids informados (repetidos são ignorados) e os ids inexistentes são listados em naoEncontrados."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consulta realizada"),
+        @ApiResponse(responseCode = "400", description = "Lista de ids vazia, inválida, acima do limite ou combinada com mode"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<BuscaPorIdsDTO<UsuarioDTO>> buscarPorIds(
+        @Parameter(description = "IDs dos usuários, separados por vírgula", required = true, example = "1,2,3") @RequestParam List<Long> ids,
+        @Parameter(hidden = true) @RequestParam(required = false) String mode
+    ) {
+        // As variantes mode=slice/cursor excluem ids no mapeamento, então a combinação chega aqui
+        if (mode != null) {
+            throw new ParametroInvalidoException("O parâmetro ids não pode ser combinado com mode.");
+        }
+        return ResponseEntity.ok(service.buscarPorIds(BuscaPorIds.distintos(ids, maxIds)));
+    }
+
+    @GetMapping(params = {"mode=slice", "!ids"})
+    @Operation(
+        summary = "Listar usuários por slice",
+        description = "Paginação por número de página (mode=slice) sem contagem total: uma única consulta busca size + 1 linhas e hasNext indica se há próxima página. Ordenações: id, nome."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Tamanho de página ou ordenação não permitidos"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<SlicePageDTO<UsuarioDTO>> listarPorSlice(
+        @Parameter(description = "Parâmetros de paginação (page, size até 100, sort: id, nome)")
+        @LimitePaginacao(grupo = "usuarios", ordenacoes = {"id", "nome"}) Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.listarPorSlice(pageable));
+    }
+
+    @GetMapping(params = {"mode=cursor", "!ids"})
+    @Operation(
+        summary = "Listar usuários por cursor",
+        description = "Paginação por keyset (mode=cursor): cada página filtra a partir da última chave entregue, sem OFFSET e sem contagem total. Repasse o nextCursor recebido no parâmetro cursor para obter a próxima página. Ordenações: id, nome (padrão: nome)."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de usuários retornada com sucesso"),
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor, ordenação ou tamanho inválidos"),
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
-    public ResponseEntity<List<UsuarioDTO>> listar() {
-        return ResponseEntity.ok(service.listar());
+    public ResponseEntity<CursorPageDTO<UsuarioDTO>> listarPorCursor(
+        @Parameter(description = "Cursor opaco da página anterior (omitir na primeira página)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Tamanho da página (1 a 100)") @RequestParam(defaultValue = "20") int size,
+        @Parameter(description = "Campo de ordenação") @RequestParam(defaultValue = "nome") String sort,
+        @Parameter(description = "Direção da ordenação") @RequestParam(defaultValue = "ASC") Sort.Direction direction
+    ) {
+        return ResponseEntity.ok(service.listarPorCursor(cursor, size, sort, direction));
+    }
+
+    @GetMapping("/busca")
+    @Operation(
+        summary = "Buscar usuários por nome",
+        description = "Busca por trecho do nome, sem diferenciar maiúsculas nem acentos (\"joao\" encontra \"João\"), usando um índice de trigramas em memória. Resultados ordenados por relevância: nomes que contêm o trecho exato primeiro. O parâmetro sort é ignorado."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Nome com menos de 2 letras"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<Page<UsuarioDTO>> buscarPorNome(
+        @Parameter(description = "Trecho do nome", required = true, example = "joao") @RequestParam String nome,
+        @Parameter(description = "Parâmetros de paginação (page, size até 50)")
+        @LimitePaginacao(grupo = "busca-nome") Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.buscarPorNome(nome, pageable));
     }
 
     @GetMapping("/{id}")
@@ -76,6 +198,24 @@ public class UsuarioController {
         return ResponseEntity.ok(service.buscarPorId(id));
     }
 
+    @GetMapping("/cpf/{cpf}")
+    @Operation(
+        summary = "Buscar usuário por CPF",
+        description = "Retorna o usuário com o CPF informado, com ou sem pontuação (\"123.456.789-01\" ou \"12345678901\"). A busca usa o índice único de CPF."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Usuário encontrado",
+            content = @Content(schema = @Schema(implementation = UsuarioDTO.class))),
+        @ApiResponse(responseCode = "400", description = "CPF sem 11 dígitos"),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<UsuarioDTO> buscarPorCpf(
+        @Parameter(description = "CPF do usuário", required = true, example = "12345678901") @PathVariable String cpf
+    ) {
+        return ResponseEntity.ok(service.buscarPorCpf(cpf));
+    }
+
     @PutMapping("/{id}")
     @Operation(
         summary = "Atualizar usuário",
@@ -86,6 +226,7 @@ public class UsuarioController {
             content = @Content(schema = @Schema(implementation = UsuarioDTO.class))),
         @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
         @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "409", description = "CPF já cadastrado para outro usuário"),
         @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<UsuarioDTO> atualizar(
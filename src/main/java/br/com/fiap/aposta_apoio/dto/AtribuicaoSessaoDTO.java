@@ -0,0 +1,21 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pedido de sessão sem profissional definido: o sistema escolhe o profissional menos ocupado da especialidade.
+ */
+public record AtribuicaoSessaoDTO(
+    @NotNull(message = "ID do usuário é obrigatório")
+    Long usuarioId,
+    @NotNull(message = "Especialidade é obrigatória")
+    Especialidade especialidade,
+    @NotNull(message = "Data e hora são obrigatórios")
+    LocalDateTime dataHora,
+    @NotBlank(message = "Descrição é obrigatória")
+    String descricao
+) {}
@@ -0,0 +1,6 @@
+package br.com.fiap.aposta_apoio.dto;
+
+/**
+ * Resultado da consulta de um CPF no registro de autoexclusão (cpf apenas com os dígitos).
+ */
+public record AutoExclusaoConsultaDTO(String cpf, boolean autoexcluido) {}
@@ -0,0 +1,14 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Autoexclusão de um usuário; dataInicio é preenchida pelo servidor.
+ */
+public record AutoExclusaoDTO(
+    @NotNull(message = "Usuário é obrigatório")
+    Long usuarioId,
+    LocalDateTime dataInicio
+) {}
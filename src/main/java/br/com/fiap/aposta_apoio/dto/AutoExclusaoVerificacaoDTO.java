@@ -0,0 +1,8 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da verificação em lote: CPFs autoexcluídos (apenas dígitos) e CPFs recebidos em formato inválido.
+ */
+public record AutoExclusaoVerificacaoDTO(int total, List<String> autoexcluidos, List<String> invalidos) {}
@@ -0,0 +1,9 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma consulta por vários ids: os registros encontrados na ordem em que os ids foram
+ * informados e, à parte, os ids que não existem.
+ */
+public record BuscaPorIdsDTO<T>(List<T> content, List<Long> naoEncontrados) {}
@@ -0,0 +1,6 @@
+package br.com.fiap.aposta_apoio.dto;
+
+/**
+ * Quantidade de sessões futuras de um profissional, usada na reconciliação da carga.
+ */
+public record CargaProfissionalDTO(Long profissionalId, Long pendentes) {}
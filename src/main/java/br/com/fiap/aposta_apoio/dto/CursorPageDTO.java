@@ -0,0 +1,9 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.util.List;
+
+/**
+ * Página no modo cursor (keyset): sem total de elementos nem número de página.
+ * nextCursor é opaco e deve ser repassado como parâmetro "cursor" para obter a próxima página.
+ */
+public record CursorPageDTO<T>(List<T> content, int size, boolean hasNext, String nextCursor) {}
@@ -0,0 +1,8 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Horário ocupado por uma sessão na agenda de um profissional.
+ */
+public record HorarioSessaoDTO(Long sessaoId, Long profissionalId, LocalDateTime dataHora) {}
@@ -0,0 +1,6 @@
+package br.com.fiap.aposta_apoio.dto;
+
+/**
+ * Par (id, nome) usado para carregar os índices de busca por nome.
+ */
+public record NomeIndexadoDTO(Long id, String nome) {}
@@ -0,0 +1,8 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import br.com.fiap.aposta_apoio.model.Especialidade;
+
+/**
+ * Especialidade e CEP de um profissional, usados para carregar o índice de proximidade.
+ */
+public record ProfissionalCepDTO(Long id, Especialidade especialidade, String cep) {}
@@ -0,0 +1,7 @@
+package br.com.fiap.aposta_apoio.dto;
+
+/**
+ * Profissional recomendado por proximidade, com a quantidade de dígitos iniciais do CEP
+ * em comum com o do usuário (8 = mesmo CEP).
+ */
+public record ProfissionalProximoDTO(ProfissionalDTO profissional, int digitosCepEmComum) {}
@@ -0,0 +1,8 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import br.com.fiap.aposta_apoio.model.Especialidade;
+
+/**
+ * Resumo do profissional embutido em outras respostas (ex: sessões com expand=profissional).
+ */
+public record ProfissionalResumoDTO(Long id, String nome, Especialidade especialidade) {}
@@ -0,0 +1,33 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Regra de recorrência: a partir de inicio, uma sessão a cada período da frequência, até completar
+ * o número de ocorrências. Com mais de um usuário (terapia em grupo) cada ocorrência gera uma sessão por usuário.
+ */
+public record RecorrenciaSessaoDTO(
+    @NotEmpty(message = "Informe ao menos um usuário")
+    List<@NotNull Long> usuarioIds,
+    @NotNull(message = "ID do profissional é obrigatório")
+    Long profissionalId,
+    @NotNull(message = "Data e hora de início são obrigatórios")
+    LocalDateTime inicio,
+    @NotNull(message = "Frequência é obrigatória")
+    Frequencia frequencia,
+    @NotNull(message = "Número de ocorrências é obrigatório")
+    @Min(value = 1, message = "A série deve ter ao menos uma ocorrência")
+    @Max(value = 104, message = "A série pode ter no máximo 104 ocorrências")
+    Integer ocorrencias,
+    @NotBlank(message = "Descrição é obrigatória")
+    String descricao
+) {
+    public enum Frequencia { DIARIA, SEMANAL, QUINZENAL, MENSAL }
+}
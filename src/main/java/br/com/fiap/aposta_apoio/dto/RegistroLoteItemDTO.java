@@ -0,0 +1,7 @@
+package br.com.fiap.aposta_apoio.dto;
+
+/**
+ * Resultado de um item do registro em lote.
+ * status: CRIADO, INVALIDO ou DUPLICADO; id preenchido apenas quando criado.
+ */
+public record RegistroLoteItemDTO(int indice, String login, Long id, String status, String mensagem) {}
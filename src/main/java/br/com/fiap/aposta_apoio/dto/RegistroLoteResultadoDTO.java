@@ -0,0 +1,5 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.util.List;
+
+public record RegistroLoteResultadoDTO(int total, int criados, int rejeitados, List<RegistroLoteItemDTO> itens) {}
@@ -0,0 +1,20 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sessão com os resumos de usuário e profissional pedidos em expand; os não pedidos ficam fora do JSON.
+ */
+public record SessaoExpandidaDTO(
+    Long id,
+    Long usuarioId,
+    Long profissionalId,
+    LocalDateTime dataHora,
+    String descricao,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    UsuarioResumoDTO usuario,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    ProfissionalResumoDTO profissional
+) {}
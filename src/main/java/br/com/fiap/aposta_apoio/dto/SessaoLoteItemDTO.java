@@ -0,0 +1,10 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de um item do agendamento em lote.
+ * status: CRIADA, INVALIDA, CONFLITO ou FALHA; id preenchido apenas quando criada.
+ */
+public record SessaoLoteItemDTO(int indice, Long usuarioId, Long profissionalId, LocalDateTime dataHora,
+                                Long id, String status, String mensagem) {}
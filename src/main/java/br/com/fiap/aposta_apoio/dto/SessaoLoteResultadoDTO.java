@@ -0,0 +1,5 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.util.List;
+
+public record SessaoLoteResultadoDTO(int total, int criadas, int rejeitadas, List<SessaoLoteItemDTO> itens) {}
@@ -0,0 +1,9 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Ponto da série de sessões: início do período (dia, segunda-feira da semana ou primeiro dia do mês),
+ * grupo (especialidade, estado ou TOTAL) e quantidade de sessões.
+ */
+public record SessaoSerieDTO(LocalDate periodo, String grupo, long total) {}
@@ -0,0 +1,16 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Página no modo slice: número e tamanho da página e se há uma próxima, sem total de elementos.
+ * Obtida com uma única consulta que busca size + 1 linhas, sem o COUNT da paginação completa.
+ */
+public record SlicePageDTO<T>(List<T> content, int page, int size, boolean hasNext) {
+
+    public static <T> SlicePageDTO<T> of(Slice<T> slice) {
+        return new SlicePageDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
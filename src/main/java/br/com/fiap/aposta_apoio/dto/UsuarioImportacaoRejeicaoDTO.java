@@ -0,0 +1,6 @@
+package br.com.fiap.aposta_apoio.dto;
+
+/**
+ * Linha rejeitada na importação de usuários; linha é a linha do arquivo onde o registro começa (cabeçalho = 1).
+ */
+public record UsuarioImportacaoRejeicaoDTO(long linha, String mensagem) {}
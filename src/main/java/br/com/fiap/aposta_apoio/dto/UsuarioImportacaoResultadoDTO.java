@@ -0,0 +1,11 @@
+package br.com.fiap.aposta_apoio.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da importação de usuários por CSV.
+ * rejeicoes traz no máximo api.usuarios.importacao.max-rejeicoes itens; rejeicoesTruncadas indica que houve mais.
+ */
+public record UsuarioImportacaoResultadoDTO(long total, long importados, long rejeitados,
+                                            List<UsuarioImportacaoRejeicaoDTO> rejeicoes,
+                                            boolean rejeicoesTruncadas) {}
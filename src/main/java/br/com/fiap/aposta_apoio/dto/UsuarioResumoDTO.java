@@ -0,0 +1,7 @@
+package br.com.fiap.aposta_apoio.dto;
+
+/**
+ * Resumo do usuário embutido em outras respostas (ex: sessões com expand=usuario).
+ * Projeção só com colunas não sensíveis: CPF, login e senha nunca são lidos do banco para ela.
+ */
+public record UsuarioResumoDTO(Long id, String nome, String email) {}
@@ -0,0 +1,22 @@
+package br.com.fiap.aposta_apoio.event;
+
+import br.com.fiap.aposta_apoio.model.Especialidade;
+
+/**
+ * Evento publicado pelo ProfissionalService sempre que um profissional é criado, alterado ou removido.
+ * Permite que índices em memória se mantenham atualizados sem acoplamento direto ao serviço.
+ *
+ * @param id            identificador do profissional
+ * @param nome          nome atual do profissional (nulo na remoção)
+ * @param especialidade especialidade atual (nula na remoção)
+ * @param cep           CEP atual do endereço (nulo na remoção)
+ * @param tipo          tipo da alteração
+ */
+public record ProfissionalAlteradoEvent(Long id, String nome, Especialidade especialidade, String cep, Tipo tipo) {
+
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        REMOVIDO
+    }
+}
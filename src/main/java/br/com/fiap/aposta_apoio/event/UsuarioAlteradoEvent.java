@@ -0,0 +1,18 @@
+package br.com.fiap.aposta_apoio.event;
+
+/**
+ * Evento publicado pelos serviços sempre que um usuário é criado, alterado ou removido.
+ * Permite que caches e índices em memória se mantenham atualizados sem acoplamento direto ao serviço.
+ *
+ * @param id    identificador do usuário
+ * @param login login do usuário (pode ser nulo para usuários sem credenciais)
+ * @param tipo  tipo da alteração
+ */
+public record UsuarioAlteradoEvent(Long id, String login, Tipo tipo) {
+
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        REMOVIDO
+    }
+}
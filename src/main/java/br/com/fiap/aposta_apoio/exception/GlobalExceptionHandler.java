@@ -1,13 +1,16 @@
 package br.com.fiap.aposta_apoio.exception;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.transaction.TransactionTimedOutException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -18,6 +21,7 @@ import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import br.com.fiap.aposta_apoio.model.Especialidade;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.core.AuthenticationException;
 
 @RestControllerAdvice
@@ -27,6 +31,34 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.UNAUTHORIZED, "Credenciais inválidas", null);
     }
 
+    @ExceptionHandler(InternalAuthenticationServiceException.class)
+    public ResponseEntity<?> handleInternalAuthentication(InternalAuthenticationServiceException ex) {
+        if (ex.getCause() instanceof ServicoSobrecarregadoException sobrecarga) {
+            return handleSobrecarga(sobrecarga);
+        }
+        return build(HttpStatus.UNAUTHORIZED, "Credenciais inválidas", null);
+    }
+
+    @ExceptionHandler(ServicoSobrecarregadoException.class)
+    public ResponseEntity<?> handleSobrecarga(ServicoSobrecarregadoException ex) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), null);
+    }
+
+    /**
+     * Consulta interrompida pelo timeout da transação (ver TimeoutConsulta): a conexão já foi liberada,
+     * o cliente pode tentar de novo com um filtro menor ou mais tarde.
+     */
+    @ExceptionHandler({QueryTimeoutException.class, TransactionTimedOutException.class,
+            jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<?> handleTimeout(RuntimeException ex) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, "A consulta excedeu o tempo limite. Tente novamente.", null);
+    }
+
+    @ExceptionHandler(ParametroInvalidoException.class)
+    public ResponseEntity<?> handleParametroInvalido(ParametroInvalidoException ex) {
+        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), null);
+    }
+
     @ExceptionHandler({IllegalArgumentException.class, NoSuchElementException.class})
     public ResponseEntity<?> handleNotFound(RuntimeException ex) {
         return build(HttpStatus.NOT_FOUND, ex.getMessage(), null);
@@ -54,6 +86,16 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, "Erro de validação", fieldErrors);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<?> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        String mensagem = "Valor inválido para o parâmetro '" + ex.getName() + "'.";
+        if (ex.getRequiredType() != null && ex.getRequiredType().isEnum()) {
+            mensagem += " Valores permitidos: " + String.join(", ",
+                    java.util.Arrays.stream(ex.getRequiredType().getEnumConstants()).map(Object::toString).toList()) + ".";
+        }
+        return build(HttpStatus.BAD_REQUEST, mensagem, null);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<?> handleNotReadable(HttpMessageNotReadableException ex) {
         String mensagem = "Payload inválido ou formato incorreto.";
@@ -0,0 +1,12 @@
+package br.com.fiap.aposta_apoio.exception;
+
+/**
+ * Lançada quando um parâmetro da requisição é inválido (ex.: lote acima do limite).
+ * Mapeada para 400 pelo GlobalExceptionHandler.
+ */
+public class ParametroInvalidoException extends RuntimeException {
+
+    public ParametroInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.fiap.aposta_apoio.exception;
+
+/**
+ * Lançada quando um recurso limitado (ex: executor de hash de senhas) não aceita mais trabalho.
+ * Mapeada para 503 Service Unavailable pelo GlobalExceptionHandler.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+    public ServicoSobrecarregadoException(String message) {
+        super(message);
+    }
+}
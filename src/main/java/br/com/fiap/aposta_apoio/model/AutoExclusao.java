@@ -0,0 +1,36 @@
+package br.com.fiap.aposta_apoio.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de autoexclusão: o usuário pediu para ser impedido de apostar.
+ * A chave é o próprio id do usuário (no máximo um registro por usuário); o CPF consultado
+ * pelos operadores vem do usuário.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "usuarioId")
+@Entity
+@Table(name = "autoexclusao")
+public class AutoExclusao {
+    @Id
+    private Long usuarioId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id")
+    private Usuario usuario;
+
+    @NotNull
+    private LocalDateTime dataInicio;
+}
@@ -1,5 +1,6 @@
 package br.com.fiap.aposta_apoio.model;
 
+import br.com.fiap.aposta_apoio.service.ContadorResumoListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,6 +9,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -15,8 +18,15 @@ import lombok.Setter;
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Profissional.REGIAO_CACHE)
+@EntityListeners(ContadorResumoListener.class)
 @Table(name = "profissional") // ajustado para singular conforme tabela existente
 public class Profissional {
+
+    /** Região do cache de segundo nível (ver SegundoNivelCacheConfig). */
+    public static final String REGIAO_CACHE = "profissional";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
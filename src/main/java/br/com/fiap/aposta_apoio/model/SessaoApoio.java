@@ -1,5 +1,6 @@
 package br.com.fiap.aposta_apoio.model;
 
+import br.com.fiap.aposta_apoio.service.ContadorResumoListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -17,18 +18,20 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
+@EntityListeners(ContadorResumoListener.class)
 @Table(name = "sessao_apoio")
 public class SessaoApoio {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // LAZY: listagens usam projeções em DTO e só precisam dos ids (FKs)
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Usuario usuario;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Profissional profissional;
 
     @NotNull
@@ -0,0 +1,26 @@
+package br.com.fiap.aposta_apoio.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Total diário de sessões por especialidade e estado do profissional.
+ * Mantido incrementalmente pelo SessaoRollupService; somente leitura via JPA.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(name = "sessao_rollup")
+public class SessaoRollup {
+    @EmbeddedId
+    private SessaoRollupId id;
+
+    private long total;
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.aposta_apoio.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class SessaoRollupId implements Serializable {
+    private LocalDate dia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private Especialidade especialidade;
+
+    @Column(length = 2)
+    private String estado;
+}
@@ -1,5 +1,6 @@
 package br.com.fiap.aposta_apoio.model;
 
+import br.com.fiap.aposta_apoio.service.ContadorResumoListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -9,6 +10,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,8 +26,18 @@ import java.util.List;
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
-@Table(name = "usuario")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Usuario.REGIAO_CACHE)
+@EntityListeners(ContadorResumoListener.class)
+@Table(name = "usuario", uniqueConstraints = @UniqueConstraint(name = Usuario.INDICE_CPF, columnNames = "cpf"))
 public class Usuario implements UserDetails {
+
+    /** Região do cache de segundo nível (ver SegundoNivelCacheConfig). */
+    public static final String REGIAO_CACHE = "usuario";
+
+    /** Índice único de usuario.cpf, criado pela migração V9. */
+    public static final String INDICE_CPF = "uk_usuario_cpf";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -39,6 +52,7 @@ public class Usuario implements UserDetails {
     @NotBlank
     private String telefone;
 
+    // Apenas os 11 dígitos (ver Cpf.normalizar)
     @NotBlank
     private String cpf;
 
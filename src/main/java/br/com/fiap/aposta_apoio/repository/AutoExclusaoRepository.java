@@ -0,0 +1,28 @@
+package br.com.fiap.aposta_apoio.repository;
+
+import br.com.fiap.aposta_apoio.model.AutoExclusao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface AutoExclusaoRepository extends JpaRepository<AutoExclusao, Long> {
+
+    /**
+     * CPFs de todos os autoexcluídos, lidos por cursor; deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.cpf FROM AutoExclusao a JOIN a.usuario u")
+    Stream<String> streamCpfs();
+
+    @Query("SELECT u.cpf FROM AutoExclusao a JOIN a.usuario u WHERE a.usuarioId = :usuarioId")
+    Optional<String> findCpfByUsuarioId(@Param("usuarioId") Long usuarioId);
+}
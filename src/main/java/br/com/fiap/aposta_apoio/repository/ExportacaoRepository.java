@@ -0,0 +1,79 @@
+package br.com.fiap.aposta_apoio.repository;
+
+import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.dto.UsuarioDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Leituras escritas em fluxo na resposta (exportação de sessões, GET /usuarios): projeção em DTO percorrida
+ * por um cursor somente-avanço, buscando fetch-size linhas por ida ao banco. Nenhuma entidade entra no
+ * contexto de persistência, então a memória usada independe do total de linhas. Deve ser consumido dentro
+ * de uma transação e o Stream fechado ao final.
+ */
+@Repository
+public class ExportacaoRepository {
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public ExportacaoRepository(EntityManager entityManager,
+                                @Value("${api.exportacao.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @param inicio         data/hora mínima (inclusiva); null para não filtrar
+     * @param fim            data/hora máxima (exclusiva); null para não filtrar
+     * @param profissionalId profissional das sessões; null para todos
+     */
+    public Stream<SessaoApoioDTO> streamSessoes(LocalDateTime inicio, LocalDateTime fim, Long profissionalId) {
+        // Só os filtros informados entram no WHERE, para que o otimizador escolha o índice adequado
+        StringBuilder jpql = new StringBuilder("SELECT new br.com.fiap.aposta_apoio.dto.SessaoApoioDTO("
+                + "s.id, s.usuario.id, s.profissional.id, s.dataHora, s.descricao) FROM SessaoApoio s WHERE 1 = 1");
+        if (inicio != null) {
+            jpql.append(" AND s.dataHora >= :inicio");
+        }
+        if (fim != null) {
+            jpql.append(" AND s.dataHora < :fim");
+        }
+        if (profissionalId != null) {
+            jpql.append(" AND s.profissional.id = :profissionalId");
+        }
+        jpql.append(" ORDER BY s.id");
+
+        TypedQuery<SessaoApoioDTO> query = entityManager.createQuery(jpql.toString(), SessaoApoioDTO.class);
+        if (inicio != null) {
+            query.setParameter("inicio", inicio);
+        }
+        if (fim != null) {
+            query.setParameter("fim", fim);
+        }
+        if (profissionalId != null) {
+            query.setParameter("profissionalId", profissionalId);
+        }
+        return emFluxo(query);
+    }
+
+    /**
+     * Todos os usuários, em ordem de id (sem login, senha e role).
+     */
+    public Stream<UsuarioDTO> streamUsuarios() {
+        return emFluxo(entityManager.createQuery("SELECT new br.com.fiap.aposta_apoio.dto.UsuarioDTO("
+                + "u.id, u.nome, u.email, u.telefone, u.cpf, u.dataNascimento, u.endereco) FROM Usuario u ORDER BY u.id",
+                UsuarioDTO.class));
+    }
+
+    private <T> Stream<T> emFluxo(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.fiap.aposta_apoio.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Consultas de paginação por keyset (seek): em vez de OFFSET, filtram a partir da última
+ * chave (campo de ordenação, id) já entregue, o que vira uma leitura por faixa no índice.
+ * Não executa COUNT. Campo e entidade vêm de listas fixas dos serviços, nunca do cliente.
+ */
+@Repository
+public class KeysetRepository {
+
+    private static final Pattern IDENTIFICADOR = Pattern.compile("[A-Za-z][A-Za-z0-9]*");
+
+    private final EntityManager entityManager;
+
+    public KeysetRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param projecao     expressão do SELECT sobre o alias "e" (ex.: "e" ou "new ...DTO(e.id, ...)")
+     * @param ultimoValor  valor do campo na última linha entregue; null na primeira página
+     * @param ultimoId     id da última linha entregue; null na primeira página
+     */
+    public <T> List<T> buscarApos(Class<T> tipo, String projecao, String entidade, String campo,
+                                  Sort.Direction direcao, Object ultimoValor, Long ultimoId, int limite) {
+        if (!IDENTIFICADOR.matcher(entidade).matches() || !IDENTIFICADOR.matcher(campo).matches()) {
+            throw new IllegalStateException("Identificador inválido na consulta por keyset");
+        }
+        String comparador = direcao.isAscending() ? ">" : "<";
+        String ordem = direcao.isAscending() ? "ASC" : "DESC";
+        boolean porId = "id".equals(campo);
+
+        StringBuilder jpql = new StringBuilder("SELECT ").append(projecao).append(" FROM ").append(entidade).append(" e");
+        if (ultimoId != null) {
+            if (porId) {
+                jpql.append(" WHERE e.id ").append(comparador).append(" :ultimoId");
+            } else {
+                jpql.append(" WHERE e.").append(campo).append(' ').append(comparador).append(" :ultimoValor")
+                    .append(" OR (e.").append(campo).append(" = :ultimoValor AND e.id ").append(comparador).append(" :ultimoId)");
+            }
+        }
+        jpql.append(" ORDER BY ");
+        if (!porId) {
+            jpql.append("e.").append(campo).append(' ').append(ordem).append(", ");
+        }
+        jpql.append("e.id ").append(ordem);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), tipo);
+        if (ultimoId != null) {
+            query.setParameter("ultimoId", ultimoId);
+            if (!porId) {
+                query.setParameter("ultimoValor", ultimoValor);
+            }
+        }
+        return query.setMaxResults(limite).getResultList();
+    }
+}
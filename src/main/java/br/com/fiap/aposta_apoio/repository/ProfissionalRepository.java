@@ -1,7 +1,30 @@
 package br.com.fiap.aposta_apoio.repository;
 
+import br.com.fiap.aposta_apoio.dto.NomeIndexadoDTO;
+import br.com.fiap.aposta_apoio.dto.ProfissionalCepDTO;
+import br.com.fiap.aposta_apoio.dto.ProfissionalResumoDTO;
 import br.com.fiap.aposta_apoio.model.Profissional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ProfissionalRepository extends JpaRepository<Profissional, Long> {}
+import java.util.Collection;
+import java.util.List;
 
+public interface ProfissionalRepository extends JpaRepository<Profissional, Long> {
+
+    /** Página sem COUNT: busca size + 1 linhas para saber se há próxima. */
+    Slice<Profissional> findAllBy(Pageable pageable);
+
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.NomeIndexadoDTO(p.id, p.nome) FROM Profissional p")
+    List<NomeIndexadoDTO> findAllNomes();
+
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.ProfissionalCepDTO(p.id, p.especialidade, p.endereco.cep) FROM Profissional p")
+    List<ProfissionalCepDTO> findAllCeps();
+
+    /** Resumos (id, nome, especialidade) em uma consulta IN. */
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.ProfissionalResumoDTO(p.id, p.nome, p.especialidade) FROM Profissional p WHERE p.id IN :ids")
+    List<ProfissionalResumoDTO> findResumosByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,8 +1,55 @@
 package br.com.fiap.aposta_apoio.repository;
 
+import br.com.fiap.aposta_apoio.dto.CargaProfissionalDTO;
+import br.com.fiap.aposta_apoio.dto.HorarioSessaoDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
 import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface SessaoApoioRepository extends JpaRepository<SessaoApoio, Long> {
     long countByUsuario_Id(Long usuarioId);
+
+    // Projeções em DTO: leem apenas as colunas de sessao_apoio (inclusive as FKs), sem carregar Usuario/Profissional
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.SessaoApoioDTO(s.id, s.usuario.id, s.profissional.id, s.dataHora, s.descricao) "
+            + "FROM SessaoApoio s")
+    List<SessaoApoioDTO> findAllDto();
+
+    @Query(value = "SELECT new br.com.fiap.aposta_apoio.dto.SessaoApoioDTO(s.id, s.usuario.id, s.profissional.id, s.dataHora, s.descricao) "
+            + "FROM SessaoApoio s",
+           countQuery = "SELECT COUNT(s) FROM SessaoApoio s")
+    Page<SessaoApoioDTO> findAllDto(Pageable pageable);
+
+    /** Mesma projeção sem COUNT: busca size + 1 linhas para saber se há próxima. */
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.SessaoApoioDTO(s.id, s.usuario.id, s.profissional.id, s.dataHora, s.descricao) "
+            + "FROM SessaoApoio s")
+    Slice<SessaoApoioDTO> findSliceDto(Pageable pageable);
+
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.SessaoApoioDTO(s.id, s.usuario.id, s.profissional.id, s.dataHora, s.descricao) "
+            + "FROM SessaoApoio s WHERE s.id = :id")
+    Optional<SessaoApoioDTO> findDtoById(@Param("id") Long id);
+
+    // Agenda dos profissionais: carga inicial e reconciliação, só sessões a partir de "desde"
+    // (índices data_hora, id e profissional_id, data_hora)
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.HorarioSessaoDTO(s.id, s.profissional.id, s.dataHora) "
+            + "FROM SessaoApoio s WHERE s.dataHora >= :desde")
+    List<HorarioSessaoDTO> findHorariosDesde(@Param("desde") LocalDateTime desde);
+
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.HorarioSessaoDTO(s.id, s.profissional.id, s.dataHora) "
+            + "FROM SessaoApoio s WHERE s.profissional.id = :profissionalId AND s.dataHora >= :desde ORDER BY s.dataHora")
+    List<HorarioSessaoDTO> findHorariosByProfissionalIdDesde(@Param("profissionalId") Long profissionalId,
+                                                             @Param("desde") LocalDateTime desde);
+
+    // Carga dos profissionais para a atribuição automática (índice profissional_id, data_hora)
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.CargaProfissionalDTO(s.profissional.id, COUNT(s)) "
+            + "FROM SessaoApoio s WHERE s.dataHora > :agora GROUP BY s.profissional.id")
+    List<CargaProfissionalDTO> countPendentesPorProfissional(@Param("agora") LocalDateTime agora);
 }
@@ -0,0 +1,112 @@
+package br.com.fiap.aposta_apoio.repository;
+
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserção de sessões em lote via JDBC batch.
+ * Usado no agendamento em massa e de séries recorrentes, onde o INSERT linha a linha do
+ * Hibernate (IDENTITY) seria uma ida ao banco por sessão. Deve ser chamado dentro de uma transação.
+ */
+@Repository
+public class SessaoBatchRepository {
+
+    private static final String INSERT = "INSERT INTO sessao_apoio "
+            + "(usuario_id, profissional_id, data_hora, descricao) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoBatch;
+
+    public SessaoBatchRepository(JdbcTemplate jdbcTemplate,
+                                 @Value("${api.sessoes.lote.tamanho-batch:500}") int tamanhoBatch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoBatch = tamanhoBatch;
+    }
+
+    /**
+     * Insere as sessões e devolve os ids gerados na mesma ordem.
+     * Se um batch falhar (ex.: usuário removido em paralelo), ele é desfeito até o savepoint e
+     * reprocessado linha a linha; as linhas que violarem a integridade ficam com id null.
+     */
+    public List<Long> inserir(List<SessaoApoio> sessoes) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            List<Long> ids = new ArrayList<>(sessoes.size());
+            for (int inicio = 0; inicio < sessoes.size(); inicio += tamanhoBatch) {
+                List<SessaoApoio> lote = sessoes.subList(inicio, Math.min(inicio + tamanhoBatch, sessoes.size()));
+                Savepoint savepoint = con.setSavepoint();
+                try {
+                    ids.addAll(inserirBatch(con, lote));
+                    con.releaseSavepoint(savepoint);
+                } catch (BatchUpdateException e) {
+                    con.rollback(savepoint);
+                    for (SessaoApoio sessao : lote) {
+                        ids.add(inserirIndividual(con, sessao));
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    private List<Long> inserirBatch(Connection con, List<SessaoApoio> lote) throws SQLException {
+        List<Long> ids = new ArrayList<>(lote.size());
+        try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            for (SessaoApoio sessao : lote) {
+                preencher(ps, sessao);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet chaves = ps.getGeneratedKeys()) {
+                while (chaves.next()) {
+                    ids.add(chaves.getLong(1));
+                }
+            }
+        }
+        if (ids.size() != lote.size()) {
+            throw new IllegalStateException("Quantidade de chaves geradas difere do lote inserido");
+        }
+        return ids;
+    }
+
+    private Long inserirIndividual(Connection con, SessaoApoio sessao) throws SQLException {
+        Savepoint savepoint = con.setSavepoint();
+        try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            preencher(ps, sessao);
+            ps.executeUpdate();
+            try (ResultSet chaves = ps.getGeneratedKeys()) {
+                chaves.next();
+                long id = chaves.getLong(1);
+                con.releaseSavepoint(savepoint);
+                return id;
+            }
+        } catch (SQLException e) {
+            // SQLState classe 23: violação de integridade (usuário ou profissional inexistente)
+            if (e.getSQLState() != null && e.getSQLState().startsWith("23")) {
+                con.rollback(savepoint);
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private void preencher(PreparedStatement ps, SessaoApoio sessao) throws SQLException {
+        ps.setLong(1, sessao.getUsuario().getId());
+        ps.setLong(2, sessao.getProfissional().getId());
+        ps.setTimestamp(3, Timestamp.valueOf(sessao.getDataHora()));
+        ps.setString(4, sessao.getDescricao());
+    }
+}
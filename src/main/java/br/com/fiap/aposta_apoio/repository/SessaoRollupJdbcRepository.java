@@ -0,0 +1,87 @@
+package br.com.fiap.aposta_apoio.repository;
+
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Escrita incremental em sessao_rollup.
+ * Usa UPDATE e, se o bucket ainda não existir, INSERT; se outro cadastro criar o mesmo bucket
+ * em paralelo, o INSERT é desfeito até o savepoint e o UPDATE repetido. Funciona em MySQL e H2
+ * sem depender de sintaxe de upsert. Deve ser chamado dentro de uma transação.
+ */
+@Repository
+public class SessaoRollupJdbcRepository {
+
+    private static final String UPDATE = "UPDATE sessao_rollup SET total = total + ? WHERE dia = ? AND especialidade = ? AND estado = ?";
+    private static final String INSERT = "INSERT INTO sessao_rollup (dia, especialidade, estado, total) VALUES (?, ?, ?, ?)";
+    private static final String SESSOES_POR_DIA = "SELECT CAST(data_hora AS DATE), COUNT(*) FROM sessao_apoio "
+            + "WHERE profissional_id = ? GROUP BY CAST(data_hora AS DATE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SessaoRollupJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void incrementar(LocalDate dia, Especialidade especialidade, String estado, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            if (atualizar(con, dia, especialidade, estado, delta) > 0) {
+                return null;
+            }
+            Savepoint savepoint = con.setSavepoint();
+            try (PreparedStatement ps = con.prepareStatement(INSERT)) {
+                ps.setDate(1, Date.valueOf(dia));
+                ps.setString(2, especialidade.name());
+                ps.setString(3, estado);
+                ps.setLong(4, delta);
+                ps.executeUpdate();
+                con.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                // SQLState classe 23: bucket criado por outra transação entre o UPDATE e o INSERT
+                if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                    throw e;
+                }
+                con.rollback(savepoint);
+                atualizar(con, dia, especialidade, estado, delta);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Quantidade de sessões do profissional por dia, usada para mover os totais quando
+     * a especialidade ou o estado do profissional mudam.
+     */
+    public Map<LocalDate, Long> contarSessoesPorDia(Long profissionalId) {
+        Map<LocalDate, Long> porDia = new LinkedHashMap<>();
+        jdbcTemplate.query(SESSOES_POR_DIA, rs -> {
+            porDia.put(rs.getDate(1).toLocalDate(), rs.getLong(2));
+        }, profissionalId);
+        return porDia;
+    }
+
+    private int atualizar(Connection con, LocalDate dia, Especialidade especialidade, String estado, long delta)
+            throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(UPDATE)) {
+            ps.setLong(1, delta);
+            ps.setDate(2, Date.valueOf(dia));
+            ps.setString(3, especialidade.name());
+            ps.setString(4, estado);
+            return ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.aposta_apoio.repository;
+
+import br.com.fiap.aposta_apoio.model.SessaoRollup;
+import br.com.fiap.aposta_apoio.model.SessaoRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SessaoRollupRepository extends JpaRepository<SessaoRollup, SessaoRollupId> {
+    @Query("SELECT r FROM SessaoRollup r WHERE r.id.dia BETWEEN :inicio AND :fim AND r.total <> 0")
+    List<SessaoRollup> findByPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+}
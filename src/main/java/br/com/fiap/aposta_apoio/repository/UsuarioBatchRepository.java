@@ -0,0 +1,125 @@
+package br.com.fiap.aposta_apoio.repository;
+
+import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserção de usuários em lote via JDBC batch.
+ * Usado no onboarding em massa, onde o INSERT linha a linha do Hibernate (IDENTITY) seria
+ * uma ida ao banco por usuário. Deve ser chamado dentro de uma transação.
+ */
+@Repository
+public class UsuarioBatchRepository {
+
+    private static final String INSERT = "INSERT INTO usuario "
+            + "(nome, email, telefone, cpf, data_nascimento, rua, numero, bairro, cidade, estado, cep, login, senha, role) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoBatch;
+
+    public UsuarioBatchRepository(JdbcTemplate jdbcTemplate,
+                                  @Value("${api.registro.lote.tamanho-batch:500}") int tamanhoBatch) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoBatch = tamanhoBatch;
+    }
+
+    /**
+     * Insere os usuários e devolve os ids gerados na mesma ordem.
+     * Se um batch falhar (ex.: login ou CPF cadastrado em paralelo), ele é desfeito até o savepoint e
+     * reprocessado linha a linha; as linhas que violarem a unicidade ficam com id null.
+     */
+    public List<Long> inserir(List<Usuario> usuarios) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            List<Long> ids = new ArrayList<>(usuarios.size());
+            for (int inicio = 0; inicio < usuarios.size(); inicio += tamanhoBatch) {
+                List<Usuario> lote = usuarios.subList(inicio, Math.min(inicio + tamanhoBatch, usuarios.size()));
+                Savepoint savepoint = con.setSavepoint();
+                try {
+                    ids.addAll(inserirBatch(con, lote));
+                    con.releaseSavepoint(savepoint);
+                } catch (BatchUpdateException e) {
+                    con.rollback(savepoint);
+                    for (Usuario usuario : lote) {
+                        ids.add(inserirIndividual(con, usuario));
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    private List<Long> inserirBatch(Connection con, List<Usuario> lote) throws SQLException {
+        List<Long> ids = new ArrayList<>(lote.size());
+        try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            for (Usuario usuario : lote) {
+                preencher(ps, usuario);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet chaves = ps.getGeneratedKeys()) {
+                while (chaves.next()) {
+                    ids.add(chaves.getLong(1));
+                }
+            }
+        }
+        if (ids.size() != lote.size()) {
+            throw new IllegalStateException("Quantidade de chaves geradas difere do lote inserido");
+        }
+        return ids;
+    }
+
+    private Long inserirIndividual(Connection con, Usuario usuario) throws SQLException {
+        Savepoint savepoint = con.setSavepoint();
+        try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            preencher(ps, usuario);
+            ps.executeUpdate();
+            try (ResultSet chaves = ps.getGeneratedKeys()) {
+                chaves.next();
+                long id = chaves.getLong(1);
+                con.releaseSavepoint(savepoint);
+                return id;
+            }
+        } catch (SQLException e) {
+            // SQLState classe 23: violação de integridade (login ou CPF duplicado)
+            if (e.getSQLState() != null && e.getSQLState().startsWith("23")) {
+                con.rollback(savepoint);
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private void preencher(PreparedStatement ps, Usuario usuario) throws SQLException {
+        EnderecoVO endereco = usuario.getEndereco();
+        ps.setString(1, usuario.getNome());
+        ps.setString(2, usuario.getEmail());
+        ps.setString(3, usuario.getTelefone());
+        ps.setString(4, usuario.getCpf());
+        ps.setDate(5, Date.valueOf(usuario.getDataNascimento()));
+        ps.setString(6, endereco.getRua());
+        ps.setString(7, endereco.getNumero());
+        ps.setString(8, endereco.getBairro());
+        ps.setString(9, endereco.getCidade());
+        ps.setString(10, endereco.getEstado());
+        ps.setString(11, endereco.getCep());
+        ps.setString(12, usuario.getLogin());
+        ps.setString(13, usuario.getSenha());
+        ps.setString(14, usuario.getRole());
+    }
+}
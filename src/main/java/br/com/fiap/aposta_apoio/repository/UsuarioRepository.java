@@ -1,10 +1,49 @@
 package br.com.fiap.aposta_apoio.repository;
 
+import br.com.fiap.aposta_apoio.dto.NomeIndexadoDTO;
+import br.com.fiap.aposta_apoio.dto.UsuarioDTO;
+import br.com.fiap.aposta_apoio.dto.UsuarioResumoDTO;
 import br.com.fiap.aposta_apoio.model.Usuario;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     UserDetails findByLogin(String login);
     boolean existsByLogin(String login);
+
+    /** Página sem COUNT: busca size + 1 linhas para saber se há próxima. */
+    Slice<Usuario> findAllBy(Pageable pageable);
+
+    /** Busca pelo índice único uk_usuario_cpf; o CPF deve estar normalizado (ver Cpf.normalizar). */
+    Optional<Usuario> findByCpf(String cpf);
+
+    @Query("SELECT u.login FROM Usuario u WHERE u.login IN :logins")
+    List<String> findLoginsExistentes(@Param("logins") Collection<String> logins);
+
+    @Query("SELECT u.cpf FROM Usuario u WHERE u.cpf IN :cpfs")
+    List<String> findCpfsExistentes(@Param("cpfs") Collection<String> cpfs);
+
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.NomeIndexadoDTO(u.id, u.nome) FROM Usuario u")
+    List<NomeIndexadoDTO> findAllNomes();
+
+    @Query("SELECT u.nome FROM Usuario u WHERE u.id = :id")
+    Optional<String> findNomeById(@Param("id") Long id);
+
+    @Query("SELECT u.endereco.cep FROM Usuario u WHERE u.id = :id")
+    Optional<String> findCepById(@Param("id") Long id);
+
+    /** Resumos (id, nome, email) em uma consulta IN; não lê CPF, login nem senha. */
+    @Query("SELECT new br.com.fiap.aposta_apoio.dto.UsuarioResumoDTO(u.id, u.nome, u.email) FROM Usuario u WHERE u.id IN :ids")
+    List<UsuarioResumoDTO> findResumosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id FROM Usuario u WHERE u.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
 }
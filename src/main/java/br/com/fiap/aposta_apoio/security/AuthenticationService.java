@@ -1,7 +1,9 @@
 package br.com.fiap.aposta_apoio.security;
 
+import br.com.fiap.aposta_apoio.model.Usuario;
 import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -9,9 +11,10 @@ import org.springframework.stereotype.Service;
 /**
  * Serviço de autenticação que implementa UserDetailsService do Spring Security.
  * Responsável por carregar os dados do usuário durante o processo de autenticação.
+ * Como UserDetailsPasswordService, regrava o hash da senha no login quando o custo do BCrypt muda.
  */
 @Service
-public class AuthenticationService implements UserDetailsService {
+public class AuthenticationService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -27,5 +30,13 @@ public class AuthenticationService implements UserDetailsService {
         }
         return user;
     }
-}
 
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (user instanceof Usuario usuario) {
+            usuario.setSenha(newPassword);
+            return usuarioRepository.save(usuario);
+        }
+        return user;
+    }
+}
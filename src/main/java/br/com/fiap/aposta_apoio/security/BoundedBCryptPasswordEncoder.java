@@ -0,0 +1,193 @@
+package br.com.fiap.aposta_apoio.security;
+
+import br.com.fiap.aposta_apoio.exception.ServicoSobrecarregadoException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PasswordEncoder BCrypt que executa hash e verificação em um executor dedicado e limitado.
+ * Evita que rajadas de login/registro consumam todas as threads do Tomcat com trabalho de CPU:
+ * quando a fila está cheia a chamada falha imediatamente com ServicoSobrecarregadoException (503).
+ * Também sinaliza rehash quando o custo configurado difere do custo do hash armazenado.
+ */
+public class BoundedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern CUSTO_BCRYPT = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder operacoes = new LongAdder();
+    private final LongAdder nanosTotal = new LongAdder();
+    private final AtomicLong nanosMaximo = new AtomicLong();
+    private final LongAdder rejeicoes = new LongAdder();
+
+    public BoundedBCryptPasswordEncoder(int strength, int threads, int capacidadeFila, long timeoutMs) {
+        this(new BCryptPasswordEncoder(strength), strength, threads, capacidadeFila, timeoutMs);
+    }
+
+    BoundedBCryptPasswordEncoder(PasswordEncoder delegate, int strength, int threads, int capacidadeFila, long timeoutMs) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Gera os hashes de várias senhas em paralelo, preservando a ordem de entrada.
+     * Mantém no máximo uma tarefa por thread em voo: um lote grande não ocupa a fila inteira
+     * e os logins concorrentes continuam sendo atendidos. Se a fila estiver cheia, aguarda
+     * o hash mais antigo do lote antes de tentar de novo, em vez de rejeitar.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> emVoo = new ArrayDeque<>();
+        int janela = executor.getMaximumPoolSize();
+        try {
+            for (CharSequence senha : rawPasswords) {
+                if (emVoo.size() == janela) {
+                    hashes.add(aguardar(emVoo.poll()));
+                }
+                while (true) {
+                    try {
+                        emVoo.add(executor.submit(() -> medir(() -> delegate.encode(senha))));
+                        break;
+                    } catch (RejectedExecutionException e) {
+                        if (emVoo.isEmpty()) {
+                            rejeicoes.increment();
+                            throw new ServicoSobrecarregadoException("Serviço de autenticação sobrecarregado, tente novamente em instantes.");
+                        }
+                        hashes.add(aguardar(emVoo.poll()));
+                    }
+                }
+            }
+            while (!emVoo.isEmpty()) {
+                hashes.add(aguardar(emVoo.poll()));
+            }
+        } catch (RuntimeException e) {
+            emVoo.forEach(f -> f.cancel(true));
+            throw e;
+        }
+        return hashes;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = CUSTO_BCRYPT.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        return aguardar(submeter(tarefa));
+    }
+
+    private <T> Future<T> submeter(Callable<T> tarefa) {
+        try {
+            return executor.submit(() -> medir(tarefa));
+        } catch (RejectedExecutionException e) {
+            rejeicoes.increment();
+            throw new ServicoSobrecarregadoException("Serviço de autenticação sobrecarregado, tente novamente em instantes.");
+        }
+    }
+
+    private <T> T aguardar(Future<T> futuro) {
+        try {
+            return futuro.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            rejeicoes.increment();
+            throw new ServicoSobrecarregadoException("Tempo limite excedido no processamento da senha.");
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServicoSobrecarregadoException("Processamento da senha interrompido.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Falha ao processar senha", e.getCause());
+        }
+    }
+
+    private <T> T medir(Callable<T> tarefa) throws Exception {
+        long inicio = System.nanoTime();
+        try {
+            return tarefa.call();
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            operacoes.increment();
+            nanosTotal.add(duracao);
+            nanosMaximo.accumulateAndGet(duracao, Math::max);
+        }
+    }
+
+    public int getTamanhoFila() {
+        return executor.getQueue().size();
+    }
+
+    public int getThreadsAtivas() {
+        return executor.getActiveCount();
+    }
+
+    public long getOperacoes() {
+        return operacoes.sum();
+    }
+
+    public long getLatenciaMediaMicros() {
+        long total = operacoes.sum();
+        return total == 0 ? 0 : nanosTotal.sum() / total / 1000;
+    }
+
+    public long getLatenciaMaximaMicros() {
+        return nanosMaximo.get() / 1000;
+    }
+
+    public long getRejeicoes() {
+        return rejeicoes.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
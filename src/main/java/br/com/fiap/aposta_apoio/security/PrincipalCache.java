@@ -0,0 +1,95 @@
+package br.com.fiap.aposta_apoio.security;
+
+import br.com.fiap.aposta_apoio.event.UsuarioAlteradoEvent;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache com TTL dos principals carregados do banco pelo SecurityFilter.
+ * Também registra os usuários removidos para que tokens emitidos antes da remoção
+ * deixem de ser aceitos no modo stateless.
+ */
+@Component
+public class PrincipalCache {
+
+    // Folga sobre a validade do token, já que gerarDataExpiracao usa um fuso fixo (-03:00)
+    private static final long FOLGA_REVOGACAO_MS = 24 * 60 * 60 * 1000L;
+
+    private final UsuarioRepository usuarioRepository;
+
+    @Value("${api.security.principal.cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${api.security.principal.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${api.security.token.expiration}")
+    private long tokenExpiration;
+
+    private final ConcurrentHashMap<String, Entrada> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> revogacoes = new ConcurrentHashMap<>();
+
+    public PrincipalCache(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    /**
+     * Retorna o principal do login, consultando o banco apenas quando não há entrada válida em cache.
+     *
+     * @param login Login do usuário
+     * @return Principal leve ou null se o usuário não existir
+     */
+    public UserDetails buscar(String login) {
+        long agora = System.currentTimeMillis();
+        Entrada entrada = cache.get(login);
+        if (entrada != null && entrada.expiraEm() > agora) {
+            return entrada.principal();
+        }
+
+        UserDetails carregado = usuarioRepository.findByLogin(login);
+        if (carregado == null) {
+            cache.remove(login);
+            return null;
+        }
+        UserDetails principal = carregado instanceof Usuario u
+                ? new UsuarioAutenticado(u.getId(), u.getLogin(), u.getRole())
+                : carregado;
+
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(e -> e.expiraEm() <= agora);
+        }
+        if (cache.size() < maxEntries) {
+            cache.put(login, new Entrada(principal, agora + ttlMs));
+        }
+        return principal;
+    }
+
+    /**
+     * Indica se o token pertence a um usuário removido. Todos os tokens do usuário são revogados,
+     * já que ids não são reutilizados.
+     */
+    public boolean revogado(TokenClaims claims) {
+        return claims.id() != null && revogacoes.containsKey(claims.id());
+    }
+
+    @EventListener
+    public void onUsuarioAlterado(UsuarioAlteradoEvent evento) {
+        if (evento.login() != null) {
+            cache.remove(evento.login());
+        }
+        if (evento.id() != null && evento.tipo() == UsuarioAlteradoEvent.Tipo.REMOVIDO) {
+            long agora = System.currentTimeMillis();
+            // Tokens mais antigos que a validade máxima já expiraram; não há por que lembrar da revogação
+            revogacoes.values().removeIf(instante -> instante + tokenExpiration + FOLGA_REVOGACAO_MS < agora);
+            revogacoes.put(evento.id(), agora);
+        }
+    }
+
+    private record Entrada(UserDetails principal, long expiraEm) {}
+}
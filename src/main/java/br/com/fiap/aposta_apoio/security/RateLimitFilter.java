@@ -0,0 +1,249 @@
+package br.com.fiap.aposta_apoio.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de limitação de taxa para os endpoints públicos de autenticação.
+ * Aplica um token bucket por IP de origem e outro por login informado no corpo,
+ * respondendo 429 antes que a requisição chegue ao AuthenticationManager (e ao BCrypt).
+ * Corpos acima de TAMANHO_MAXIMO_CORPO recebem 413 e, no login, corpos sem login legível recebem 400.
+ * Os buckets ficam distribuídos em faixas; a cada intervalo uma faixa é varrida para
+ * remover buckets ociosos, mantendo o custo de limpeza pequeno e constante.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int FAIXAS = 16;
+    private static final int TAMANHO_MAXIMO_CORPO = 16 * 1024;
+    private static final long INTERVALO_VARREDURA_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ObjectMapper objectMapper;
+    private final boolean habilitado;
+    private final Limite limiteLogin;
+    private final Limite limiteRegistro;
+    private final long ociosidadeNanos;
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, TokenBucket>[] faixas = new ConcurrentHashMap[FAIXAS];
+    private final AtomicInteger proximaFaixa = new AtomicInteger();
+    private final AtomicLong proximaVarredura = new AtomicLong(System.nanoTime());
+    private final LongAdder rejeicoes = new LongAdder();
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           @Value("${api.security.rate-limit.enabled:true}") boolean habilitado,
+                           @Value("${api.security.rate-limit.login.capacidade:10}") int capacidadeLogin,
+                           @Value("${api.security.rate-limit.login.por-minuto:10}") int porMinutoLogin,
+                           @Value("${api.security.rate-limit.registro.capacidade:5}") int capacidadeRegistro,
+                           @Value("${api.security.rate-limit.registro.por-minuto:5}") int porMinutoRegistro,
+                           @Value("${api.security.rate-limit.ociosidade-ms:600000}") long ociosidadeMs) {
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.limiteLogin = new Limite("login", capacidadeLogin, porMinutoLogin);
+        this.limiteRegistro = new Limite("registro", capacidadeRegistro, porMinutoRegistro);
+        this.ociosidadeNanos = TimeUnit.MILLISECONDS.toNanos(ociosidadeMs);
+        for (int i = 0; i < FAIXAS; i++) {
+            faixas[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || limite(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Limite limite = limite(request);
+        long agora = System.nanoTime();
+        varrerSeNecessario(agora);
+
+        long espera = limite.consumir("ip:" + request.getRemoteAddr(), agora);
+        if (espera > 0) {
+            rejeitar(response, espera);
+            return;
+        }
+
+        // O corpo é sempre lido (até o limite), independentemente do Content-Length declarado,
+        // para que requisições chunked ou grandes não escapem do limite por login
+        CorpoEmCacheRequest comCorpo = new CorpoEmCacheRequest(request);
+        if (comCorpo.excedeuLimite) {
+            responderErro(response, 413, "Payload Too Large",
+                    "Corpo da requisição excede " + TAMANHO_MAXIMO_CORPO + " bytes.");
+            return;
+        }
+        String login = extrairLogin(comCorpo.corpo);
+        if (login == null && limite == limiteLogin) {
+            responderErro(response, 400, "Bad Request", "Payload inválido ou formato incorreto.");
+            return;
+        }
+        if (login != null) {
+            espera = limite.consumir("login:" + login.toLowerCase(Locale.ROOT), agora);
+            if (espera > 0) {
+                rejeitar(response, espera);
+                return;
+            }
+        }
+
+        filterChain.doFilter(comCorpo, response);
+    }
+
+    private Limite limite(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("/auth/login".equals(path)) {
+            return limiteLogin;
+        }
+        if ("/auth/registro".equals(path)) {
+            return limiteRegistro;
+        }
+        return null;
+    }
+
+    private String extrairLogin(byte[] corpo) {
+        try {
+            JsonNode login = objectMapper.readTree(corpo).get("login");
+            return login != null && login.isTextual() ? login.asText() : null;
+        } catch (IOException e) {
+            // Corpo inválido: no login é rejeitado aqui; no registro a validação do endpoint devolve 400
+            return null;
+        }
+    }
+
+    private void rejeitar(HttpServletResponse response, long esperaNanos) throws IOException {
+        rejeicoes.increment();
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos) + 1);
+        response.setHeader("Retry-After", String.valueOf(segundos));
+        responderErro(response, 429, "Too Many Requests", "Muitas tentativas. Tente novamente em " + segundos + "s.");
+    }
+
+    private void responderErro(HttpServletResponse response, int status, String erro, String mensagem) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"timestamp\":\"" + LocalDateTime.now()
+                + "\",\"status\":" + status + ",\"erro\":\"" + erro + "\",\"mensagem\":\"" + mensagem + "\"}");
+    }
+
+    private void varrerSeNecessario(long agora) {
+        long prevista = proximaVarredura.get();
+        if (agora - prevista < 0 || !proximaVarredura.compareAndSet(prevista, agora + INTERVALO_VARREDURA_NANOS)) {
+            return;
+        }
+        ConcurrentHashMap<String, TokenBucket> faixa = faixas[Math.floorMod(proximaFaixa.getAndIncrement(), FAIXAS)];
+        faixa.values().removeIf(bucket -> bucket.ocioso(agora, ociosidadeNanos));
+    }
+
+    public long getRejeicoes() {
+        return rejeicoes.sum();
+    }
+
+    public int getBucketsAtivos() {
+        int total = 0;
+        for (ConcurrentHashMap<String, TokenBucket> faixa : faixas) {
+            total += faixa.size();
+        }
+        return total;
+    }
+
+    /**
+     * Limite configurado para um endpoint: capacidade da rajada e reposição por minuto.
+     */
+    private final class Limite {
+        private final String endpoint;
+        private final long intervaloNanos;
+        private final long toleranciaNanos;
+
+        private Limite(String endpoint, int capacidade, int porMinuto) {
+            this.endpoint = endpoint;
+            this.intervaloNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, porMinuto);
+            this.toleranciaNanos = intervaloNanos * (Math.max(1, capacidade) - 1);
+        }
+
+        private long consumir(String chave, long agora) {
+            String chaveCompleta = endpoint + ':' + chave;
+            ConcurrentHashMap<String, TokenBucket> faixa = faixas[Math.floorMod(chaveCompleta.hashCode(), FAIXAS)];
+            TokenBucket bucket = faixa.computeIfAbsent(chaveCompleta, k -> new TokenBucket(agora));
+            return bucket.tentarConsumir(agora, intervaloNanos, toleranciaNanos);
+        }
+    }
+
+    /**
+     * Mantém o corpo já lido em memória para que o controller possa lê-lo novamente.
+     * Lê no máximo um byte além do limite, apenas para detectar corpos maiores que ele.
+     */
+    private static final class CorpoEmCacheRequest extends HttpServletRequestWrapper {
+        private final byte[] corpo;
+        private final boolean excedeuLimite;
+
+        private CorpoEmCacheRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            byte[] lido = request.getInputStream().readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+            this.excedeuLimite = lido.length > TAMANHO_MAXIMO_CORPO;
+            this.corpo = excedeuLimite ? new byte[0] : lido;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
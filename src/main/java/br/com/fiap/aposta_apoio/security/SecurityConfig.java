@@ -1,5 +1,6 @@
 package br.com.fiap.aposta_apoio.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,8 +9,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -22,10 +21,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final SecurityFilter securityFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final PathAwareAuthenticationEntryPoint authenticationEntryPoint;
 
-    public SecurityConfig(SecurityFilter securityFilter, PathAwareAuthenticationEntryPoint authenticationEntryPoint) {
+    public SecurityConfig(SecurityFilter securityFilter, RateLimitFilter rateLimitFilter,
+                          PathAwareAuthenticationEntryPoint authenticationEntryPoint) {
         this.securityFilter = securityFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.authenticationEntryPoint = authenticationEntryPoint;
     }
 
@@ -42,6 +44,7 @@ public class SecurityConfig {
                         // Endpoints públicos
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/registro").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/registro/lote").hasRole("ADMIN")
 
                         // Swagger / OpenAPI - permitir várias rotas que o swagger-ui pode usar
                         .requestMatchers(
@@ -58,16 +61,23 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(authenticationEntryPoint))
+                // Limite de taxa antes de qualquer autenticação, para não gastar BCrypt com tentativas rejeitadas
+                .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
     /**
      * Bean para criptografia de senhas usando BCrypt.
+     * O hash roda em um executor dedicado (por padrão uma thread por núcleo) com fila limitada.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedBCryptPasswordEncoder passwordEncoder(@Value("${api.security.bcrypt.strength:10}") int strength,
+                                                        @Value("${api.security.bcrypt.threads:0}") int threads,
+                                                        @Value("${api.security.bcrypt.fila:64}") int capacidadeFila,
+                                                        @Value("${api.security.bcrypt.timeout-ms:5000}") long timeoutMs) {
+        int nucleos = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedBCryptPasswordEncoder(strength, nucleos, capacidadeFila, timeoutMs);
     }
 
     /**
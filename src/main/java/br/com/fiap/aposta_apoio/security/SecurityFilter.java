@@ -5,6 +5,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,16 +17,25 @@ import java.io.IOException;
 /**
  * Filtro de segurança que intercepta todas as requisições para validar o token JWT.
  * Implementa OncePerRequestFilter para garantir uma única execução por requisição.
+ * No modo stateless (api.security.principal.stateless=true, desligado por padrão) o principal é
+ * montado a partir das claims id/role do token, sem consulta ao banco; tokens sem essas claims
+ * recorrem ao PrincipalCache. Nesse modo a revogação de usuários removidos vale apenas na instância
+ * que processou a remoção e até o próximo restart: em outra instância o token continua aceito até o "exp".
  */
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UsuarioRepository usuarioRepository;
+    private final PrincipalCache principalCache;
 
-    public SecurityFilter(TokenService tokenService, UsuarioRepository usuarioRepository) {
+    @Value("${api.security.principal.stateless:false}")
+    private boolean stateless;
+
+    public SecurityFilter(TokenService tokenService, UsuarioRepository usuarioRepository, PrincipalCache principalCache) {
         this.tokenService = tokenService;
         this.usuarioRepository = usuarioRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -35,9 +45,11 @@ public class SecurityFilter extends OncePerRequestFilter {
         String token = recuperarToken(request);
 
         if (token != null) {
-            String login = tokenService.validarToken(token);
-            if (!login.isEmpty()) {
-                UserDetails usuario = usuarioRepository.findByLogin(login);
+            TokenClaims claims = tokenService.validar(token);
+            if (claims != null && claims.login() != null) {
+                UserDetails usuario = stateless
+                        ? resolverPrincipal(claims)
+                        : usuarioRepository.findByLogin(claims.login());
                 if (usuario != null) {
                     UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
@@ -49,6 +61,23 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Monta o principal a partir das claims do token, recorrendo ao banco (via cache) apenas
+     * para tokens antigos que não carregam id e role.
+     *
+     * @param claims Claims verificadas do token
+     * @return Principal autenticado ou null se o token foi revogado
+     */
+    private UserDetails resolverPrincipal(TokenClaims claims) {
+        if (principalCache.revogado(claims)) {
+            return null;
+        }
+        if (claims.id() != null && claims.role() != null) {
+            return new UsuarioAutenticado(claims.id(), claims.login(), claims.role());
+        }
+        return principalCache.buscar(claims.login());
+    }
+
     /**
      * Extrai o token JWT do header Authorization.
      *
@@ -0,0 +1,46 @@
+package br.com.fiap.aposta_apoio.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket lock-free implementado como GCRA (Generic Cell Rate Algorithm).
+ * Todo o estado cabe em um único AtomicLong (o "theoretical arrival time"), então cada
+ * tentativa é um CAS sem alocação e sem bloqueio.
+ */
+final class TokenBucket {
+
+    private final AtomicLong chegadaTeorica;
+
+    TokenBucket(long agoraNanos) {
+        this.chegadaTeorica = new AtomicLong(agoraNanos);
+    }
+
+    /**
+     * Tenta consumir uma ficha.
+     *
+     * @param agoraNanos        instante atual (System.nanoTime)
+     * @param intervaloNanos    tempo para repor uma ficha
+     * @param toleranciaNanos   rajada permitida: intervalo * (capacidade - 1)
+     * @return 0 se a ficha foi consumida, ou quantos nanos faltam para a próxima ficha
+     */
+    long tentarConsumir(long agoraNanos, long intervaloNanos, long toleranciaNanos) {
+        while (true) {
+            long atual = chegadaTeorica.get();
+            long base = Math.max(atual, agoraNanos);
+            long espera = base - agoraNanos - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (chegadaTeorica.compareAndSet(atual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Um bucket está ocioso quando já foi totalmente reabastecido há mais tempo que o limite informado.
+     */
+    boolean ocioso(long agoraNanos, long ociosidadeNanos) {
+        return agoraNanos - chegadaTeorica.get() > ociosidadeNanos;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.aposta_apoio.security;
+
+/**
+ * Claims já verificadas de um token JWT.
+ * Mantidas em cache pelo TokenService até o instante de expiração do token.
+ *
+ * @param login    subject do token
+ * @param id       claim "id" do usuário
+ * @param role     claim "role" do usuário
+ * @param expiraEm expiração do token em epoch millis
+ */
+public record TokenClaims(String login, Long id, String role, long expiraEm) {}
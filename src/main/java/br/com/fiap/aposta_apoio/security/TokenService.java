@@ -2,29 +2,71 @@ package br.com.fiap.aposta_apoio.security;
 
 import br.com.fiap.aposta_apoio.model.Usuario;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Serviço responsável pela geração e validação de tokens JWT.
  * Utiliza a biblioteca Auth0 para criar tokens seguros com algoritmo HMAC256.
+ * O algoritmo e o verificador são criados uma única vez e compartilhados entre threads;
+ * tokens já verificados ficam em um cache limitado até o seu "exp".
  */
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "aposta-apoio-api";
+    private static final long INTERVALO_LIMPEZA_MS = 1000;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    });
+
     @Value("${api.security.token.secret}")
     private String secret;
 
     @Value("${api.security.token.expiration}")
     private Long expiration;
 
+    @Value("${api.security.token.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    private final ConcurrentHashMap<String, TokenClaims> cache = new ConcurrentHashMap<>();
+    private final AtomicLong proximaLimpeza = new AtomicLong();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    @PostConstruct
+    void inicializar() {
+        algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+    }
+
     /**
      * Gera um token JWT para o usuário autenticado.
      *
@@ -33,9 +75,8 @@ public class TokenService {
      */
     public String gerarToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("aposta-apoio-api")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getLogin())
                     .withClaim("id", usuario.getId())
                     .withClaim("role", usuario.getRole())
@@ -53,16 +94,70 @@ public class TokenService {
      * @return Login do usuário contido no token
      */
     public String validarToken(String token) {
+        TokenClaims claims = validar(token);
+        return claims == null ? "" : claims.login();
+    }
+
+    /**
+     * Valida o token JWT e retorna as claims verificadas.
+     * Tokens repetidos são atendidos pelo cache, sem nova verificação HMAC.
+     *
+     * @param token Token JWT a ser validado
+     * @return Claims do token ou null se o token for inválido/expirado
+     */
+    public TokenClaims validar(String token) {
+        String chave = digest(token);
+        long agora = System.currentTimeMillis();
+
+        TokenClaims emCache = cache.get(chave);
+        if (emCache != null) {
+            if (emCache.expiraEm() > agora) {
+                cacheHits.increment();
+                return emCache;
+            }
+            cache.remove(chave, emCache);
+        }
+        cacheMisses.increment();
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("aposta-apoio-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT jwt = verifier.verify(token);
+            TokenClaims claims = new TokenClaims(
+                    jwt.getSubject(),
+                    jwt.getClaim("id").asLong(),
+                    jwt.getClaim("role").asString(),
+                    jwt.getExpiresAtAsInstant() != null ? jwt.getExpiresAtAsInstant().toEpochMilli() : agora
+            );
+            armazenar(chave, claims, agora);
+            return claims;
         } catch (JWTVerificationException exception){
-            return "";
+            return null;
+        }
+    }
+
+    /**
+     * Insere no cache respeitando o limite de entradas.
+     * Quando cheio, remove as entradas já expiradas (no máximo uma varredura por segundo);
+     * se ainda assim não houver espaço, o token simplesmente não é armazenado.
+     */
+    private void armazenar(String chave, TokenClaims claims, long agora) {
+        if (claims.expiraEm() <= agora) {
+            return;
         }
+        if (cache.size() >= cacheMaxEntries) {
+            long limpeza = proximaLimpeza.get();
+            if (agora >= limpeza && proximaLimpeza.compareAndSet(limpeza, agora + INTERVALO_LIMPEZA_MS)) {
+                cache.values().removeIf(c -> c.expiraEm() <= agora);
+            }
+            if (cache.size() >= cacheMaxEntries) {
+                return;
+            }
+        }
+        cache.put(chave, claims);
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
     }
 
     /**
@@ -79,5 +174,16 @@ public class TokenService {
     public Long getExpiration() {
         return expiration;
     }
-}
 
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+}
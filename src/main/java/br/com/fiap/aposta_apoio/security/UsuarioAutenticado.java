@@ -0,0 +1,50 @@
+package br.com.fiap.aposta_apoio.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal leve usado nas requisições autenticadas por token.
+ * Contém apenas id, login e role, sem endereço, CPF ou hash de senha.
+ */
+public class UsuarioAutenticado implements UserDetails {
+
+    private final Long id;
+    private final String login;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+
+    public UsuarioAutenticado(Long id, String login, String role) {
+        this.id = id;
+        this.login = login;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return login;
+    }
+}
@@ -0,0 +1,315 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.HorarioSessaoDTO;
+import br.com.fiap.aposta_apoio.event.ProfissionalAlteradoEvent;
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Índice em memória dos horários ocupados de cada profissional, usado para impedir agendamentos sobrepostos.
+ * Cada agenda é um TreeMap ordenado por início da sessão, então a verificação de conflito é uma busca
+ * por faixa. O acesso é protegido por travas distribuídas por id do profissional (lock striping):
+ * agendamentos de profissionais diferentes raramente disputam a mesma trava.
+ * Reservas feitas dentro de uma transação ficam pendentes até o commit e são desfeitas no rollback.
+ * Só interessam conflitos com horários atuais e futuros: a reconciliação carrega apenas sessões que ainda
+ * não terminaram e descarta as agendas que ficaram vazias.
+ */
+@Service
+public class AgendaProfissionalService {
+
+    private static final int FAIXAS = 64;
+
+    private final SessaoApoioRepository repository;
+    private final Duration duracaoSessao;
+    private final ReentrantLock[] travas = new ReentrantLock[FAIXAS];
+    private final ConcurrentHashMap<Long, Agenda> agendas = new ConcurrentHashMap<>();
+    private final LongAdder conflitos = new LongAdder();
+    private final AtomicLong versao = new AtomicLong();
+
+    public AgendaProfissionalService(SessaoApoioRepository repository,
+                                     @Value("${api.agenda.duracao-sessao-minutos:60}") long duracaoMinutos) {
+        this.repository = repository;
+        this.duracaoSessao = Duration.ofMinutes(duracaoMinutos);
+        for (int i = 0; i < FAIXAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Verifica o horário e, se estiver livre, executa a gravação e reserva o horário para a sessão gravada,
+     * tudo sob a trava do profissional.
+     *
+     * @param ignorarSessaoId sessão que pode ocupar o horário (a própria sessão em uma alteração); null na criação
+     * @param emGrupo         se sessões com o mesmo início podem coexistir (terapia em grupo)
+     * @throws IllegalStateException se o profissional já tiver sessão em horário sobreposto
+     */
+    public SessaoApoio reservar(Long profissionalId, LocalDateTime dataHora, Long ignorarSessaoId, boolean emGrupo,
+                                Supplier<SessaoApoio> gravar) {
+        ReentrantLock trava = trava(profissionalId);
+        trava.lock();
+        try {
+            Agenda agenda = agendas.computeIfAbsent(profissionalId, id -> new Agenda());
+            if (agenda.conflita(dataHora, duracaoSessao, ignorarSessaoId, emGrupo)) {
+                conflitos.increment();
+                throw new IllegalStateException("Profissional já possui sessão agendada em horário conflitante.");
+            }
+            SessaoApoio salvo = gravar.get();
+            registrarReserva(profissionalId, agenda, dataHora, salvo.getId());
+            return salvo;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Versão em lote de {@link #reservar}: verifica todos os horários (inclusive entre si), grava de uma vez
+     * os que estiverem livres e reserva os gravados. As travas de todos os profissionais envolvidos são
+     * adquiridas em ordem crescente de faixa, evitando deadlock entre lotes concorrentes.
+     *
+     * @param pedidos              horários solicitados (sessaoId ignorado), na ordem dos itens
+     * @param profissionaisEmGrupo profissionais cujas sessões podem compartilhar o mesmo início
+     * @param gravar               recebe os índices livres e devolve os ids gravados na mesma ordem (null se não gravado)
+     * @return id gravado por pedido; null quando o horário conflitou ou a gravação falhou
+     */
+    public Long[] reservarLote(List<HorarioSessaoDTO> pedidos, Set<Long> profissionaisEmGrupo,
+                               Function<List<Integer>, List<Long>> gravar) {
+        int[] faixas = pedidos.stream().mapToInt(p -> faixa(p.profissionalId())).distinct().sorted().toArray();
+        for (int indice : faixas) {
+            travas[indice].lock();
+        }
+        try {
+            Map<Long, Agenda> doLote = new HashMap<>();
+            List<Integer> livres = new ArrayList<>(pedidos.size());
+            for (int i = 0; i < pedidos.size(); i++) {
+                HorarioSessaoDTO pedido = pedidos.get(i);
+                boolean emGrupo = profissionaisEmGrupo.contains(pedido.profissionalId());
+                Agenda agenda = agendas.computeIfAbsent(pedido.profissionalId(), id -> new Agenda());
+                Agenda aceitos = doLote.computeIfAbsent(pedido.profissionalId(), id -> new Agenda());
+                if (agenda.conflita(pedido.dataHora(), duracaoSessao, null, emGrupo)
+                        || aceitos.conflita(pedido.dataHora(), duracaoSessao, null, emGrupo)) {
+                    conflitos.increment();
+                    continue;
+                }
+                aceitos.adicionar(pedido.dataHora(), (long) i);
+                livres.add(i);
+            }
+
+            Long[] ids = new Long[pedidos.size()];
+            List<Long> gravados = livres.isEmpty() ? List.of() : gravar.apply(livres);
+            for (int j = 0; j < livres.size(); j++) {
+                Long id = gravados.get(j);
+                if (id != null) {
+                    HorarioSessaoDTO pedido = pedidos.get(livres.get(j));
+                    ids[livres.get(j)] = id;
+                    registrarReserva(pedido.profissionalId(), agendas.get(pedido.profissionalId()), pedido.dataHora(), id);
+                }
+            }
+            return ids;
+        } finally {
+            for (int i = faixas.length - 1; i >= 0; i--) {
+                travas[faixas[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Libera o horário de uma sessão removida ou remarcada. Dentro de uma transação só libera após o commit,
+     * para que o horário continue protegido caso a operação seja desfeita.
+     */
+    public void liberar(Long profissionalId, LocalDateTime dataHora, Long sessaoId) {
+        aoConcluir(confirmado -> {
+            if (confirmado) {
+                comTrava(profissionalId, agenda -> {
+                    agenda.remover(dataHora, sessaoId);
+                    agenda.versao = versao.incrementAndGet();
+                });
+            }
+        });
+    }
+
+    /**
+     * Recarrega as agendas a partir de sessao_apoio (na inicialização e periodicamente) com uma única
+     * leitura em lote, aplicada a cada profissional sob a sua trava, preservando reservas ainda não confirmadas.
+     * Agendas confirmadas ou liberadas durante a leitura são relidas individualmente, já que a leitura em lote
+     * pode não refletir essas alterações. Sessões já encerradas (início anterior a agora menos a duração)
+     * não são carregadas, e agendas sem horários nem reservas pendentes são removidas do mapa.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${api.agenda.reconciliacao-ms:600000}",
+               initialDelayString = "${api.agenda.reconciliacao-ms:600000}")
+    public void reconciliar() {
+        long inicio = versao.get();
+        LocalDateTime desde = LocalDateTime.now().minus(duracaoSessao);
+        Map<Long, List<HorarioSessaoDTO>> porProfissional = repository.findHorariosDesde(desde).stream()
+                .collect(Collectors.groupingBy(HorarioSessaoDTO::profissionalId));
+        Set<Long> profissionais = new HashSet<>(porProfissional.keySet());
+        profissionais.addAll(agendas.keySet());
+        for (Long profissionalId : profissionais) {
+            comTrava(profissionalId, agenda -> {
+                List<HorarioSessaoDTO> horarios = agenda.versao > inicio
+                        ? repository.findHorariosByProfissionalIdDesde(profissionalId, desde)
+                        : porProfissional.getOrDefault(profissionalId, List.of());
+                agenda.horarios.clear();
+                for (HorarioSessaoDTO horario : horarios) {
+                    agenda.adicionar(horario.dataHora(), horario.sessaoId());
+                }
+                agenda.pendentes.forEach((sessaoId, dataHora) -> agenda.adicionar(dataHora, sessaoId));
+                if (agenda.horarios.isEmpty()) {
+                    agendas.remove(profissionalId);
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfissionalAlterado(ProfissionalAlteradoEvent evento) {
+        if (evento.tipo() == ProfissionalAlteradoEvent.Tipo.REMOVIDO) {
+            comTrava(evento.id(), agenda -> {
+                if (agenda.pendentes.isEmpty()) {
+                    agendas.remove(evento.id());
+                }
+            });
+        }
+    }
+
+    public long getConflitos() {
+        return conflitos.sum();
+    }
+
+    public long getHorariosIndexados() {
+        long total = 0;
+        for (Map.Entry<Long, Agenda> entrada : agendas.entrySet()) {
+            ReentrantLock trava = trava(entrada.getKey());
+            trava.lock();
+            try {
+                total += entrada.getValue().tamanho();
+            } finally {
+                trava.unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Inclui a sessão na agenda (já sob a trava) e a mantém pendente até o fim da transação;
+     * no rollback o horário volta a ficar livre.
+     */
+    private void registrarReserva(Long profissionalId, Agenda agenda, LocalDateTime dataHora, Long sessaoId) {
+        if (!agenda.adicionar(dataHora, sessaoId)) {
+            return;
+        }
+        agenda.pendentes.put(sessaoId, dataHora);
+        aoConcluir(confirmado -> comTrava(profissionalId, a -> {
+            a.pendentes.remove(sessaoId);
+            if (!confirmado) {
+                a.remover(dataHora, sessaoId);
+            }
+            a.versao = versao.incrementAndGet();
+        }));
+    }
+
+    private void comTrava(Long profissionalId, Consumer<Agenda> acao) {
+        ReentrantLock trava = trava(profissionalId);
+        trava.lock();
+        try {
+            acao.accept(agendas.computeIfAbsent(profissionalId, id -> new Agenda()));
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private ReentrantLock trava(Long profissionalId) {
+        return travas[faixa(profissionalId)];
+    }
+
+    private static int faixa(Long profissionalId) {
+        return Math.floorMod(Long.hashCode(profissionalId), FAIXAS);
+    }
+
+    private static void aoConcluir(Consumer<Boolean> acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acao.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Agenda de um profissional. Acessada apenas com a trava correspondente.
+     */
+    private static final class Agenda {
+        private final TreeMap<LocalDateTime, Set<Long>> horarios = new TreeMap<>();
+        private final Map<Long, LocalDateTime> pendentes = new HashMap<>();
+        /** Valor do contador de versões na última confirmação ou liberação aplicada. */
+        private long versao;
+
+        private boolean adicionar(LocalDateTime dataHora, Long sessaoId) {
+            return horarios.computeIfAbsent(dataHora, h -> new HashSet<>(2)).add(sessaoId);
+        }
+
+        private void remover(LocalDateTime dataHora, Long sessaoId) {
+            Set<Long> sessoes = horarios.get(dataHora);
+            if (sessoes != null && sessoes.remove(sessaoId) && sessoes.isEmpty()) {
+                horarios.remove(dataHora);
+            }
+        }
+
+        /**
+         * Duas sessões [a, a + d) e [b, b + d) se sobrepõem quando b está no intervalo aberto (a - d, a + d).
+         * Em grupo, sessões com exatamente o mesmo início são a mesma turma e não conflitam.
+         */
+        private boolean conflita(LocalDateTime dataHora, Duration duracao, Long ignorarSessaoId, boolean emGrupo) {
+            for (Map.Entry<LocalDateTime, Set<Long>> horario
+                    : horarios.subMap(dataHora.minus(duracao), false, dataHora.plus(duracao), false).entrySet()) {
+                if (emGrupo && horario.getKey().equals(dataHora)) {
+                    continue;
+                }
+                for (Long sessaoId : horario.getValue()) {
+                    if (!sessaoId.equals(ignorarSessaoId)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private int tamanho() {
+            int total = 0;
+            for (Set<Long> sessoes : horarios.values()) {
+                total += sessoes.size();
+            }
+            return total;
+        }
+    }
+}
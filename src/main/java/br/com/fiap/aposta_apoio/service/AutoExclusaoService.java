@@ -0,0 +1,214 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.AutoExclusaoDTO;
+import br.com.fiap.aposta_apoio.dto.AutoExclusaoVerificacaoDTO;
+import br.com.fiap.aposta_apoio.event.UsuarioAlteradoEvent;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.AutoExclusao;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.AutoExclusaoRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Registro de autoexclusão, consultado pelos operadores de apostas antes de aceitar uma aposta.
+ * O banco é a fonte da verdade; as consultas são respondidas por um CpfOffHeapSet, sem ir ao banco
+ * e sem alocar objetos por CPF. Na inicialização o conjunto é aberto a partir do snapshot em disco
+ * (mapeado em memória, disponível antes de qualquer leitura do banco) e em seguida reconstruído do banco;
+ * a reconstrução se repete periodicamente e grava um novo snapshot.
+ * Inclusões e revogações são aplicadas ao conjunto após o commit. A troca de CPF de um usuário autoexcluído
+ * inclui o novo CPF na hora; o anterior só sai na próxima reconstrução.
+ */
+@Service
+public class AutoExclusaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutoExclusaoService.class);
+
+    private final AutoExclusaoRepository repository;
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate leitura;
+    private final Path snapshot;
+    private final int maxCpfsVerificacao;
+    // Serializa a reconstrução com os ajustes pós-commit, para que nenhum ajuste caia no conjunto descartado
+    private final ReentrantLock recarga = new ReentrantLock();
+    private volatile CpfOffHeapSet conjunto = new CpfOffHeapSet(0);
+
+    public AutoExclusaoService(AutoExclusaoRepository repository,
+                               UsuarioRepository usuarioRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${api.autoexclusao.snapshot.arquivo:autoexclusao.snapshot}") Path snapshot,
+                               @Value("${api.autoexclusao.verificacao.max-cpfs:10000}") int maxCpfsVerificacao) {
+        this.repository = repository;
+        this.usuarioRepository = usuarioRepository;
+        this.leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.leitura.setReadOnly(true);
+        this.snapshot = snapshot;
+        this.maxCpfsVerificacao = maxCpfsVerificacao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (Files.exists(snapshot)) {
+            try {
+                conjunto = CpfOffHeapSet.carregar(snapshot);
+            } catch (IOException e) {
+                log.warn("Snapshot de autoexclusão ignorado ({}): {}", snapshot, e.getMessage());
+            }
+        }
+        reconciliar();
+    }
+
+    /**
+     * Reconstrói o conjunto a partir do banco e grava o snapshot.
+     */
+    @Scheduled(fixedDelayString = "${api.autoexclusao.reconciliacao-ms:600000}",
+               initialDelayString = "${api.autoexclusao.reconciliacao-ms:600000}")
+    public void reconciliar() {
+        recarga.lock();
+        try {
+            CpfOffHeapSet novo = new CpfOffHeapSet((int) repository.count());
+            leitura.executeWithoutResult(status -> {
+                try (Stream<String> cpfs = repository.streamCpfs()) {
+                    cpfs.mapToLong(Cpf::compactar).filter(cpf -> cpf >= 0).forEach(novo::adicionar);
+                }
+            });
+            conjunto = novo;
+        } finally {
+            recarga.unlock();
+        }
+        gravarSnapshot();
+    }
+
+    @PreDestroy
+    public void gravarSnapshot() {
+        try {
+            conjunto.gravar(snapshot);
+        } catch (IOException e) {
+            log.warn("Não foi possível gravar o snapshot de autoexclusão ({}): {}", snapshot, e.getMessage());
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException se o usuário não existir
+     * @throws IllegalStateException    se o usuário já estiver autoexcluído
+     */
+    @Transactional
+    public AutoExclusaoDTO registrar(Long usuarioId) {
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+        if (repository.existsById(usuarioId)) {
+            throw new IllegalStateException("Usuário já está autoexcluído");
+        }
+        AutoExclusao salva = repository.save(new AutoExclusao(null, usuario, LocalDateTime.now()));
+        aposCommit(Cpf.compactar(usuario.getCpf()), cpf -> conjunto.adicionar(cpf));
+        return new AutoExclusaoDTO(salva.getUsuarioId(), salva.getDataInicio());
+    }
+
+    /**
+     * @throws IllegalArgumentException se o usuário não estiver autoexcluído
+     */
+    @Transactional
+    public void revogar(Long usuarioId) {
+        AutoExclusao autoExclusao = repository.findById(usuarioId)
+                .orElseThrow(() -> new IllegalArgumentException("Autoexclusão não encontrada"));
+        long cpf = Cpf.compactar(autoExclusao.getUsuario().getCpf());
+        repository.delete(autoExclusao);
+        aposCommit(cpf, valor -> conjunto.remover(valor));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent evento) {
+        if (evento.tipo() == UsuarioAlteradoEvent.Tipo.ATUALIZADO) {
+            repository.findCpfByUsuarioId(evento.id())
+                    .ifPresent(cpf -> aplicar(Cpf.compactar(cpf), valor -> conjunto.adicionar(valor)));
+        }
+    }
+
+    /**
+     * @throws ParametroInvalidoException se o CPF não tiver 11 dígitos
+     */
+    public boolean estaAutoexcluido(String cpf) {
+        long valor = Cpf.compactar(cpf);
+        if (valor < 0) {
+            throw new ParametroInvalidoException("CPF deve conter 11 dígitos.");
+        }
+        return conjunto.contem(valor);
+    }
+
+    /**
+     * Verifica vários CPFs de uma vez; CPFs em formato inválido são devolvidos à parte, sem falhar o lote.
+     *
+     * @throws ParametroInvalidoException se a lista estiver vazia ou exceder o limite
+     */
+    public AutoExclusaoVerificacaoDTO verificar(List<String> cpfs) {
+        if (cpfs == null || cpfs.isEmpty()) {
+            throw new ParametroInvalidoException("Informe ao menos um CPF.");
+        }
+        if (cpfs.size() > maxCpfsVerificacao) {
+            throw new ParametroInvalidoException("A verificação excede o limite de " + maxCpfsVerificacao + " CPFs.");
+        }
+        CpfOffHeapSet atual = conjunto;
+        List<String> autoexcluidos = new ArrayList<>();
+        List<String> invalidos = new ArrayList<>();
+        for (String cpf : cpfs) {
+            long valor = Cpf.compactar(cpf);
+            if (valor < 0) {
+                invalidos.add(cpf);
+            } else if (atual.contem(valor)) {
+                autoexcluidos.add(Cpf.descompactar(valor));
+            }
+        }
+        return new AutoExclusaoVerificacaoDTO(cpfs.size(), autoexcluidos, invalidos);
+    }
+
+    public int getQuantidade() {
+        return conjunto.getQuantidade();
+    }
+
+    private void aposCommit(long cpf, LongConsumer ajuste) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(cpf, ajuste);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aplicar(cpf, ajuste);
+            }
+        });
+    }
+
+    private void aplicar(long cpf, LongConsumer ajuste) {
+        if (cpf < 0) {
+            return;
+        }
+        recarga.lock();
+        try {
+            ajuste.accept(cpf);
+        } finally {
+            recarga.unlock();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.NomeIndexadoDTO;
+import br.com.fiap.aposta_apoio.event.ProfissionalAlteradoEvent;
+import br.com.fiap.aposta_apoio.event.UsuarioAlteradoEvent;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Mantém os índices de trigramas dos nomes de usuários e profissionais.
+ * Os índices são carregados na inicialização e atualizados pelos eventos de alteração,
+ * aplicados somente após o commit da escrita.
+ */
+@Service
+public class BuscaNomeService {
+
+    private static final int TAMANHO_MINIMO_CONSULTA = 2;
+
+    private final UsuarioRepository usuarioRepository;
+    private final ProfissionalRepository profissionalRepository;
+    private final TrigramIndex usuarios = new TrigramIndex();
+    private final TrigramIndex profissionais = new TrigramIndex();
+
+    public BuscaNomeService(UsuarioRepository usuarioRepository, ProfissionalRepository profissionalRepository) {
+        this.usuarioRepository = usuarioRepository;
+        this.profissionalRepository = profissionalRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        carregar(usuarios, usuarioRepository.findAllNomes());
+        carregar(profissionais, profissionalRepository.findAllNomes());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent evento) {
+        switch (evento.tipo()) {
+            case REMOVIDO -> usuarios.remover(evento.id());
+            case CRIADO, ATUALIZADO -> usuarioRepository.findNomeById(evento.id())
+                    .ifPresent(nome -> usuarios.indexar(evento.id(), nome));
+            default -> { }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfissionalAlterado(ProfissionalAlteradoEvent evento) {
+        if (evento.tipo() == ProfissionalAlteradoEvent.Tipo.REMOVIDO) {
+            profissionais.remover(evento.id());
+        } else {
+            profissionais.indexar(evento.id(), evento.nome());
+        }
+    }
+
+    /**
+     * Indexa usuários inseridos em lote (fora do JPA), após o commit da transação corrente.
+     */
+    public void indexarUsuarios(List<NomeIndexadoDTO> novos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            novos.forEach(u -> usuarios.indexar(u.id(), u.nome()));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                novos.forEach(u -> usuarios.indexar(u.id(), u.nome()));
+            }
+        });
+    }
+
+    public TrigramIndex.Resultado buscarUsuarios(String nome, Pageable pageable) {
+        return buscar(usuarios, nome, pageable);
+    }
+
+    public TrigramIndex.Resultado buscarProfissionais(String nome, Pageable pageable) {
+        return buscar(profissionais, nome, pageable);
+    }
+
+    public int getUsuariosIndexados() {
+        return usuarios.getDocumentos();
+    }
+
+    public int getProfissionaisIndexados() {
+        return profissionais.getDocumentos();
+    }
+
+    public long getBytesPostings() {
+        return usuarios.getBytesPostings() + profissionais.getBytesPostings();
+    }
+
+    private TrigramIndex.Resultado buscar(TrigramIndex indice, String nome, Pageable pageable) {
+        if (TrigramIndex.normalizar(nome).replace(" ", "").length() < TAMANHO_MINIMO_CONSULTA) {
+            throw new ParametroInvalidoException("Informe ao menos " + TAMANHO_MINIMO_CONSULTA + " letras do nome.");
+        }
+        return indice.buscar(nome, (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE), pageable.getPageSize());
+    }
+
+    private void carregar(TrigramIndex indice, List<NomeIndexadoDTO> nomes) {
+        indice.limpar();
+        for (NomeIndexadoDTO item : nomes) {
+            indice.indexar(item.id(), item.nome());
+        }
+    }
+}
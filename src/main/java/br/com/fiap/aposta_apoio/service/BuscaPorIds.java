@@ -0,0 +1,65 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.BuscaPorIdsDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Apoio às consultas de vários registros por id (GET /usuarios?ids=..., GET /profissionais?ids=...),
+ * resolvidas com uma única consulta IN em vez de uma requisição por id.
+ */
+public final class BuscaPorIds {
+
+    private BuscaPorIds() {
+    }
+
+    /**
+     * Remove ids repetidos, mantendo a ordem da primeira ocorrência.
+     *
+     * @throws ParametroInvalidoException se a lista estiver vazia, tiver ids nulos ou exceder o máximo
+     */
+    public static List<Long> distintos(List<Long> ids, int maximo) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ParametroInvalidoException("Informe ao menos um id.");
+        }
+        LinkedHashSet<Long> distintos = new LinkedHashSet<>(ids.size() * 2);
+        for (Long id : ids) {
+            if (id == null) {
+                throw new ParametroInvalidoException("A lista de ids não pode conter valores vazios.");
+            }
+            distintos.add(id);
+        }
+        if (distintos.size() > maximo) {
+            throw new ParametroInvalidoException("A consulta excede o limite de " + maximo + " ids.");
+        }
+        return new ArrayList<>(distintos);
+    }
+
+    /**
+     * Ordena os registros encontrados conforme {@code ids} e lista os ids ausentes.
+     */
+    public static <E, D> BuscaPorIdsDTO<D> montar(List<Long> ids, Iterable<E> encontrados,
+                                                  Function<E, Long> id, Function<E, D> dto) {
+        Map<Long, E> porId = new HashMap<>();
+        for (E entidade : encontrados) {
+            porId.put(id.apply(entidade), entidade);
+        }
+        List<D> conteudo = new ArrayList<>(porId.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long valor : ids) {
+            E entidade = porId.get(valor);
+            if (entidade == null) {
+                naoEncontrados.add(valor);
+            } else {
+                conteudo.add(dto.apply(entidade));
+            }
+        }
+        return new BuscaPorIdsDTO<>(conteudo, naoEncontrados);
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.CargaProfissionalDTO;
+import br.com.fiap.aposta_apoio.dto.ProfissionalCepDTO;
+import br.com.fiap.aposta_apoio.event.ProfissionalAlteradoEvent;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Carga de cada profissional (sessões futuras), usada para atribuir automaticamente o profissional
+ * menos ocupado de uma especialidade. Cada especialidade tem um ConcurrentSkipListSet ordenado por
+ * carga e id: a escolha é o primeiro elemento e cada ajuste é uma remoção e uma inserção, O(log n),
+ * sem consulta agregada ao banco. As contagens são ajustadas pelo SessaoApoioService e pelo agendamento
+ * em lote após o commit, e recalculadas periodicamente (sessões que ficaram no passado saem da carga).
+ */
+@Service
+public class CargaProfissionalService {
+
+    /** Posição de um profissional na fila da especialidade; menor carga primeiro, empate pelo menor id. */
+    public record Carga(long pendentes, long profissionalId) implements Comparable<Carga> {
+        @Override
+        public int compareTo(Carga outra) {
+            int porCarga = Long.compare(pendentes, outra.pendentes);
+            return porCarga != 0 ? porCarga : Long.compare(profissionalId, outra.profissionalId);
+        }
+    }
+
+    private record Posicao(Especialidade especialidade, Carga carga) {}
+
+    private final ProfissionalRepository profissionalRepository;
+    private final SessaoApoioRepository sessaoRepository;
+    private final Map<Especialidade, ConcurrentSkipListSet<Carga>> filas = new EnumMap<>(Especialidade.class);
+    private final ConcurrentHashMap<Long, Posicao> posicoes = new ConcurrentHashMap<>();
+
+    public CargaProfissionalService(ProfissionalRepository profissionalRepository, SessaoApoioRepository sessaoRepository) {
+        this.profissionalRepository = profissionalRepository;
+        this.sessaoRepository = sessaoRepository;
+        for (Especialidade especialidade : Especialidade.values()) {
+            filas.put(especialidade, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    /**
+     * Profissionais da especialidade do menos ao mais ocupado. A iteração é fracamente consistente:
+     * um profissional sendo ajustado naquele instante pode ser omitido.
+     */
+    public Iterable<Carga> candidatos(Especialidade especialidade) {
+        return filas.get(especialidade);
+    }
+
+    /**
+     * Ajusta a carga do profissional em {@code delta} se a sessão for futura. Dentro de uma transação,
+     * o ajuste só é aplicado após o commit.
+     */
+    public void registrar(Long profissionalId, LocalDateTime dataHora, int delta) {
+        if (!dataHora.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ajustar(profissionalId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ajustar(profissionalId, delta);
+            }
+        });
+    }
+
+    public void registrarLote(List<SessaoApoio> criadas) {
+        for (SessaoApoio sessao : criadas) {
+            registrar(sessao.getProfissional().getId(), sessao.getDataHora(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfissionalAlterado(ProfissionalAlteradoEvent evento) {
+        if (evento.tipo() == ProfissionalAlteradoEvent.Tipo.REMOVIDO) {
+            posicoes.computeIfPresent(evento.id(), (id, posicao) -> {
+                filas.get(posicao.especialidade()).remove(posicao.carga());
+                return null;
+            });
+        } else {
+            posicionar(evento.id(), evento.especialidade(), null);
+        }
+    }
+
+    /**
+     * Recalcula a carga de todos os profissionais com uma consulta agrupada (na inicialização e periodicamente).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${api.atribuicao.reconciliacao-ms:300000}",
+               initialDelayString = "${api.atribuicao.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        Map<Long, Long> pendentes = new HashMap<>();
+        for (CargaProfissionalDTO carga : sessaoRepository.countPendentesPorProfissional(LocalDateTime.now())) {
+            pendentes.put(carga.profissionalId(), carga.pendentes());
+        }
+        Set<Long> existentes = new HashSet<>();
+        for (ProfissionalCepDTO profissional : profissionalRepository.findAllCeps()) {
+            existentes.add(profissional.id());
+            posicionar(profissional.id(), profissional.especialidade(), pendentes.getOrDefault(profissional.id(), 0L));
+        }
+        for (Long id : new ArrayList<>(posicoes.keySet())) {
+            if (!existentes.contains(id)) {
+                onProfissionalAlterado(new ProfissionalAlteradoEvent(id, null, null, null, ProfissionalAlteradoEvent.Tipo.REMOVIDO));
+            }
+        }
+    }
+
+    public long getCarga(Long profissionalId) {
+        Posicao posicao = posicoes.get(profissionalId);
+        return posicao == null ? 0 : posicao.carga().pendentes();
+    }
+
+    public int getProfissionais() {
+        return posicoes.size();
+    }
+
+    private void ajustar(Long profissionalId, int delta) {
+        posicoes.computeIfPresent(profissionalId, (id, posicao) -> {
+            Carga nova = new Carga(Math.max(0, posicao.carga().pendentes() + delta), id);
+            ConcurrentSkipListSet<Carga> fila = filas.get(posicao.especialidade());
+            fila.remove(posicao.carga());
+            fila.add(nova);
+            return new Posicao(posicao.especialidade(), nova);
+        });
+    }
+
+    /**
+     * Coloca o profissional na fila da especialidade, mantendo a carga atual quando {@code pendentes} é null.
+     * O compute serializa as alterações de um mesmo profissional.
+     */
+    private void posicionar(Long profissionalId, Especialidade especialidade, Long pendentes) {
+        posicoes.compute(profissionalId, (id, posicao) -> {
+            long carga = pendentes != null ? pendentes : posicao != null ? posicao.carga().pendentes() : 0;
+            if (posicao != null) {
+                filas.get(posicao.especialidade()).remove(posicao.carga());
+            }
+            Carga nova = new Carga(carga, id);
+            filas.get(especialidade).add(nova);
+            return new Posicao(especialidade, nova);
+        });
+    }
+}
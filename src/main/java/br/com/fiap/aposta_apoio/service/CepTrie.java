@@ -0,0 +1,252 @@
+package br.com.fiap.aposta_apoio.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Árvore de prefixos (trie) dos 8 dígitos do CEP, para localizar os ids mais próximos de um CEP.
+ * A proximidade é o tamanho do prefixo em comum: CEPs que compartilham mais dígitos iniciais estão
+ * na mesma região, setor e subsetor. Entre ids com o mesmo prefixo em comum, vêm antes os de CEP
+ * numericamente mais próximo. Cada nó guarda quantos ids existem abaixo dele, o que permite pular
+ * ramos vazios; as folhas guardam os ids em long[] (sem boxing).
+ * Seguro para uso concorrente: leituras compartilham uma trava de leitura.
+ */
+public final class CepTrie {
+
+    /** Resultado de uma consulta: ids em ordem de proximidade e quantos dígitos cada um tem em comum com o CEP consultado. */
+    public record Resultado(long[] ids, int[] digitosEmComum) {}
+
+    private static final int DIGITOS = 8;
+
+    private final No raiz = new No();
+    private final Map<Long, int[]> ceps = new HashMap<>();
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa (ou move) o id para o CEP informado. CEPs que não têm 8 dígitos apenas removem o id.
+     */
+    public void indexar(long id, String cep) {
+        int[] digitos = digitos(cep);
+        trava.writeLock().lock();
+        try {
+            int[] anterior = digitos == null ? ceps.remove(id) : ceps.put(id, digitos);
+            if (anterior != null) {
+                removerDaFolha(anterior, id);
+            }
+            if (digitos != null) {
+                adicionarNaFolha(digitos, id);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        trava.writeLock().lock();
+        try {
+            int[] anterior = ceps.remove(id);
+            if (anterior != null) {
+                removerDaFolha(anterior, id);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta todo o conteúdo (usado antes de uma recarga completa).
+     */
+    public void limpar() {
+        trava.writeLock().lock();
+        try {
+            raiz.filhos = null;
+            raiz.total = 0;
+            ceps.clear();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna até {@code limite} ids mais próximos do CEP. Desce pelo caminho do CEP até onde a árvore
+     * permitir e, a partir do nó mais profundo, sobe um nível por vez coletando os ramos vizinhos.
+     */
+    public Resultado proximos(String cep, int limite) {
+        int[] digitos = digitos(cep);
+        if (digitos == null || limite <= 0) {
+            return new Resultado(new long[0], new int[0]);
+        }
+        trava.readLock().lock();
+        try {
+            No[] caminho = new No[DIGITOS + 1];
+            caminho[0] = raiz;
+            int profundidade = 0;
+            while (profundidade < DIGITOS) {
+                No filho = caminho[profundidade].filho(digitos[profundidade]);
+                if (filho == null || filho.total == 0) {
+                    break;
+                }
+                caminho[++profundidade] = filho;
+            }
+
+            Coletor coletor = new Coletor(Math.min(limite, raiz.total));
+            if (profundidade == DIGITOS) {
+                coletor.adicionar(caminho[DIGITOS], DIGITOS);
+            }
+            for (int nivel = Math.min(profundidade, DIGITOS - 1); nivel >= 0 && !coletor.cheio(); nivel--) {
+                coletarVizinhos(caminho[nivel], digitos, nivel, coletor);
+            }
+            return coletor.resultado();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public int getTamanho() {
+        trava.readLock().lock();
+        try {
+            return raiz.total;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mantém apenas os dígitos; retorna null se não sobrarem exatamente 8.
+     */
+    static int[] digitos(String cep) {
+        if (cep == null) {
+            return null;
+        }
+        int[] digitos = new int[DIGITOS];
+        int quantidade = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (quantidade == DIGITOS) {
+                    return null;
+                }
+                digitos[quantidade++] = c - '0';
+            }
+        }
+        return quantidade == DIGITOS ? digitos : null;
+    }
+
+    /**
+     * Coleta os filhos de {@code no} exceto o do próprio CEP (já coletado ou inexistente), do dígito mais
+     * próximo ao mais distante. Ramos acima do CEP são percorridos em ordem crescente e ramos abaixo em
+     * ordem decrescente, para que os primeiros coletados sejam os numericamente mais próximos.
+     */
+    private static void coletarVizinhos(No no, int[] digitos, int nivel, Coletor coletor) {
+        int digito = digitos[nivel];
+        boolean acimaPrimeiro = nivel + 1 < DIGITOS && digitos[nivel + 1] >= 5;
+        for (int distancia = 1; distancia <= 9 && !coletor.cheio(); distancia++) {
+            int acima = digito + distancia;
+            int abaixo = digito - distancia;
+            if (acimaPrimeiro) {
+                coletarRamo(no.filho(acima), true, nivel, coletor);
+                coletarRamo(no.filho(abaixo), false, nivel, coletor);
+            } else {
+                coletarRamo(no.filho(abaixo), false, nivel, coletor);
+                coletarRamo(no.filho(acima), true, nivel, coletor);
+            }
+        }
+    }
+
+    private static void coletarRamo(No no, boolean crescente, int emComum, Coletor coletor) {
+        if (no == null || no.total == 0 || coletor.cheio()) {
+            return;
+        }
+        if (no.ids != null) {
+            coletor.adicionar(no, emComum);
+            return;
+        }
+        for (int i = 0; i < 10 && !coletor.cheio(); i++) {
+            coletarRamo(no.filho(crescente ? i : 9 - i), crescente, emComum, coletor);
+        }
+    }
+
+    private void adicionarNaFolha(int[] digitos, long id) {
+        No no = raiz;
+        no.total++;
+        for (int digito : digitos) {
+            no = no.filhoOuNovo(digito);
+            no.total++;
+        }
+        if (no.ids == null) {
+            no.ids = new long[2];
+        } else if (no.total > no.ids.length) {
+            no.ids = Arrays.copyOf(no.ids, no.ids.length * 2);
+        }
+        no.ids[no.total - 1] = id;
+    }
+
+    private void removerDaFolha(int[] digitos, long id) {
+        No[] caminho = new No[DIGITOS + 1];
+        caminho[0] = raiz;
+        for (int i = 0; i < DIGITOS; i++) {
+            caminho[i + 1] = caminho[i].filho(digitos[i]);
+        }
+        No folha = caminho[DIGITOS];
+        for (int i = 0; i < folha.total; i++) {
+            if (folha.ids[i] == id) {
+                folha.ids[i] = folha.ids[folha.total - 1];
+                for (No no : caminho) {
+                    no.total--;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Nó da árvore. Nós internos têm filhos; folhas (profundidade 8) têm ids, os primeiros {@code total} válidos.
+     */
+    private static final class No {
+        private No[] filhos;
+        private long[] ids;
+        private int total;
+
+        private No filho(int digito) {
+            return filhos == null || digito < 0 || digito > 9 ? null : filhos[digito];
+        }
+
+        private No filhoOuNovo(int digito) {
+            if (filhos == null) {
+                filhos = new No[10];
+            }
+            if (filhos[digito] == null) {
+                filhos[digito] = new No();
+            }
+            return filhos[digito];
+        }
+    }
+
+    private static final class Coletor {
+        private final long[] ids;
+        private final int[] emComum;
+        private int quantidade;
+
+        private Coletor(int limite) {
+            ids = new long[limite];
+            emComum = new int[limite];
+        }
+
+        private boolean cheio() {
+            return quantidade == ids.length;
+        }
+
+        private void adicionar(No folha, int digitosEmComum) {
+            for (int i = 0; i < folha.total && !cheio(); i++) {
+                ids[quantidade] = folha.ids[i];
+                emComum[quantidade++] = digitosEmComum;
+            }
+        }
+
+        private Resultado resultado() {
+            return new Resultado(Arrays.copyOf(ids, quantidade), Arrays.copyOf(emComum, quantidade));
+        }
+    }
+}
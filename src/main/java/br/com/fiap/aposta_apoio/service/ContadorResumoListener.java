@@ -0,0 +1,30 @@
+package br.com.fiap.aposta_apoio.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que mantém os contadores do resumo atualizados em inclusões e remoções.
+ * O serviço é obtido de forma tardia para não criar dependência circular com o EntityManagerFactory.
+ */
+@Component
+public class ContadorResumoListener {
+
+    private final ObjectProvider<ContadorResumoService> contadorResumoService;
+
+    public ContadorResumoListener(ObjectProvider<ContadorResumoService> contadorResumoService) {
+        this.contadorResumoService = contadorResumoService;
+    }
+
+    @PostPersist
+    public void aposInclusao(Object entidade) {
+        contadorResumoService.getObject().ajustar(entidade.getClass(), 1);
+    }
+
+    @PostRemove
+    public void aposRemocao(Object entidade) {
+        contadorResumoService.getObject().ajustar(entidade.getClass(), -1);
+    }
+}
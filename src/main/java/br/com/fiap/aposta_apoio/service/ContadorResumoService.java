@@ -0,0 +1,103 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.ResumoDTO;
+import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores em memória para o resumo do dashboard.
+ * Evita três COUNT(*) por chamada: os totais são carregados na inicialização, ajustados pelos
+ * listeners de entidade (somente após o commit) e reconciliados periodicamente com o banco.
+ */
+@Service
+public class ContadorResumoService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final ProfissionalRepository profissionalRepository;
+    private final SessaoApoioRepository sessaoApoioRepository;
+
+    private final AtomicLong usuarios = new AtomicLong();
+    private final AtomicLong profissionais = new AtomicLong();
+    private final AtomicLong sessoes = new AtomicLong();
+    private final Map<Class<?>, AtomicLong> contadores = Map.of(
+            Usuario.class, usuarios,
+            Profissional.class, profissionais,
+            SessaoApoio.class, sessoes);
+
+    private final LongAdder divergencias = new LongAdder();
+    private volatile boolean inicializado;
+
+    public ContadorResumoService(UsuarioRepository usuarioRepository,
+                                 ProfissionalRepository profissionalRepository,
+                                 SessaoApoioRepository sessaoApoioRepository) {
+        this.usuarioRepository = usuarioRepository;
+        this.profissionalRepository = profissionalRepository;
+        this.sessaoApoioRepository = sessaoApoioRepository;
+    }
+
+    public ResumoDTO resumo() {
+        if (!inicializado) {
+            reconciliar();
+        }
+        return new ResumoDTO(usuarios.get(), profissionais.get(), sessoes.get());
+    }
+
+    /**
+     * Ajusta o contador da entidade. Dentro de uma transação o ajuste só é aplicado após o commit,
+     * para que rollbacks não deixem o contador adiantado.
+     */
+    public void ajustar(Class<?> entidade, long delta) {
+        AtomicLong contador = contadores.get(entidade);
+        if (contador == null || delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contador.addAndGet(delta);
+                }
+            });
+        } else {
+            contador.addAndGet(delta);
+        }
+    }
+
+    /**
+     * Recarrega os totais do banco. Executado na inicialização e em intervalo fixo,
+     * corrigindo qualquer desvio (ex.: alterações feitas diretamente no banco).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${api.dashboard.contadores.reconciliacao-ms:300000}",
+               initialDelayString = "${api.dashboard.contadores.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        atualizar(usuarios, usuarioRepository.count());
+        atualizar(profissionais, profissionalRepository.count());
+        atualizar(sessoes, sessaoApoioRepository.count());
+        inicializado = true;
+    }
+
+    private void atualizar(AtomicLong contador, long total) {
+        if (contador.getAndSet(total) != total && inicializado) {
+            divergencias.increment();
+        }
+    }
+
+    public long getDivergencias() {
+        return divergencias.sum();
+    }
+}
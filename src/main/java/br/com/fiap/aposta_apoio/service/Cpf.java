@@ -0,0 +1,92 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Normalização do CPF para a forma gravada no banco: apenas os 11 dígitos.
+ * "123.456.789-01" e "12345678901" viram o mesmo valor, o que permite o índice único em usuario.cpf
+ * e a busca por igualdade nele. Os dígitos verificadores não são conferidos.
+ */
+public final class Cpf {
+
+    public static final int DIGITOS = 11;
+
+    private Cpf() {
+    }
+
+    /**
+     * Indica se a violação foi do índice único de CPF, pelo nome da constraint que o Hibernate extrai
+     * do erro do banco. O MySQL o qualifica com a tabela ("usuario.uk_usuario_cpf") e o H2 com o schema e
+     * o sufixo do índice que cria para a constraint ("PUBLIC.UK_USUARIO_CPF_INDEX_2").
+     */
+    public static boolean violouIndiceUnico(DataIntegrityViolationException e) {
+        for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null) {
+                String nome = violacao.getConstraintName().toLowerCase(Locale.ROOT);
+                nome = nome.substring(nome.lastIndexOf('.') + 1);
+                return nome.equals(Usuario.INDICE_CPF) || nome.startsWith(Usuario.INDICE_CPF + "_index_");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove a pontuação (pontos, hífen e espaços) do CPF.
+     *
+     * @throws ParametroInvalidoException se houver outros caracteres ou não restarem exatamente 11 dígitos
+     */
+    public static String normalizar(String cpf) {
+        if (cpf == null) {
+            throw new ParametroInvalidoException("CPF é obrigatório.");
+        }
+        StringBuilder digitos = new StringBuilder(DIGITOS);
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            } else if (c != '.' && c != '-' && c != ' ') {
+                throw new ParametroInvalidoException("CPF deve conter apenas dígitos, pontos e hífen.");
+            }
+        }
+        if (digitos.length() != DIGITOS) {
+            throw new ParametroInvalidoException("CPF deve conter 11 dígitos.");
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * CPF como long (os 11 dígitos), aceitando a mesma pontuação de {@link #normalizar}, sem alocar objetos.
+     *
+     * @return o número do CPF, ou -1 se for inválido
+     */
+    public static long compactar(CharSequence cpf) {
+        if (cpf == null) {
+            return -1;
+        }
+        long valor = 0;
+        int digitos = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > DIGITOS) {
+                    return -1;
+                }
+                valor = valor * 10 + (c - '0');
+            } else if (c != '.' && c != '-' && c != ' ') {
+                return -1;
+            }
+        }
+        return digitos == DIGITOS ? valor : -1;
+    }
+
+    /** Inverso de {@link #compactar}: os 11 dígitos, com zeros à esquerda. */
+    public static String descompactar(long cpf) {
+        String digitos = Long.toString(cpf);
+        return "0".repeat(DIGITOS - digitos.length()) + digitos;
+    }
+}
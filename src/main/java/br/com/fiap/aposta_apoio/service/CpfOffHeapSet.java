@@ -0,0 +1,296 @@
+package br.com.fiap.aposta_apoio.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto de CPFs (como long) fora do heap, para consultas de pertinência em alta frequência.
+ * Tabela de endereçamento aberto com sondagem linear (ocupação máxima de 50%) precedida de um filtro
+ * de Bloom blocado: os 4 bits de cada CPF ficam na mesma palavra de 64 bits, então um CPF ausente
+ * costuma ser descartado com um único acesso a uma área 8 vezes menor que a tabela. A consulta não
+ * aloca objetos nem usa trava.
+ * Tabela e filtro ficam em um único ByteBuffer (direto ou mapeado de um snapshot), no formato:
+ * cabeçalho de 32 bytes, {@code capacidade} longs da tabela e {@code capacidade / 8} longs do filtro.
+ * Escritas são serializadas por uma trava e publicadas às leituras pela escrita volátil da tabela.
+ * Remoções deixam uma marca na tabela e não limpam o filtro; ambos são refeitos quando a tabela cresce.
+ */
+public final class CpfOffHeapSet {
+
+    private static final long MAGICO = 0x4150415F43504631L; // "APA_CPF1"
+    private static final int FORMATO = 1;
+    private static final int CABECALHO = 32;
+    private static final int CAPACIDADE_MINIMA = 64;
+    private static final int CAPACIDADE_MAXIMA = 1 << 27;
+    private static final long MAIOR_CPF = 99_999_999_999L;
+
+    /** Posição livre; os CPFs são gravados somados de 1 para que o CPF 0 não se confunda com ela. */
+    private static final long VAZIO = 0;
+    private static final long REMOVIDO = -1;
+
+    private final ReentrantLock escrita = new ReentrantLock();
+    private volatile Tabela tabela;
+
+    public CpfOffHeapSet(int quantidadeEsperada) {
+        this.tabela = Tabela.nova(capacidadePara(quantidadeEsperada));
+    }
+
+    private CpfOffHeapSet(Tabela tabela) {
+        this.tabela = tabela;
+    }
+
+    /**
+     * Abre um snapshot gravado por {@link #gravar(Path)}. O arquivo é mapeado em modo privado: as páginas
+     * são lidas sob demanda e as alterações posteriores ficam apenas na memória, sem modificar o arquivo.
+     *
+     * @throws IOException se o arquivo não puder ser lido ou não for um snapshot válido
+     */
+    public static CpfOffHeapSet carregar(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long tamanho = canal.size();
+            if (tamanho < CABECALHO || tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot de CPFs com tamanho inválido: " + tamanho);
+            }
+            ByteBuffer dados = canal.map(FileChannel.MapMode.PRIVATE, 0, tamanho).order(ByteOrder.nativeOrder());
+            return new CpfOffHeapSet(Tabela.abrir(dados));
+        }
+    }
+
+    /**
+     * Grava o conteúdo atual em {@code arquivo}, substituindo-o de forma atômica (arquivo temporário + move).
+     */
+    public void gravar(Path arquivo) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        escrita.lock();
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Tabela t = tabela;
+            t.gravarCabecalho();
+            ByteBuffer conteudo = t.dados.duplicate().clear();
+            while (conteudo.hasRemaining()) {
+                canal.write(conteudo);
+            }
+            canal.force(true);
+        } finally {
+            escrita.unlock();
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Verifica se o CPF (11 dígitos compactados em long, ver {@link Cpf#compactar}) está no conjunto.
+     */
+    public boolean contem(long cpf) {
+        if (cpf < 0 || cpf > MAIOR_CPF) {
+            return false;
+        }
+        long chave = cpf + 1;
+        long hash = misturar(chave);
+        Tabela t = tabela;
+        if (!t.talvezContenha(hash)) {
+            return false;
+        }
+        for (int i = (int) hash & t.mascara; ; i = (i + 1) & t.mascara) {
+            long valor = t.slot(i);
+            if (valor == chave) {
+                return true;
+            }
+            if (valor == VAZIO) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return true se o CPF foi incluído, false se já estava no conjunto
+     */
+    public boolean adicionar(long cpf) {
+        validar(cpf);
+        long chave = cpf + 1;
+        long hash = misturar(chave);
+        escrita.lock();
+        try {
+            Tabela t = tabela;
+            if (localizar(t, chave, hash) >= 0) {
+                return false;
+            }
+            if ((long) (t.quantidade + t.removidos + 1) * 2 > t.capacidade) {
+                t = t.redimensionar(capacidadePara(t.quantidade + 1));
+            }
+            t.inserir(chave, hash);
+            // Escrita volátil: publica a nova tabela (ou as posições alteradas) para as leituras
+            tabela = t;
+            return true;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * @return true se o CPF estava no conjunto
+     */
+    public boolean remover(long cpf) {
+        validar(cpf);
+        long chave = cpf + 1;
+        escrita.lock();
+        try {
+            Tabela t = tabela;
+            int posicao = localizar(t, chave, misturar(chave));
+            if (posicao < 0) {
+                return false;
+            }
+            t.gravarSlot(posicao, REMOVIDO);
+            t.quantidade--;
+            t.removidos++;
+            tabela = t;
+            return true;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public int getQuantidade() {
+        return tabela.quantidade;
+    }
+
+    /** Bytes ocupados fora do heap (tabela, filtro e cabeçalho). */
+    public long getBytes() {
+        return tabela.dados.capacity();
+    }
+
+    private static int localizar(Tabela t, long chave, long hash) {
+        for (int i = (int) hash & t.mascara; ; i = (i + 1) & t.mascara) {
+            long valor = t.slot(i);
+            if (valor == chave) {
+                return i;
+            }
+            if (valor == VAZIO) {
+                return -1;
+            }
+        }
+    }
+
+    private static void validar(long cpf) {
+        if (cpf < 0 || cpf > MAIOR_CPF) {
+            throw new IllegalArgumentException("CPF fora do intervalo de 11 dígitos: " + cpf);
+        }
+    }
+
+    /** Menor potência de 2 que mantém a ocupação em até 50%. */
+    private static int capacidadePara(int quantidade) {
+        long necessaria = Math.max(CAPACIDADE_MINIMA, (long) quantidade * 2);
+        if (necessaria > CAPACIDADE_MAXIMA) {
+            throw new IllegalStateException("Conjunto de CPFs excede a capacidade máxima de " + CAPACIDADE_MAXIMA / 2);
+        }
+        return Integer.highestOneBit((int) necessaria - 1) << 1;
+    }
+
+    /** Finalizador do MurmurHash3 (fmix64): espalha os bits dos CPFs, que são sequenciais em faixas. */
+    private static long misturar(long chave) {
+        long h = chave;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Tabela {
+        private final ByteBuffer dados;
+        private final int capacidade;
+        private final int mascara;
+        private final int mascaraFiltro;
+        private final int inicioFiltro;
+        private int quantidade;
+        private int removidos;
+
+        private Tabela(ByteBuffer dados, int capacidade) {
+            this.dados = dados;
+            this.capacidade = capacidade;
+            this.mascara = capacidade - 1;
+            this.mascaraFiltro = capacidade / 8 - 1;
+            this.inicioFiltro = CABECALHO + capacidade * 8;
+        }
+
+        private static Tabela nova(int capacidade) {
+            ByteBuffer dados = ByteBuffer.allocateDirect(CABECALHO + capacidade * 8 + capacidade)
+                    .order(ByteOrder.nativeOrder());
+            Tabela tabela = new Tabela(dados, capacidade);
+            tabela.gravarCabecalho();
+            return tabela;
+        }
+
+        private static Tabela abrir(ByteBuffer dados) throws IOException {
+            int capacidade = dados.getInt(12);
+            if (dados.getLong(0) != MAGICO || dados.getInt(8) != FORMATO
+                    || capacidade < CAPACIDADE_MINIMA || capacidade > CAPACIDADE_MAXIMA
+                    || Integer.bitCount(capacidade) != 1
+                    || dados.capacity() != CABECALHO + capacidade * 8 + capacidade) {
+                throw new IOException("Snapshot de CPFs inválido ou de formato incompatível");
+            }
+            Tabela tabela = new Tabela(dados, capacidade);
+            tabela.quantidade = dados.getInt(16);
+            tabela.removidos = dados.getInt(20);
+            return tabela;
+        }
+
+        private void gravarCabecalho() {
+            dados.putLong(0, MAGICO);
+            dados.putInt(8, FORMATO);
+            dados.putInt(12, capacidade);
+            dados.putInt(16, quantidade);
+            dados.putInt(20, removidos);
+        }
+
+        private long slot(int i) {
+            return dados.getLong(CABECALHO + i * 8);
+        }
+
+        private void gravarSlot(int i, long valor) {
+            dados.putLong(CABECALHO + i * 8, valor);
+        }
+
+        private boolean talvezContenha(long hash) {
+            long g = hash * 0x9E3779B97F4A7C15L;
+            long bits = bitsFiltro(g);
+            return (dados.getLong(inicioFiltro + ((int) (g >>> 40) & mascaraFiltro) * 8) & bits) == bits;
+        }
+
+        /** Grava o filtro antes da tabela: uma leitura concorrente nunca vê a chave sem os bits do filtro. */
+        private void inserir(long chave, long hash) {
+            long g = hash * 0x9E3779B97F4A7C15L;
+            int palavra = inicioFiltro + ((int) (g >>> 40) & mascaraFiltro) * 8;
+            dados.putLong(palavra, dados.getLong(palavra) | bitsFiltro(g));
+            int i = (int) hash & mascara;
+            while (slot(i) != VAZIO) {
+                i = (i + 1) & mascara;
+            }
+            gravarSlot(i, chave);
+            quantidade++;
+        }
+
+        private static long bitsFiltro(long g) {
+            return 1L << (g & 63) | 1L << ((g >>> 6) & 63) | 1L << ((g >>> 12) & 63) | 1L << ((g >>> 18) & 63);
+        }
+
+        /** Copia as chaves para uma tabela nova, descartando as marcas de remoção. */
+        private Tabela redimensionar(int novaCapacidade) {
+            Tabela nova = nova(novaCapacidade);
+            for (int i = 0; i < capacidade; i++) {
+                long valor = slot(i);
+                if (valor != VAZIO && valor != REMOVIDO) {
+                    nova.inserir(valor, misturar(valor));
+                }
+            }
+            nova.gravarCabecalho();
+            return nova;
+        }
+    }
+}
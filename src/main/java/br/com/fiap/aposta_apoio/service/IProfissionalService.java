@@ -1,8 +1,14 @@
 package br.com.fiap.aposta_apoio.service;
 
+import br.com.fiap.aposta_apoio.dto.BuscaPorIdsDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
 import br.com.fiap.aposta_apoio.dto.ProfissionalDTO;
+import br.com.fiap.aposta_apoio.dto.ProfissionalProximoDTO;
+import br.com.fiap.aposta_apoio.model.Especialidade;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -15,7 +21,13 @@ public interface IProfissionalService {
     ProfissionalDTO criar(ProfissionalDTO dto);
     List<ProfissionalDTO> listar();
     Page<ProfissionalDTO> listarPaginado(Pageable pageable);
+    SlicePageDTO<ProfissionalDTO> listarPorSlice(Pageable pageable);
+    CursorPageDTO<ProfissionalDTO> listarPorCursor(String cursor, int tamanho, String ordem, Sort.Direction direcao);
+    Page<ProfissionalDTO> buscar(Especialidade especialidade, String cidade, String estado, Pageable pageable);
+    Page<ProfissionalDTO> buscarPorNome(String nome, Pageable pageable);
+    List<ProfissionalProximoDTO> buscarProximos(Long usuarioId, Especialidade especialidade, int limite);
     ProfissionalDTO buscarPorId(Long id);
+    BuscaPorIdsDTO<ProfissionalDTO> buscarPorIds(List<Long> ids);
     ProfissionalDTO atualizar(Long id, ProfissionalDTO dto);
     void deletar(Long id);
 }
@@ -1,8 +1,13 @@
 package br.com.fiap.aposta_apoio.service;
 
+import br.com.fiap.aposta_apoio.dto.AtribuicaoSessaoDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
 import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoExpandidaDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -13,8 +18,12 @@ import java.util.List;
  */
 public interface ISessaoApoioService {
     SessaoApoioDTO criar(SessaoApoioDTO dto);
+    SessaoApoioDTO atribuir(AtribuicaoSessaoDTO dto);
     List<SessaoApoioDTO> listar();
     Page<SessaoApoioDTO> listarPaginado(Pageable pageable);
+    SlicePageDTO<SessaoApoioDTO> listarPorSlice(Pageable pageable);
+    Page<SessaoExpandidaDTO> listarExpandido(List<String> expand, Pageable pageable);
+    CursorPageDTO<SessaoApoioDTO> listarPorCursor(String cursor, int tamanho, String ordem, Sort.Direction direcao);
     SessaoApoioDTO buscarPorId(Long id);
     SessaoApoioDTO atualizar(Long id, SessaoApoioDTO dto);
     void deletar(Long id);
@@ -1,9 +1,15 @@
 package br.com.fiap.aposta_apoio.service;
 
+import br.com.fiap.aposta_apoio.dto.BuscaPorIdsDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
 import br.com.fiap.aposta_apoio.dto.UsuarioDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -13,9 +19,14 @@ import java.util.List;
  */
 public interface IUsuarioService {
     UsuarioDTO criar(UsuarioDTO dto);
-    List<UsuarioDTO> listar();
+    long listar(OutputStream saida) throws IOException;
     Page<UsuarioDTO> listarPaginado(Pageable pageable);
+    SlicePageDTO<UsuarioDTO> listarPorSlice(Pageable pageable);
+    CursorPageDTO<UsuarioDTO> listarPorCursor(String cursor, int tamanho, String ordem, Sort.Direction direcao);
+    Page<UsuarioDTO> buscarPorNome(String nome, Pageable pageable);
     UsuarioDTO buscarPorId(Long id);
+    BuscaPorIdsDTO<UsuarioDTO> buscarPorIds(List<Long> ids);
+    UsuarioDTO buscarPorCpf(String cpf);
     UsuarioDTO atualizar(Long id, UsuarioDTO dto);
     void deletar(Long id);
 }
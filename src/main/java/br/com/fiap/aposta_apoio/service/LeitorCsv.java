@@ -0,0 +1,101 @@
+package br.com.fiap.aposta_apoio.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro, sem carregar o arquivo em memória.
+ * Campos entre aspas podem conter vírgulas, aspas duplicadas e quebras de linha; linhas em branco são ignoradas.
+ * Um registro com mais de {@code maxCaracteres} caracteres é lido até o fim (para não perder a sincronia
+ * com os próximos), mas seu conteúdo é descartado e {@link #isExcedeuLimite()} passa a ser true.
+ * Não é seguro para uso concorrente.
+ */
+public final class LeitorCsv {
+
+    private final Reader reader;
+    private final int maxCaracteres;
+    private final StringBuilder campo = new StringBuilder();
+    private long linha = 1;
+    private long linhaInicial;
+    private boolean excedeuLimite;
+
+    public LeitorCsv(Reader reader, int maxCaracteres) {
+        this.reader = reader;
+        this.maxCaracteres = maxCaracteres;
+    }
+
+    /**
+     * Lê o próximo registro; retorna null no fim do arquivo.
+     */
+    public List<String> proximo() throws IOException {
+        int c;
+        while ((c = reader.read()) >= 0) {
+            linhaInicial = linha;
+            excedeuLimite = false;
+            campo.setLength(0);
+            List<String> campos = new ArrayList<>();
+            int caracteres = 0;
+            boolean entreAspas = false;
+            while (c >= 0) {
+                if (++caracteres > maxCaracteres) {
+                    excedeuLimite = true;
+                }
+                if (entreAspas) {
+                    if (c == '"') {
+                        int seguinte = reader.read();
+                        if (seguinte != '"') {
+                            entreAspas = false;
+                            c = seguinte;
+                            continue;
+                        }
+                        acrescentar('"');
+                    } else {
+                        if (c == '\n') {
+                            linha++;
+                        }
+                        acrescentar(c);
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == ',') {
+                    if (!excedeuLimite) {
+                        campos.add(campo.toString());
+                    }
+                    campo.setLength(0);
+                } else if (c == '\n') {
+                    linha++;
+                    break;
+                } else if (c != '\r') {
+                    acrescentar(c);
+                }
+                c = reader.read();
+            }
+            if (excedeuLimite) {
+                return List.of();
+            }
+            campos.add(campo.toString());
+            if (campos.size() > 1 || !campos.get(0).isEmpty()) {
+                return campos;
+            }
+        }
+        return null;
+    }
+
+    /** Linha do arquivo (a partir de 1) onde começou o último registro lido. */
+    public long getLinhaInicial() {
+        return linhaInicial;
+    }
+
+    /** Indica se o último registro lido excedeu o limite de caracteres e foi descartado. */
+    public boolean isExcedeuLimite() {
+        return excedeuLimite;
+    }
+
+    private void acrescentar(int c) {
+        if (!excedeuLimite) {
+            campo.append((char) c);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Paginação por cursor compartilhada pelos serviços de usuários, profissionais e sessões.
+ * O cursor é opaco para o cliente: Base64 URL-safe de "campo, direção, id, valor" da última linha
+ * entregue. Campo e direção são conferidos na volta, para impedir que um cursor seja usado
+ * com outra ordenação.
+ */
+public final class PaginacaoPorCursor {
+
+    public static final int TAMANHO_MAXIMO = 100;
+
+    /**
+     * Campo ordenável: como ler o valor vindo do cursor e como extraí-lo de uma linha.
+     */
+    public record Campo<R>(Function<String, Object> leitor, Function<R, Object> extrator) {}
+
+    @FunctionalInterface
+    public interface Busca<R> {
+        List<R> buscar(String campo, Object ultimoValor, Long ultimoId, int limite);
+    }
+
+    private PaginacaoPorCursor() {
+    }
+
+    public static <R, T> CursorPageDTO<T> paginar(String cursor, int tamanho, String ordem, Sort.Direction direcao,
+                                                  Map<String, Campo<R>> campos, Function<R, Long> id,
+                                                  Busca<R> busca, Function<R, T> conversor) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO) {
+            throw new ParametroInvalidoException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO + ".");
+        }
+        Campo<R> campo = campos.get(ordem);
+        if (campo == null) {
+            throw new ParametroInvalidoException("Ordenação não suportada: '" + ordem + "'. Valores permitidos: "
+                    + String.join(", ", campos.keySet().stream().sorted().toList()) + ".");
+        }
+
+        Object ultimoValor = null;
+        Long ultimoId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificar(cursor);
+            if (!partes[0].equals(ordem) || !partes[1].equals(direcao.name())) {
+                throw new ParametroInvalidoException("O cursor informado pertence a outra ordenação.");
+            }
+            try {
+                ultimoId = Long.valueOf(partes[2]);
+                ultimoValor = campo.leitor().apply(partes[3]);
+            } catch (RuntimeException e) {
+                throw new ParametroInvalidoException("Cursor inválido.");
+            }
+        }
+
+        // Busca uma linha a mais apenas para saber se existe próxima página
+        List<R> linhas = busca.buscar(ordem, ultimoValor, ultimoId, tamanho + 1);
+        boolean temProxima = linhas.size() > tamanho;
+        if (temProxima) {
+            linhas = linhas.subList(0, tamanho);
+        }
+        String proximo = null;
+        if (temProxima) {
+            R ultima = linhas.get(linhas.size() - 1);
+            proximo = codificar(ordem, direcao, id.apply(ultima), campo.extrator().apply(ultima));
+        }
+        return new CursorPageDTO<>(linhas.stream().map(conversor).toList(), linhas.size(), temProxima, proximo);
+    }
+
+    static String codificar(String ordem, Sort.Direction direcao, Long id, Object valor) {
+        String bruto = ordem + '\n' + direcao.name() + '\n' + id + '\n' + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificar(String cursor) {
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = bruto.split("\n", 4);
+            if (partes.length == 4) {
+                return partes;
+            }
+        } catch (IllegalArgumentException e) {
+            // cai no erro abaixo
+        }
+        throw new ParametroInvalidoException("Cursor inválido.");
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.ProfissionalDTO;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache LRU limitado das páginas da busca de profissionais, por combinação de filtros e paginação.
+ * Qualquer escrita em profissionais invalida o cache inteiro ao fim da transação. Um contador de geração
+ * impede que uma consulta iniciada antes da invalidação grave um resultado já desatualizado.
+ */
+@Component
+public class ProfissionalBuscaCache {
+
+    /**
+     * Filtros normalizados e paginação de uma busca.
+     */
+    public record Chave(Especialidade especialidade, String cidade, String estado, Pageable pageable) {}
+
+    private final int maxEntradas;
+    private final LinkedHashMap<Chave, Page<ProfissionalDTO>> entradas;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private long geracao;
+
+    public ProfissionalBuscaCache(@Value("${api.profissionais.busca.cache.max-entradas:256}") int maxEntradas) {
+        this.maxEntradas = maxEntradas;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, Page<ProfissionalDTO>> maisAntiga) {
+                return size() > ProfissionalBuscaCache.this.maxEntradas;
+            }
+        };
+    }
+
+    /**
+     * Devolve a página em cache ou executa a consulta, guardando o resultado se nenhuma
+     * invalidação ocorreu enquanto ela executava. A consulta roda fora do monitor.
+     */
+    public Page<ProfissionalDTO> obter(Chave chave, Supplier<Page<ProfissionalDTO>> consulta) {
+        long geracaoInicial;
+        synchronized (this) {
+            Page<ProfissionalDTO> pagina = entradas.get(chave);
+            if (pagina != null) {
+                acertos.increment();
+                return pagina;
+            }
+            geracaoInicial = geracao;
+        }
+        faltas.increment();
+        Page<ProfissionalDTO> pagina = consulta.get();
+        synchronized (this) {
+            if (geracao == geracaoInicial && maxEntradas > 0) {
+                entradas.put(chave, pagina);
+            }
+        }
+        return pagina;
+    }
+
+    /**
+     * Descarta todas as páginas. Dentro de uma transação também ao seu término (commit ou rollback),
+     * para que leitores concorrentes não voltem a guardar o estado anterior à escrita e nenhuma
+     * página com dados não confirmados sobreviva a um rollback.
+     */
+    public void invalidar() {
+        limpar();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    limpar();
+                }
+            });
+        }
+    }
+
+    private synchronized void limpar() {
+        geracao++;
+        entradas.clear();
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFaltas() {
+        return faltas.sum();
+    }
+
+    public synchronized int getTamanho() {
+        return entradas.size();
+    }
+}
@@ -1,13 +1,32 @@
 package br.com.fiap.aposta_apoio.service;
 
+import br.com.fiap.aposta_apoio.dto.BuscaPorIdsDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
 import br.com.fiap.aposta_apoio.dto.ProfissionalDTO;
+import br.com.fiap.aposta_apoio.dto.ProfissionalProximoDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
+import br.com.fiap.aposta_apoio.event.ProfissionalAlteradoEvent;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Especialidade;
 import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.repository.KeysetRepository;
 import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -16,13 +35,34 @@ import java.util.stream.Collectors;
  * - SRP: responsável apenas pela lógica de negócio de profissionais
  * - OCP: aberto para extensão via interface
  * - DIP: depende de abstrações (ProfissionalRepository)
+ * Escritas invalidam o cache da busca por especialidade e localização e publicam um
+ * ProfissionalAlteradoEvent para os índices de busca por nome e de proximidade por CEP.
  */
 @Service
 public class ProfissionalService implements IProfissionalService {
+    private static final Map<String, PaginacaoPorCursor.Campo<Profissional>> CAMPOS_CURSOR = Map.of(
+            "id", new PaginacaoPorCursor.Campo<>(Long::valueOf, Profissional::getId),
+            "nome", new PaginacaoPorCursor.Campo<>(valor -> valor, Profissional::getNome));
+
     private final ProfissionalRepository repository;
+    private final SessaoRollupService rollupService;
+    private final KeysetRepository keysetRepository;
+    private final ProfissionalBuscaCache buscaCache;
+    private final BuscaNomeService buscaNomeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProximidadeProfissionalService proximidadeService;
 
-    public ProfissionalService(ProfissionalRepository repository) {
+    public ProfissionalService(ProfissionalRepository repository, SessaoRollupService rollupService,
+                               KeysetRepository keysetRepository, ProfissionalBuscaCache buscaCache,
+                               BuscaNomeService buscaNomeService, ApplicationEventPublisher eventPublisher,
+                               ProximidadeProfissionalService proximidadeService) {
         this.repository = repository;
+        this.rollupService = rollupService;
+        this.keysetRepository = keysetRepository;
+        this.buscaCache = buscaCache;
+        this.buscaNomeService = buscaNomeService;
+        this.eventPublisher = eventPublisher;
+        this.proximidadeService = proximidadeService;
     }
 
     @Override
@@ -33,6 +73,9 @@ public class ProfissionalService implements IProfissionalService {
         profissional.setEspecialidade(dto.especialidade());
         profissional.setEndereco(dto.endereco());
         Profissional salvo = repository.save(profissional);
+        buscaCache.invalidar();
+        eventPublisher.publishEvent(new ProfissionalAlteradoEvent(salvo.getId(), salvo.getNome(),
+                salvo.getEspecialidade(), salvo.getEndereco().getCep(), ProfissionalAlteradoEvent.Tipo.CRIADO));
         return toDTO(salvo);
     }
 
@@ -44,26 +87,112 @@ public class ProfissionalService implements IProfissionalService {
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
     public Page<ProfissionalDTO> listarPaginado(Pageable pageable) {
         return repository.findAll(pageable).map(this::toDTO);
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public SlicePageDTO<ProfissionalDTO> listarPorSlice(Pageable pageable) {
+        return SlicePageDTO.of(repository.findAllBy(pageable).map(this::toDTO));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public CursorPageDTO<ProfissionalDTO> listarPorCursor(String cursor, int tamanho, String ordem, Sort.Direction direcao) {
+        return PaginacaoPorCursor.paginar(cursor, tamanho, ordem, direcao, CAMPOS_CURSOR, Profissional::getId,
+                (campo, valor, ultimoId, limite) -> keysetRepository.buscarApos(Profissional.class, "e", "Profissional", campo, direcao,
+                        valor, ultimoId, limite),
+                this::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public Page<ProfissionalDTO> buscar(Especialidade especialidade, String cidade, String estado, Pageable pageable) {
+        String cidadeFiltro = cidade == null || cidade.isBlank() ? null : cidade.trim();
+        String estadoFiltro = estado == null || estado.isBlank() ? null : estado.trim().toUpperCase(Locale.ROOT);
+        if (estadoFiltro != null && estadoFiltro.length() != 2) {
+            throw new ParametroInvalidoException("Estado deve ser a sigla da UF com 2 letras.");
+        }
+        ProfissionalBuscaCache.Chave chave = new ProfissionalBuscaCache.Chave(especialidade, cidadeFiltro, estadoFiltro, pageable);
+        return buscaCache.obter(chave, () -> {
+            // Query by Example: só os filtros informados viram predicados, casando com o índice composto da V8
+            Profissional exemplo = new Profissional();
+            exemplo.setEspecialidade(especialidade);
+            if (cidadeFiltro != null || estadoFiltro != null) {
+                EnderecoVO endereco = new EnderecoVO();
+                endereco.setCidade(cidadeFiltro);
+                endereco.setEstado(estadoFiltro);
+                exemplo.setEndereco(endereco);
+            }
+            return repository.findAll(Example.of(exemplo), pageable).map(this::toDTO);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public Page<ProfissionalDTO> buscarPorNome(String nome, Pageable pageable) {
+        TrigramIndex.Resultado resultado = buscaNomeService.buscarProfissionais(nome, pageable);
+        Map<Long, Profissional> encontrados = carregarPorId(resultado.ids());
+        // Mantém a ordem de relevância do índice
+        List<ProfissionalDTO> pagina = Arrays.stream(resultado.ids())
+                .filter(encontrados::containsKey)
+                .mapToObj(id -> toDTO(encontrados.get(id)))
+                .toList();
+        return new PageImpl<>(pagina, pageable, resultado.total());
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public List<ProfissionalProximoDTO> buscarProximos(Long usuarioId, Especialidade especialidade, int limite) {
+        CepTrie.Resultado resultado = proximidadeService.proximos(usuarioId, especialidade, limite);
+        Map<Long, Profissional> encontrados = carregarPorId(resultado.ids());
+        List<ProfissionalProximoDTO> proximos = new ArrayList<>(resultado.ids().length);
+        for (int i = 0; i < resultado.ids().length; i++) {
+            Profissional profissional = encontrados.get(resultado.ids()[i]);
+            if (profissional != null) {
+                proximos.add(new ProfissionalProximoDTO(toDTO(profissional), resultado.digitosEmComum()[i]));
+            }
+        }
+        return proximos;
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.DETALHE)
     public ProfissionalDTO buscarPorId(Long id) {
         Profissional profissional = repository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Profissional não encontrado"));
         return toDTO(profissional);
     }
 
+    /**
+     * Busca todos os ids com uma única consulta IN; {@code ids} já sem repetições (ver BuscaPorIds.distintos).
+     */
     @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.DETALHE)
+    public BuscaPorIdsDTO<ProfissionalDTO> buscarPorIds(List<Long> ids) {
+        return BuscaPorIds.montar(ids, repository.findAllById(ids), Profissional::getId, this::toDTO);
+    }
+
+    @Override
+    @Transactional
     public ProfissionalDTO atualizar(Long id, ProfissionalDTO dto) {
         Profissional profissional = repository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Profissional não encontrado"));
+        Especialidade especialidadeAnterior = profissional.getEspecialidade();
+        String estadoAnterior = profissional.getEndereco().getEstado();
         profissional.setNome(dto.nome());
         profissional.setEmail(dto.email());
         profissional.setEspecialidade(dto.especialidade());
         profissional.setEndereco(dto.endereco());
         Profissional atualizado = repository.save(profissional);
+        // Os buckets do agregado de sessões são indexados por especialidade e estado do profissional
+        rollupService.moverProfissional(id, especialidadeAnterior, estadoAnterior,
+                atualizado.getEspecialidade(), atualizado.getEndereco().getEstado());
+        buscaCache.invalidar();
+        eventPublisher.publishEvent(new ProfissionalAlteradoEvent(id, atualizado.getNome(),
+                atualizado.getEspecialidade(), atualizado.getEndereco().getCep(), ProfissionalAlteradoEvent.Tipo.ATUALIZADO));
         return toDTO(atualizado);
     }
 
@@ -72,6 +201,16 @@ public class ProfissionalService implements IProfissionalService {
         Profissional profissional = repository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Profissional não encontrado"));
         repository.delete(profissional);
+        buscaCache.invalidar();
+        eventPublisher.publishEvent(new ProfissionalAlteradoEvent(id, null, null, null, ProfissionalAlteradoEvent.Tipo.REMOVIDO));
+    }
+
+    private Map<Long, Profissional> carregarPorId(long[] ids) {
+        Map<Long, Profissional> encontrados = new HashMap<>();
+        for (Profissional p : repository.findAllById(Arrays.stream(ids).boxed().toList())) {
+            encontrados.put(p.getId(), p);
+        }
+        return encontrados;
     }
 
     private ProfissionalDTO toDTO(Profissional p) {
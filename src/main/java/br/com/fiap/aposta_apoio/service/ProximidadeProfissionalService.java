@@ -0,0 +1,91 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.ProfissionalCepDTO;
+import br.com.fiap.aposta_apoio.event.ProfissionalAlteradoEvent;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recomenda profissionais próximos de um usuário pelo CEP, sem consultar o banco a cada pedido.
+ * Mantém uma CepTrie por especialidade, carregada na inicialização e atualizada pelos
+ * ProfissionalAlteradoEvent após o commit da escrita.
+ */
+@Service
+public class ProximidadeProfissionalService {
+
+    public static final int LIMITE_MAXIMO = 50;
+
+    private final ProfissionalRepository profissionalRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final Map<Especialidade, CepTrie> indices = new EnumMap<>(Especialidade.class);
+    private final Map<Long, Especialidade> especialidades = new ConcurrentHashMap<>();
+
+    public ProximidadeProfissionalService(ProfissionalRepository profissionalRepository, UsuarioRepository usuarioRepository) {
+        this.profissionalRepository = profissionalRepository;
+        this.usuarioRepository = usuarioRepository;
+        for (Especialidade especialidade : Especialidade.values()) {
+            indices.put(especialidade, new CepTrie());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        indices.values().forEach(CepTrie::limpar);
+        especialidades.clear();
+        for (ProfissionalCepDTO profissional : profissionalRepository.findAllCeps()) {
+            indexar(profissional.id(), profissional.especialidade(), profissional.cep());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfissionalAlterado(ProfissionalAlteradoEvent evento) {
+        if (evento.tipo() == ProfissionalAlteradoEvent.Tipo.REMOVIDO) {
+            Especialidade anterior = especialidades.remove(evento.id());
+            if (anterior != null) {
+                indices.get(anterior).remover(evento.id());
+            }
+        } else {
+            indexar(evento.id(), evento.especialidade(), evento.cep());
+        }
+    }
+
+    /**
+     * Profissionais da especialidade mais próximos do CEP do usuário.
+     *
+     * @throws IllegalArgumentException    se o usuário não existir
+     * @throws ParametroInvalidoException se o limite for inválido ou o CEP do usuário não tiver 8 dígitos
+     */
+    public CepTrie.Resultado proximos(Long usuarioId, Especialidade especialidade, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new ParametroInvalidoException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        String cep = usuarioRepository.findCepById(usuarioId)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+        if (CepTrie.digitos(cep) == null) {
+            throw new ParametroInvalidoException("O CEP do usuário deve ter 8 dígitos.");
+        }
+        return indices.get(especialidade).proximos(cep, limite);
+    }
+
+    public int getIndexados() {
+        return especialidades.size();
+    }
+
+    private void indexar(Long id, Especialidade especialidade, String cep) {
+        Especialidade anterior = especialidades.put(id, especialidade);
+        if (anterior != null && anterior != especialidade) {
+            indices.get(anterior).remover(id);
+        }
+        indices.get(especialidade).indexar(id, cep);
+    }
+}
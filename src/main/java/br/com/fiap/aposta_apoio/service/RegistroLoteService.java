@@ -0,0 +1,188 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.NomeIndexadoDTO;
+import br.com.fiap.aposta_apoio.dto.RegistroDTO;
+import br.com.fiap.aposta_apoio.dto.RegistroLoteItemDTO;
+import br.com.fiap.aposta_apoio.dto.RegistroLoteResultadoDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.UsuarioBatchRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import br.com.fiap.aposta_apoio.security.BoundedBCryptPasswordEncoder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de registro de usuários em lote (onboarding de clínicas parceiras).
+ * Valida cada item individualmente, descarta logins e CPFs repetidos ou já cadastrados,
+ * gera os hashes BCrypt em paralelo e insere tudo via JDBC batch, devolvendo o resultado por item.
+ * Validação e hashing rodam fora de transação; só a inserção ocupa uma conexão do pool, para que
+ * a fase de BCrypt (segundos em lotes grandes) não segure conexão nem locks.
+ */
+@Service
+public class RegistroLoteService {
+
+    private static final int TAMANHO_CONSULTA_EXISTENTES = 1000;
+
+    private final UsuarioRepository usuarioRepository;
+    private final UsuarioBatchRepository usuarioBatchRepository;
+    private final BoundedBCryptPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ContadorResumoService contadorResumoService;
+    private final BuscaNomeService buscaNomeService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItens;
+
+    public RegistroLoteService(UsuarioRepository usuarioRepository,
+                               UsuarioBatchRepository usuarioBatchRepository,
+                               BoundedBCryptPasswordEncoder passwordEncoder,
+                               Validator validator,
+                               ContadorResumoService contadorResumoService,
+                               BuscaNomeService buscaNomeService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${api.registro.lote.max-itens:5000}") int maxItens) {
+        this.usuarioRepository = usuarioRepository;
+        this.usuarioBatchRepository = usuarioBatchRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.contadorResumoService = contadorResumoService;
+        this.buscaNomeService = buscaNomeService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxItens = maxItens;
+    }
+
+    public RegistroLoteResultadoDTO registrar(List<RegistroDTO> registros) {
+        if (registros == null || registros.isEmpty()) {
+            throw new ParametroInvalidoException("O lote deve conter ao menos um registro.");
+        }
+        if (registros.size() > maxItens) {
+            throw new ParametroInvalidoException("O lote excede o limite de " + maxItens + " registros.");
+        }
+
+        RegistroLoteItemDTO[] itens = new RegistroLoteItemDTO[registros.size()];
+        Map<String, Integer> candidatos = new HashMap<>();
+        Map<String, Integer> cpfs = new HashMap<>();
+        for (int i = 0; i < registros.size(); i++) {
+            RegistroDTO registro = registros.get(i);
+            String erros = validar(registro);
+            if (erros != null) {
+                itens[i] = new RegistroLoteItemDTO(i, registro != null ? registro.login() : null, null, "INVALIDO", erros);
+            } else if (candidatos.containsKey(registro.login())) {
+                itens[i] = new RegistroLoteItemDTO(i, registro.login(), null, "DUPLICADO", "Login repetido no lote");
+            } else if (cpfs.putIfAbsent(Cpf.normalizar(registro.cpf()), i) != null) {
+                itens[i] = new RegistroLoteItemDTO(i, registro.login(), null, "DUPLICADO", "CPF repetido no lote");
+            } else {
+                candidatos.put(registro.login(), i);
+            }
+        }
+
+        // Pré-filtro sem transação: evita gastar BCrypt com quem já existe. Cadastros concorrentes
+        // entre esta consulta e a inserção são detectados pelo próprio batch (id nulo)
+        for (String existente : existentes(candidatos.keySet(), usuarioRepository::findLoginsExistentes)) {
+            int i = candidatos.remove(existente);
+            itens[i] = new RegistroLoteItemDTO(i, existente, null, "DUPLICADO", "Login já cadastrado");
+        }
+        cpfs.values().removeIf(i -> !candidatos.containsKey(registros.get(i).login()));
+        for (String existente : existentes(cpfs.keySet(), usuarioRepository::findCpfsExistentes)) {
+            int i = cpfs.get(existente);
+            candidatos.remove(registros.get(i).login());
+            itens[i] = new RegistroLoteItemDTO(i, registros.get(i).login(), null, "DUPLICADO", "CPF já cadastrado");
+        }
+
+        List<Integer> indices = candidatos.values().stream().sorted().toList();
+        List<String> hashes = passwordEncoder.encodeAll(indices.stream().map(i -> registros.get(i).senha()).toList());
+        List<Usuario> usuarios = new ArrayList<>(indices.size());
+        for (int j = 0; j < indices.size(); j++) {
+            usuarios.add(toUsuario(registros.get(indices.get(j)), hashes.get(j)));
+        }
+
+        int criados = usuarios.isEmpty() ? 0
+                : transactionTemplate.execute(status -> inserir(registros, indices, usuarios, itens));
+        return new RegistroLoteResultadoDTO(itens.length, criados, itens.length - criados, List.of(itens));
+    }
+
+    private int inserir(List<RegistroDTO> registros, List<Integer> indices, List<Usuario> usuarios,
+                        RegistroLoteItemDTO[] itens) {
+        List<Long> ids = usuarioBatchRepository.inserir(usuarios);
+        int criados = 0;
+        List<NomeIndexadoDTO> nomes = new ArrayList<>(indices.size());
+        for (int j = 0; j < indices.size(); j++) {
+            int i = indices.get(j);
+            String login = registros.get(i).login();
+            Long id = ids.get(j);
+            if (id != null) {
+                criados++;
+                nomes.add(new NomeIndexadoDTO(id, registros.get(i).nome()));
+                itens[i] = new RegistroLoteItemDTO(i, login, id, "CRIADO", null);
+            } else {
+                itens[i] = new RegistroLoteItemDTO(i, login, null, "DUPLICADO", "Login ou CPF já cadastrado");
+            }
+        }
+
+        // O JDBC batch não passa pelos listeners JPA nem pelos eventos do UsuarioService
+        contadorResumoService.ajustar(Usuario.class, criados);
+        buscaNomeService.indexarUsuarios(nomes);
+        return criados;
+    }
+
+    private String validar(RegistroDTO registro) {
+        if (registro == null) {
+            return "Registro vazio";
+        }
+        List<String> erros = new ArrayList<>();
+        for (ConstraintViolation<RegistroDTO> v : validator.validate(registro)) {
+            erros.add(v.getPropertyPath() + ": " + v.getMessage());
+        }
+        if (registro.cpf() != null && !registro.cpf().isBlank()) {
+            try {
+                Cpf.normalizar(registro.cpf());
+            } catch (ParametroInvalidoException e) {
+                erros.add("cpf: " + e.getMessage());
+            }
+        }
+        // O endereço é gravado em colunas NOT NULL, então seus campos também são validados
+        if (registro.endereco() != null) {
+            for (ConstraintViolation<EnderecoVO> v : validator.validate(registro.endereco())) {
+                erros.add("endereco." + v.getPropertyPath() + ": " + v.getMessage());
+            }
+        }
+        return erros.isEmpty() ? null : erros.stream().sorted().collect(Collectors.joining("; "));
+    }
+
+    private Set<String> existentes(Set<String> valores, Function<List<String>, List<String>> consulta) {
+        Set<String> existentes = new HashSet<>();
+        List<String> todos = new ArrayList<>(valores);
+        for (int inicio = 0; inicio < todos.size(); inicio += TAMANHO_CONSULTA_EXISTENTES) {
+            existentes.addAll(consulta.apply(
+                    todos.subList(inicio, Math.min(inicio + TAMANHO_CONSULTA_EXISTENTES, todos.size()))));
+        }
+        return existentes;
+    }
+
+    private Usuario toUsuario(RegistroDTO dto, String hash) {
+        Usuario usuario = new Usuario();
+        usuario.setNome(dto.nome());
+        usuario.setEmail(dto.email());
+        usuario.setTelefone(dto.telefone());
+        usuario.setCpf(Cpf.normalizar(dto.cpf()));
+        usuario.setDataNascimento(dto.dataNascimento());
+        usuario.setEndereco(dto.endereco());
+        usuario.setLogin(dto.login());
+        usuario.setSenha(hash);
+        usuario.setRole(dto.role() != null ? dto.role() : "USER");
+        return usuario;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.fiap.aposta_apoio.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escrita de objetos JSON em fluxo sobre a saída da resposta, usada pelas listagens que percorrem um cursor.
+ * Os objetos passam por um buffer de 16 KB sem flush a cada um, e o gerador não fecha nem esvazia a saída
+ * por conta própria: só {@link #concluir()} envia o que restou no buffer.
+ */
+final class SaidaJson {
+
+    private final ObjectWriter escritor;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    private SaidaJson(ObjectWriter escritor, OutputStream saida) throws IOException {
+        this.escritor = escritor;
+        this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 16 * 1024);
+        this.json = escritor.createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .setRootValueSeparator(null);
+    }
+
+    /** Writer de objetos do tipo, a ser criado uma vez e reutilizado. */
+    static ObjectWriter escritor(ObjectMapper objectMapper, Class<?> tipo) {
+        return objectMapper.writerFor(tipo).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    static SaidaJson abrir(ObjectWriter escritor, OutputStream saida) throws IOException {
+        return new SaidaJson(escritor, saida);
+    }
+
+    JsonGenerator json() {
+        return json;
+    }
+
+    void escrever(Object valor) throws IOException {
+        escritor.writeValue(json, valor);
+    }
+
+    /** Texto bruto (separadores, CSV), passando pelo mesmo buffer dos objetos para manter a ordem. */
+    void texto(String texto) throws IOException {
+        json.writeRaw(texto);
+    }
+
+    void texto(char c) throws IOException {
+        json.writeRaw(c);
+    }
+
+    void concluir() throws IOException {
+        json.flush();
+        writer.flush();
+    }
+}
@@ -1,18 +1,36 @@
 package br.com.fiap.aposta_apoio.service;
 
+import br.com.fiap.aposta_apoio.dto.AtribuicaoSessaoDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
+import br.com.fiap.aposta_apoio.dto.ProfissionalResumoDTO;
 import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoExpandidaDTO;
+import br.com.fiap.aposta_apoio.dto.UsuarioResumoDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.Especialidade;
 import br.com.fiap.aposta_apoio.model.Profissional;
 import br.com.fiap.aposta_apoio.model.SessaoApoio;
 import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.KeysetRepository;
 import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
 import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
 import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -21,20 +39,43 @@ import java.util.stream.Collectors;
  * - SRP: responsável apenas pela lógica de negócio de sessões
  * - OCP: aberto para extensão via interface
  * - DIP: depende de abstrações (repositories)
+ * Escritas mantêm o agregado diário (sessao_rollup) na mesma transação, passam pela agenda
+ * do profissional, que rejeita horários sobrepostos, e atualizam a carga usada na atribuição automática.
  */
 @Service
 public class SessaoApoioService implements ISessaoApoioService {
+    private static final String PROJECAO_DTO =
+            "new br.com.fiap.aposta_apoio.dto.SessaoApoioDTO(e.id, e.usuario.id, e.profissional.id, e.dataHora, e.descricao)";
+    private static final Map<String, PaginacaoPorCursor.Campo<SessaoApoioDTO>> CAMPOS_CURSOR = Map.of(
+            "id", new PaginacaoPorCursor.Campo<>(Long::valueOf, SessaoApoioDTO::id),
+            "dataHora", new PaginacaoPorCursor.Campo<>(LocalDateTime::parse, SessaoApoioDTO::dataHora));
+    private static final int MAX_TENTATIVAS_ATRIBUICAO = 10;
+    private static final String EXPANDIR_USUARIO = "usuario";
+    private static final String EXPANDIR_PROFISSIONAL = "profissional";
+    private static final List<String> EXPANSOES = List.of(EXPANDIR_USUARIO, EXPANDIR_PROFISSIONAL);
+
     private final SessaoApoioRepository repository;
     private final UsuarioRepository usuarioRepository;
     private final ProfissionalRepository profissionalRepository;
+    private final SessaoRollupService rollupService;
+    private final KeysetRepository keysetRepository;
+    private final AgendaProfissionalService agendaService;
+    private final CargaProfissionalService cargaService;
 
-    public SessaoApoioService(SessaoApoioRepository repository, UsuarioRepository usuarioRepository, ProfissionalRepository profissionalRepository) {
+    public SessaoApoioService(SessaoApoioRepository repository, UsuarioRepository usuarioRepository, ProfissionalRepository profissionalRepository,
+                              SessaoRollupService rollupService, KeysetRepository keysetRepository,
+                              AgendaProfissionalService agendaService, CargaProfissionalService cargaService) {
         this.repository = repository;
         this.usuarioRepository = usuarioRepository;
         this.profissionalRepository = profissionalRepository;
+        this.rollupService = rollupService;
+        this.keysetRepository = keysetRepository;
+        this.agendaService = agendaService;
+        this.cargaService = cargaService;
     }
 
     @Override
+    @Transactional
     public SessaoApoioDTO criar(SessaoApoioDTO dto) {
         Optional<Usuario> usuarioOpt = usuarioRepository.findById(dto.usuarioId());
         Optional<Profissional> profissionalOpt = profissionalRepository.findById(dto.profissionalId());
@@ -46,31 +87,108 @@ public class SessaoApoioService implements ISessaoApoioService {
         sessao.setProfissional(profissionalOpt.get());
         sessao.setDataHora(dto.dataHora());
         sessao.setDescricao(dto.descricao());
-        SessaoApoio salvo = repository.save(sessao);
+        SessaoApoio salvo = agendaService.reservar(dto.profissionalId(), dto.dataHora(), null,
+                emGrupo(sessao.getProfissional()), () -> repository.save(sessao));
+        rollupService.registrar(salvo, 1);
+        cargaService.registrar(dto.profissionalId(), salvo.getDataHora(), 1);
         return new SessaoApoioDTO(salvo.getId(), salvo.getUsuario().getId(), salvo.getProfissional().getId(), salvo.getDataHora(), salvo.getDescricao());
     }
 
+    /**
+     * Cria a sessão com o profissional menos ocupado da especialidade. Se o escolhido tiver conflito
+     * de horário, tenta o próximo da fila, até {@value #MAX_TENTATIVAS_ATRIBUICAO} candidatos.
+     */
+    @Override
+    @Transactional
+    public SessaoApoioDTO atribuir(AtribuicaoSessaoDTO dto) {
+        if (!usuarioRepository.existsById(dto.usuarioId())) {
+            throw new IllegalArgumentException("Usuário não encontrado");
+        }
+        int tentativas = 0;
+        for (CargaProfissionalService.Carga candidato : cargaService.candidatos(dto.especialidade())) {
+            if (tentativas++ == MAX_TENTATIVAS_ATRIBUICAO) {
+                break;
+            }
+            try {
+                // O conflito é detectado antes de qualquer escrita, então a transação segue válida
+                return criar(new SessaoApoioDTO(null, dto.usuarioId(), candidato.profissionalId(), dto.dataHora(), dto.descricao()));
+            } catch (IllegalStateException conflito) {
+                // Próximo candidato
+            } catch (IllegalArgumentException removido) {
+                // Profissional removido após entrar na fila
+            }
+        }
+        throw new IllegalStateException("Nenhum profissional de " + dto.especialidade() + " disponível neste horário.");
+    }
+
     @Override
     public List<SessaoApoioDTO> listar() {
-        return repository.findAll().stream()
-                .map(s -> new SessaoApoioDTO(s.getId(), s.getUsuario().getId(), s.getProfissional().getId(), s.getDataHora(), s.getDescricao()))
-                .collect(Collectors.toList());
+        return repository.findAllDto();
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
     public Page<SessaoApoioDTO> listarPaginado(Pageable pageable) {
-        return repository.findAll(pageable)
-                .map(s -> new SessaoApoioDTO(s.getId(), s.getUsuario().getId(), s.getProfissional().getId(), s.getDataHora(), s.getDescricao()));
+        return repository.findAllDto(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public SlicePageDTO<SessaoApoioDTO> listarPorSlice(Pageable pageable) {
+        return SlicePageDTO.of(repository.findSliceDto(pageable));
+    }
+
+    /**
+     * Página de sessões com os resumos pedidos em expand ("usuario", "profissional"). Cada relação expandida
+     * custa uma única consulta IN com os ids distintos da página, qualquer que seja o tamanho dela; os resumos
+     * são projeções e não leem colunas sensíveis (CPF, login, senha).
+     *
+     * @throws ParametroInvalidoException se expand tiver um valor diferente de usuario ou profissional
+     */
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public Page<SessaoExpandidaDTO> listarExpandido(List<String> expand, Pageable pageable) {
+        Set<String> expansoes = new LinkedHashSet<>();
+        for (String valor : expand) {
+            String expansao = valor.trim().toLowerCase(Locale.ROOT);
+            if (!EXPANSOES.contains(expansao)) {
+                throw new ParametroInvalidoException("Valor inválido para 'expand': '" + valor.trim()
+                        + "'. Valores permitidos: " + String.join(", ", EXPANSOES) + ".");
+            }
+            expansoes.add(expansao);
+        }
+
+        Page<SessaoApoioDTO> pagina = repository.findAllDto(pageable);
+        Map<Long, UsuarioResumoDTO> usuarios = expansoes.contains(EXPANDIR_USUARIO) && pagina.hasContent()
+                ? porId(usuarioRepository.findResumosByIdIn(
+                        pagina.stream().map(SessaoApoioDTO::usuarioId).collect(Collectors.toSet())), UsuarioResumoDTO::id)
+                : Map.of();
+        Map<Long, ProfissionalResumoDTO> profissionais = expansoes.contains(EXPANDIR_PROFISSIONAL) && pagina.hasContent()
+                ? porId(profissionalRepository.findResumosByIdIn(
+                        pagina.stream().map(SessaoApoioDTO::profissionalId).collect(Collectors.toSet())), ProfissionalResumoDTO::id)
+                : Map.of();
+        return pagina.map(s -> new SessaoExpandidaDTO(s.id(), s.usuarioId(), s.profissionalId(), s.dataHora(), s.descricao(),
+                usuarios.get(s.usuarioId()), profissionais.get(s.profissionalId())));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public CursorPageDTO<SessaoApoioDTO> listarPorCursor(String cursor, int tamanho, String ordem, Sort.Direction direcao) {
+        return PaginacaoPorCursor.paginar(cursor, tamanho, ordem, direcao, CAMPOS_CURSOR, SessaoApoioDTO::id,
+                (campo, valor, ultimoId, limite) -> keysetRepository.buscarApos(SessaoApoioDTO.class, PROJECAO_DTO,
+                        "SessaoApoio", campo, direcao, valor, ultimoId, limite),
+                dto -> dto);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.DETALHE)
     public SessaoApoioDTO buscarPorId(Long id) {
-        SessaoApoio sessao = repository.findById(id)
+        return repository.findDtoById(id)
             .orElseThrow(() -> new IllegalArgumentException("Sessão de apoio não encontrada"));
-        return new SessaoApoioDTO(sessao.getId(), sessao.getUsuario().getId(), sessao.getProfissional().getId(), sessao.getDataHora(), sessao.getDescricao());
     }
 
     @Override
+    @Transactional
     public SessaoApoioDTO atualizar(Long id, SessaoApoioDTO dto) {
         SessaoApoio sessao = repository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Sessão de apoio não encontrada"));
@@ -78,18 +196,53 @@ public class SessaoApoioService implements ISessaoApoioService {
             .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
         Profissional profissional = profissionalRepository.findById(dto.profissionalId())
             .orElseThrow(() -> new IllegalArgumentException("Profissional não encontrado"));
-        sessao.setUsuario(usuario);
-        sessao.setProfissional(profissional);
-        sessao.setDataHora(dto.dataHora());
-        sessao.setDescricao(dto.descricao());
-        SessaoApoio atualizado = repository.save(sessao);
+        Long profissionalAnterior = sessao.getProfissional().getId();
+        LocalDateTime dataHoraAnterior = sessao.getDataHora();
+        boolean mudouBucket = !sessao.getProfissional().getId().equals(profissional.getId())
+                || !sessao.getDataHora().toLocalDate().equals(dto.dataHora().toLocalDate());
+        if (mudouBucket) {
+            rollupService.registrar(sessao, -1);
+        }
+        SessaoApoio atualizado = agendaService.reservar(profissional.getId(), dto.dataHora(), id, emGrupo(profissional), () -> {
+            sessao.setUsuario(usuario);
+            sessao.setProfissional(profissional);
+            sessao.setDataHora(dto.dataHora());
+            sessao.setDescricao(dto.descricao());
+            return repository.save(sessao);
+        });
+        if (!profissionalAnterior.equals(profissional.getId()) || !dataHoraAnterior.equals(dto.dataHora())) {
+            agendaService.liberar(profissionalAnterior, dataHoraAnterior, id);
+        }
+        if (mudouBucket) {
+            rollupService.registrar(atualizado, 1);
+        }
+        if (!profissionalAnterior.equals(profissional.getId()) || !dataHoraAnterior.equals(dto.dataHora())) {
+            cargaService.registrar(profissionalAnterior, dataHoraAnterior, -1);
+            cargaService.registrar(profissional.getId(), dto.dataHora(), 1);
+        }
         return new SessaoApoioDTO(atualizado.getId(), atualizado.getUsuario().getId(), atualizado.getProfissional().getId(), atualizado.getDataHora(), atualizado.getDescricao());
     }
 
     @Override
+    @Transactional
     public void deletar(Long id) {
         SessaoApoio sessao = repository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Sessão de apoio não encontrada"));
         repository.delete(sessao);
+        rollupService.registrar(sessao, -1);
+        agendaService.liberar(sessao.getProfissional().getId(), sessao.getDataHora(), id);
+        cargaService.registrar(sessao.getProfissional().getId(), sessao.getDataHora(), -1);
+    }
+
+    private static boolean emGrupo(Profissional profissional) {
+        return profissional.getEspecialidade() == Especialidade.TERAPIA_GRUPO;
+    }
+
+    private static <T> Map<Long, T> porId(List<T> resumos, Function<T, Long> id) {
+        Map<Long, T> porId = new HashMap<>(resumos.size() * 2);
+        for (T resumo : resumos) {
+            porId.put(id.apply(resumo), resumo);
+        }
+        return porId;
     }
 }
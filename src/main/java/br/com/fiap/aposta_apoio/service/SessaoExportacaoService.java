@@ -0,0 +1,100 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.repository.ExportacaoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de sessões em NDJSON (um objeto JSON por linha) ou CSV.
+ * Cada linha lida do cursor é escrita direto na saída, sem montar lista em memória
+ * e sem a contagem que a paginação exige.
+ */
+@Service
+public class SessaoExportacaoService {
+
+    public enum Formato { NDJSON, CSV }
+
+    private static final String CABECALHO_CSV = "id,usuarioId,profissionalId,dataHora,descricao";
+
+    private final ExportacaoRepository exportacaoRepository;
+    private final ObjectWriter jsonWriter;
+
+    public SessaoExportacaoService(ExportacaoRepository exportacaoRepository, ObjectMapper objectMapper) {
+        this.exportacaoRepository = exportacaoRepository;
+        this.jsonWriter = SaidaJson.escritor(objectMapper, SessaoApoioDTO.class);
+    }
+
+    /**
+     * Valida os filtros antes de qualquer byte ser escrito, para que erros ainda virem 400.
+     */
+    public void validarFiltros(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio != null && fim != null && !fim.isAfter(inicio)) {
+            throw new ParametroInvalidoException("A data final deve ser posterior à data inicial.");
+        }
+    }
+
+    /**
+     * Escreve as sessões filtradas na saída e devolve quantas linhas foram exportadas.
+     */
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.EXPORTACAO)
+    public long exportar(Formato formato, LocalDateTime inicio, LocalDateTime fim, Long profissionalId,
+                         OutputStream saida) throws IOException {
+        validarFiltros(inicio, fim);
+        SaidaJson saidaJson = SaidaJson.abrir(jsonWriter, saida);
+        long linhas = 0;
+        try (Stream<SessaoApoioDTO> sessoes = exportacaoRepository.streamSessoes(inicio, fim, profissionalId)) {
+            if (formato == Formato.CSV) {
+                saidaJson.texto(CABECALHO_CSV);
+                saidaJson.texto('\n');
+            }
+            Iterator<SessaoApoioDTO> iterator = sessoes.iterator();
+            while (iterator.hasNext()) {
+                SessaoApoioDTO sessao = iterator.next();
+                if (formato == Formato.CSV) {
+                    escreverCsv(saidaJson, sessao);
+                } else {
+                    saidaJson.escrever(sessao);
+                }
+                saidaJson.texto('\n');
+                linhas++;
+            }
+        }
+        saidaJson.concluir();
+        return linhas;
+    }
+
+    private void escreverCsv(SaidaJson saida, SessaoApoioDTO sessao) throws IOException {
+        saida.texto(String.valueOf(sessao.id()));
+        saida.texto(',');
+        saida.texto(String.valueOf(sessao.usuarioId()));
+        saida.texto(',');
+        saida.texto(String.valueOf(sessao.profissionalId()));
+        saida.texto(',');
+        saida.texto(sessao.dataHora().toString());
+        saida.texto(',');
+        saida.texto(campoCsv(sessao.descricao()));
+    }
+
+    /**
+     * Aspas apenas quando necessário (RFC 4180): vírgula, aspas ou quebra de linha.
+     */
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.HorarioSessaoDTO;
+import br.com.fiap.aposta_apoio.dto.RecorrenciaSessaoDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoLoteItemDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoLoteResultadoDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.SessaoBatchRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Agendamento de sessões em lote e de séries recorrentes.
+ * Valida cada item individualmente, confere usuários e profissionais com uma consulta IN para cada,
+ * reserva os horários na agenda dos profissionais e insere as sessões livres via JDBC batch,
+ * devolvendo o resultado por item.
+ */
+@Service
+public class SessaoLoteService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final ProfissionalRepository profissionalRepository;
+    private final SessaoBatchRepository sessaoBatchRepository;
+    private final AgendaProfissionalService agendaService;
+    private final SessaoRollupService rollupService;
+    private final ContadorResumoService contadorResumoService;
+    private final CargaProfissionalService cargaService;
+    private final Validator validator;
+    private final int maxItens;
+
+    public SessaoLoteService(UsuarioRepository usuarioRepository,
+                             ProfissionalRepository profissionalRepository,
+                             SessaoBatchRepository sessaoBatchRepository,
+                             AgendaProfissionalService agendaService,
+                             SessaoRollupService rollupService,
+                             ContadorResumoService contadorResumoService,
+                             CargaProfissionalService cargaService,
+                             Validator validator,
+                             @Value("${api.sessoes.lote.max-itens:1000}") int maxItens) {
+        this.usuarioRepository = usuarioRepository;
+        this.profissionalRepository = profissionalRepository;
+        this.sessaoBatchRepository = sessaoBatchRepository;
+        this.agendaService = agendaService;
+        this.rollupService = rollupService;
+        this.contadorResumoService = contadorResumoService;
+        this.cargaService = cargaService;
+        this.validator = validator;
+        this.maxItens = maxItens;
+    }
+
+    @Transactional
+    public SessaoLoteResultadoDTO agendar(List<SessaoApoioDTO> sessoes) {
+        if (sessoes == null || sessoes.isEmpty()) {
+            throw new ParametroInvalidoException("O lote deve conter ao menos uma sessão.");
+        }
+        if (sessoes.size() > maxItens) {
+            throw new ParametroInvalidoException("O lote excede o limite de " + maxItens + " sessões.");
+        }
+
+        SessaoLoteItemDTO[] itens = new SessaoLoteItemDTO[sessoes.size()];
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < sessoes.size(); i++) {
+            String erros = validar(sessoes.get(i));
+            if (erros != null) {
+                itens[i] = item(i, sessoes.get(i), null, "INVALIDA", erros);
+            } else {
+                validos.add(i);
+            }
+        }
+
+        Set<Long> usuarios = new HashSet<>(usuarioRepository.findIdsExistentes(
+                validos.stream().map(i -> sessoes.get(i).usuarioId()).collect(Collectors.toSet())));
+        Map<Long, Profissional> profissionais = new HashMap<>();
+        for (Profissional profissional : profissionalRepository.findAllById(
+                validos.stream().map(i -> sessoes.get(i).profissionalId()).collect(Collectors.toSet()))) {
+            profissionais.put(profissional.getId(), profissional);
+        }
+
+        List<Integer> candidatos = new ArrayList<>(validos.size());
+        for (int i : validos) {
+            SessaoApoioDTO dto = sessoes.get(i);
+            if (!usuarios.contains(dto.usuarioId())) {
+                itens[i] = item(i, dto, null, "INVALIDA", "Usuário não encontrado");
+            } else if (!profissionais.containsKey(dto.profissionalId())) {
+                itens[i] = item(i, dto, null, "INVALIDA", "Profissional não encontrado");
+            } else {
+                candidatos.add(i);
+            }
+        }
+
+        List<HorarioSessaoDTO> pedidos = candidatos.stream()
+                .map(i -> new HorarioSessaoDTO(null, sessoes.get(i).profissionalId(), sessoes.get(i).dataHora()))
+                .toList();
+        Set<Long> emGrupo = profissionais.values().stream()
+                .filter(p -> p.getEspecialidade() == Especialidade.TERAPIA_GRUPO)
+                .map(Profissional::getId)
+                .collect(Collectors.toSet());
+
+        boolean[] gravados = new boolean[candidatos.size()];
+        List<SessaoApoio> criadas = new ArrayList<>();
+        Long[] ids = agendaService.reservarLote(pedidos, emGrupo, livres -> {
+            List<SessaoApoio> novas = new ArrayList<>(livres.size());
+            for (int j : livres) {
+                gravados[j] = true;
+                novas.add(toSessao(sessoes.get(candidatos.get(j)), profissionais));
+            }
+            List<Long> gerados = sessaoBatchRepository.inserir(novas);
+            for (int k = 0; k < novas.size(); k++) {
+                if (gerados.get(k) != null) {
+                    novas.get(k).setId(gerados.get(k));
+                    criadas.add(novas.get(k));
+                }
+            }
+            return gerados;
+        });
+
+        for (int j = 0; j < candidatos.size(); j++) {
+            int i = candidatos.get(j);
+            SessaoApoioDTO dto = sessoes.get(i);
+            if (ids[j] != null) {
+                itens[i] = item(i, dto, ids[j], "CRIADA", null);
+            } else if (gravados[j]) {
+                itens[i] = item(i, dto, null, "FALHA", "Usuário ou profissional removido durante o agendamento");
+            } else {
+                itens[i] = item(i, dto, null, "CONFLITO", "Profissional já possui sessão agendada em horário conflitante");
+            }
+        }
+
+        // O JDBC batch não passa pelos listeners JPA nem pelo SessaoApoioService
+        rollupService.registrarLote(criadas);
+        contadorResumoService.ajustar(SessaoApoio.class, criadas.size());
+        cargaService.registrarLote(criadas);
+
+        return new SessaoLoteResultadoDTO(itens.length, criadas.size(), itens.length - criadas.size(), List.of(itens));
+    }
+
+    /**
+     * Expande a regra de recorrência em sessões e agenda todas em um único lote.
+     */
+    @Transactional
+    public SessaoLoteResultadoDTO agendarRecorrencia(RecorrenciaSessaoDTO regra) {
+        long total = (long) regra.ocorrencias() * regra.usuarioIds().size();
+        if (total > maxItens) {
+            throw new ParametroInvalidoException("A série geraria " + total + " sessões; o limite é " + maxItens + ".");
+        }
+        List<SessaoApoioDTO> sessoes = new ArrayList<>((int) total);
+        for (int n = 0; n < regra.ocorrencias(); n++) {
+            LocalDateTime dataHora = switch (regra.frequencia()) {
+                case DIARIA -> regra.inicio().plusDays(n);
+                case SEMANAL -> regra.inicio().plusWeeks(n);
+                case QUINZENAL -> regra.inicio().plusWeeks(2L * n);
+                case MENSAL -> regra.inicio().plusMonths(n);
+            };
+            for (Long usuarioId : regra.usuarioIds()) {
+                sessoes.add(new SessaoApoioDTO(null, usuarioId, regra.profissionalId(), dataHora, regra.descricao()));
+            }
+        }
+        return agendar(sessoes);
+    }
+
+    private String validar(SessaoApoioDTO dto) {
+        if (dto == null) {
+            return "Sessão vazia";
+        }
+        List<String> erros = new ArrayList<>();
+        for (ConstraintViolation<SessaoApoioDTO> v : validator.validate(dto)) {
+            erros.add(v.getPropertyPath() + ": " + v.getMessage());
+        }
+        return erros.isEmpty() ? null : erros.stream().sorted().collect(Collectors.joining("; "));
+    }
+
+    private SessaoApoio toSessao(SessaoApoioDTO dto, Map<Long, Profissional> profissionais) {
+        SessaoApoio sessao = new SessaoApoio();
+        sessao.setUsuario(usuarioRepository.getReferenceById(dto.usuarioId()));
+        sessao.setProfissional(profissionais.get(dto.profissionalId()));
+        sessao.setDataHora(dto.dataHora());
+        sessao.setDescricao(dto.descricao());
+        return sessao;
+    }
+
+    private SessaoLoteItemDTO item(int indice, SessaoApoioDTO dto, Long id, String status, String mensagem) {
+        return dto == null
+                ? new SessaoLoteItemDTO(indice, null, null, null, id, status, mensagem)
+                : new SessaoLoteItemDTO(indice, dto.usuarioId(), dto.profissionalId(), dto.dataHora(), id, status, mensagem);
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.SessaoSerieDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import br.com.fiap.aposta_apoio.model.SessaoRollup;
+import br.com.fiap.aposta_apoio.model.SessaoRollupId;
+import br.com.fiap.aposta_apoio.repository.SessaoRollupJdbcRepository;
+import br.com.fiap.aposta_apoio.repository.SessaoRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantém e consulta o agregado diário de sessões (sessao_rollup).
+ * Cada criação, alteração ou remoção de sessão ajusta apenas o bucket (dia, especialidade, estado)
+ * afetado; as consultas por dia, semana ou mês leem somente os buckets do período.
+ */
+@Service
+public class SessaoRollupService {
+
+    public enum Granularidade { DIA, SEMANA, MES }
+
+    public enum Agrupamento { NENHUM, ESPECIALIDADE, ESTADO }
+
+    private static final long MAX_DIAS_CONSULTA = 3 * 366;
+
+    private final SessaoRollupRepository rollupRepository;
+    private final SessaoRollupJdbcRepository rollupJdbcRepository;
+
+    public SessaoRollupService(SessaoRollupRepository rollupRepository,
+                               SessaoRollupJdbcRepository rollupJdbcRepository) {
+        this.rollupRepository = rollupRepository;
+        this.rollupJdbcRepository = rollupJdbcRepository;
+    }
+
+    /**
+     * Soma delta (+1 na criação, -1 na remoção) ao bucket da sessão.
+     */
+    public void registrar(SessaoApoio sessao, long delta) {
+        Profissional profissional = sessao.getProfissional();
+        rollupJdbcRepository.incrementar(sessao.getDataHora().toLocalDate(), profissional.getEspecialidade(),
+                profissional.getEndereco().getEstado(), delta);
+    }
+
+    /**
+     * Soma as sessões criadas em lote, com um único ajuste por bucket.
+     */
+    public void registrarLote(List<SessaoApoio> sessoes) {
+        Map<SessaoRollupId, Long> buckets = new HashMap<>();
+        for (SessaoApoio sessao : sessoes) {
+            Profissional profissional = sessao.getProfissional();
+            buckets.merge(new SessaoRollupId(sessao.getDataHora().toLocalDate(), profissional.getEspecialidade(),
+                    profissional.getEndereco().getEstado()), 1L, Long::sum);
+        }
+        buckets.forEach((bucket, total) ->
+                rollupJdbcRepository.incrementar(bucket.getDia(), bucket.getEspecialidade(), bucket.getEstado(), total));
+    }
+
+    /**
+     * Move os totais de um profissional quando sua especialidade ou estado mudam.
+     */
+    public void moverProfissional(Long profissionalId, Especialidade especialidadeAnterior, String estadoAnterior,
+                                  Especialidade especialidadeNova, String estadoNovo) {
+        if (especialidadeAnterior == especialidadeNova && estadoAnterior.equals(estadoNovo)) {
+            return;
+        }
+        for (Map.Entry<LocalDate, Long> dia : rollupJdbcRepository.contarSessoesPorDia(profissionalId).entrySet()) {
+            rollupJdbcRepository.incrementar(dia.getKey(), especialidadeAnterior, estadoAnterior, -dia.getValue());
+            rollupJdbcRepository.incrementar(dia.getKey(), especialidadeNova, estadoNovo, dia.getValue());
+        }
+    }
+
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.RELATORIO)
+    public List<SessaoSerieDTO> consultar(LocalDate inicio, LocalDate fim, Granularidade granularidade,
+                                          Agrupamento agrupamento) {
+        if (fim.isBefore(inicio)) {
+            throw new ParametroInvalidoException("A data final deve ser igual ou posterior à data inicial.");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) > MAX_DIAS_CONSULTA) {
+            throw new ParametroInvalidoException("O período consultado não pode exceder " + MAX_DIAS_CONSULTA + " dias.");
+        }
+
+        Map<LocalDate, Map<String, Long>> series = new TreeMap<>();
+        for (SessaoRollup bucket : rollupRepository.findByPeriodo(inicio, fim)) {
+            LocalDate periodo = inicioDoPeriodo(bucket.getId().getDia(), granularidade);
+            String grupo = switch (agrupamento) {
+                case ESPECIALIDADE -> bucket.getId().getEspecialidade().name();
+                case ESTADO -> bucket.getId().getEstado();
+                case NENHUM -> "TOTAL";
+            };
+            series.computeIfAbsent(periodo, p -> new TreeMap<>()).merge(grupo, bucket.getTotal(), Long::sum);
+        }
+
+        List<SessaoSerieDTO> resultado = new ArrayList<>();
+        series.forEach((periodo, grupos) ->
+                grupos.forEach((grupo, total) -> resultado.add(new SessaoSerieDTO(periodo, grupo, total))));
+        return resultado;
+    }
+
+    private LocalDate inicioDoPeriodo(LocalDate dia, Granularidade granularidade) {
+        return switch (granularidade) {
+            case DIA -> dia;
+            case SEMANA -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> dia.withDayOfMonth(1);
+        };
+    }
+}
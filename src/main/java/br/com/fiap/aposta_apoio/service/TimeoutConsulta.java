@@ -0,0 +1,25 @@
+package br.com.fiap.aposta_apoio.service;
+
+/**
+ * Tempos máximos (em segundos) das transações de leitura, por grupo de endpoint, para uso em
+ * {@code @Transactional(timeoutString = ...)}. O Hibernate repassa o tempo restante da transação
+ * a cada statement como query timeout do JDBC; ao estourar, o GlobalExceptionHandler responde 503.
+ * Assim uma consulta lenta libera a conexão do pool em vez de segurá-la indefinidamente.
+ */
+public final class TimeoutConsulta {
+
+    /** Busca de um registro pela chave (ex: buscarPorId). */
+    public static final String DETALHE = "${api.consultas.timeout.detalhe-segundos:2}";
+
+    /** Páginas, cursores e buscas com filtro. */
+    public static final String LISTAGEM = "${api.consultas.timeout.listagem-segundos:5}";
+
+    /** Agregações do dashboard. */
+    public static final String RELATORIO = "${api.consultas.timeout.relatorio-segundos:30}";
+
+    /** Listagens completas escritas em fluxo na resposta (exportação, GET /usuarios). */
+    public static final String EXPORTACAO = "${api.consultas.timeout.exportacao-segundos:600}";
+
+    private TimeoutConsulta() {
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.fiap.aposta_apoio.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas para busca por trecho de nome.
+ * Os nomes são normalizados (minúsculas, sem acentos, só letras e dígitos) e cada palavra gera os
+ * trigramas de " palavra ". Cada trigrama é um índice em um array fixo de listas de ids (long[]
+ * ordenados, sem boxing), então a memória cresce com o número de ocorrências e não com objetos.
+ * A busca soma, por documento, quantos trigramas da consulta ele contém e ordena pela cobertura.
+ * Seguro para uso concorrente: leituras compartilham uma trava de leitura.
+ */
+public final class TrigramIndex {
+
+    /** Resultado de uma busca: ids da página (em ordem de relevância) e total de documentos encontrados. */
+    public record Resultado(long[] ids, int total) {}
+
+    // a-z, 0-9 e o espaço de borda das palavras
+    private static final int ALFABETO = 37;
+    private static final int TOTAL_TRIGRAMAS = ALFABETO * ALFABETO * ALFABETO;
+    private static final double COBERTURA_MINIMA = 0.5;
+
+    private final long[][] postings = new long[TOTAL_TRIGRAMAS][];
+    private final int[] tamanhos = new int[TOTAL_TRIGRAMAS];
+    private final Map<Long, String> documentos = new HashMap<>();
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa (ou reindexa) o texto do documento.
+     */
+    public void indexar(long id, String texto) {
+        String normalizado = normalizar(texto);
+        trava.writeLock().lock();
+        try {
+            String anterior = documentos.put(id, normalizado);
+            if (anterior != null) {
+                for (int trigrama : trigramas(anterior)) {
+                    removerPosting(trigrama, id);
+                }
+            }
+            for (int trigrama : trigramas(normalizado)) {
+                adicionarPosting(trigrama, id);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        trava.writeLock().lock();
+        try {
+            String anterior = documentos.remove(id);
+            if (anterior != null) {
+                for (int trigrama : trigramas(anterior)) {
+                    removerPosting(trigrama, id);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta todo o conteúdo (usado antes de uma recarga completa).
+     */
+    public void limpar() {
+        trava.writeLock().lock();
+        try {
+            Arrays.fill(postings, null);
+            Arrays.fill(tamanhos, 0);
+            documentos.clear();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca documentos que contenham ao menos metade dos trigramas da consulta. Documentos que contêm a
+     * consulta normalizada como trecho contínuo vêm primeiro; depois, maior cobertura e nome mais curto.
+     */
+    public Resultado buscar(String consulta, int inicio, int limite) {
+        String normalizada = normalizar(consulta);
+        int[] daConsulta = trigramas(normalizada);
+        if (daConsulta.length == 0) {
+            return new Resultado(new long[0], 0);
+        }
+        int minimo = (int) Math.ceil(daConsulta.length * COBERTURA_MINIMA);
+
+        trava.readLock().lock();
+        try {
+            int total = 0;
+            for (int trigrama : daConsulta) {
+                total += tamanhos[trigrama];
+            }
+            // Une as listas e conta as repetições de cada id: cada repetição é um trigrama em comum
+            long[] ocorrencias = new long[total];
+            int posicao = 0;
+            for (int trigrama : daConsulta) {
+                if (tamanhos[trigrama] > 0) {
+                    System.arraycopy(postings[trigrama], 0, ocorrencias, posicao, tamanhos[trigrama]);
+                    posicao += tamanhos[trigrama];
+                }
+            }
+            Arrays.sort(ocorrencias);
+
+            long[] candidatos = new long[Math.min(total, documentos.size())];
+            int[] pontuacoes = new int[candidatos.length];
+            int encontrados = 0;
+            for (int i = 0; i < total; ) {
+                int j = i;
+                while (j < total && ocorrencias[j] == ocorrencias[i]) {
+                    j++;
+                }
+                int comuns = j - i;
+                if (comuns >= minimo) {
+                    boolean contem = documentos.get(ocorrencias[i]).contains(normalizada);
+                    candidatos[encontrados] = ocorrencias[i];
+                    pontuacoes[encontrados] = comuns + (contem ? daConsulta.length : 0);
+                    encontrados++;
+                }
+                i = j;
+            }
+
+            Integer[] ordem = new Integer[encontrados];
+            for (int i = 0; i < encontrados; i++) {
+                ordem[i] = i;
+            }
+            Arrays.sort(ordem, (a, b) -> {
+                int porPontuacao = Integer.compare(pontuacoes[b], pontuacoes[a]);
+                if (porPontuacao != 0) {
+                    return porPontuacao;
+                }
+                int porTamanho = Integer.compare(documentos.get(candidatos[a]).length(), documentos.get(candidatos[b]).length());
+                return porTamanho != 0 ? porTamanho : Long.compare(candidatos[a], candidatos[b]);
+            });
+
+            int fim = Math.min(encontrados, inicio + limite);
+            long[] pagina = new long[Math.max(0, fim - inicio)];
+            for (int i = inicio; i < fim; i++) {
+                pagina[i - inicio] = candidatos[ordem[i]];
+            }
+            return new Resultado(pagina, encontrados);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public int getDocumentos() {
+        trava.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Memória ocupada pelas listas de ids (capacidade alocada, em bytes).
+     */
+    public long getBytesPostings() {
+        trava.readLock().lock();
+        try {
+            long bytes = 0;
+            for (long[] lista : postings) {
+                if (lista != null) {
+                    bytes += (long) lista.length * Long.BYTES;
+                }
+            }
+            return bytes;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Minúsculas sem acentos ("João" vira "joao"); qualquer outro caractere vira espaço.
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder normalizado = new StringBuilder(semAcentos.length());
+        boolean espaco = true;
+        for (int i = 0; i < semAcentos.length(); i++) {
+            char c = semAcentos.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                normalizado.append(c);
+                espaco = false;
+            } else if (!espaco) {
+                normalizado.append(' ');
+                espaco = true;
+            }
+        }
+        int fim = normalizado.length();
+        return espaco && fim > 0 ? normalizado.substring(0, fim - 1) : normalizado.toString();
+    }
+
+    /**
+     * Trigramas distintos do texto normalizado, codificados em base 37.
+     */
+    static int[] trigramas(String normalizado) {
+        if (normalizado.isEmpty()) {
+            return new int[0];
+        }
+        String comBordas = ' ' + normalizado + ' ';
+        int[] codigos = new int[comBordas.length() - 2];
+        int quantidade = 0;
+        for (int i = 0; i + 3 <= comBordas.length(); i++) {
+            int a = codigo(comBordas.charAt(i));
+            int b = codigo(comBordas.charAt(i + 1));
+            int c = codigo(comBordas.charAt(i + 2));
+            // Trigramas que atravessam duas palavras (" a b") não ajudam na busca
+            if (b == 0 && a != 0 && c != 0) {
+                continue;
+            }
+            codigos[quantidade++] = (a * ALFABETO + b) * ALFABETO + c;
+        }
+        return Arrays.stream(codigos, 0, quantidade).distinct().toArray();
+    }
+
+    private static int codigo(char c) {
+        if (c == ' ') {
+            return 0;
+        }
+        return c <= '9' ? 1 + (c - '0') : 11 + (c - 'a');
+    }
+
+    private void adicionarPosting(int trigrama, long id) {
+        long[] lista = postings[trigrama];
+        int tamanho = tamanhos[trigrama];
+        if (lista == null) {
+            lista = new long[4];
+            postings[trigrama] = lista;
+        }
+        int posicao = Arrays.binarySearch(lista, 0, tamanho, id);
+        if (posicao >= 0) {
+            return;
+        }
+        posicao = -posicao - 1;
+        if (tamanho == lista.length) {
+            lista = Arrays.copyOf(lista, tamanho + (tamanho >> 1) + 1);
+            postings[trigrama] = lista;
+        }
+        System.arraycopy(lista, posicao, lista, posicao + 1, tamanho - posicao);
+        lista[posicao] = id;
+        tamanhos[trigrama] = tamanho + 1;
+    }
+
+    private void removerPosting(int trigrama, long id) {
+        long[] lista = postings[trigrama];
+        int tamanho = tamanhos[trigrama];
+        if (lista == null) {
+            return;
+        }
+        int posicao = Arrays.binarySearch(lista, 0, tamanho, id);
+        if (posicao < 0) {
+            return;
+        }
+        System.arraycopy(lista, posicao + 1, lista, posicao, tamanho - posicao - 1);
+        tamanho--;
+        tamanhos[trigrama] = tamanho;
+        if (tamanho == 0) {
+            postings[trigrama] = null;
+        } else if (tamanho < lista.length / 4) {
+            postings[trigrama] = Arrays.copyOf(lista, tamanho * 2);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.NomeIndexadoDTO;
+import br.com.fiap.aposta_apoio.dto.UsuarioDTO;
+import br.com.fiap.aposta_apoio.dto.UsuarioImportacaoRejeicaoDTO;
+import br.com.fiap.aposta_apoio.dto.UsuarioImportacaoResultadoDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
+import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.UsuarioBatchRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de usuários a partir de um CSV (migração de listas de programas parceiros).
+ * O arquivo é lido registro a registro e processado em lotes de api.usuarios.importacao.tamanho-lote linhas:
+ * cada lote é convertido e validado em paralelo (Bean Validation do UsuarioDTO e do endereço) e as linhas
+ * válidas são inseridas via JDBC batch em uma transação própria. Em memória ficam apenas o lote corrente e
+ * no máximo api.usuarios.importacao.max-rejeicoes rejeições, qualquer que seja o tamanho do arquivo.
+ * Lotes já gravados não são desfeitos se um lote seguinte falhar.
+ */
+@Service
+public class UsuarioImportacaoService {
+
+    public static final List<String> COLUNAS = List.of(
+            "nome", "email", "telefone", "cpf", "dataNascimento",
+            "rua", "numero", "bairro", "cidade", "estado", "cep");
+
+    private static final int MAX_CARACTERES_REGISTRO = 4096;
+
+    private record Cabecalho(int colunas, int[] posicoes) {}
+
+    private record LinhaCsv(long numero, List<String> campos, boolean excedeuLimite) {}
+
+    /** Linha convertida: usuario preenchido quando válida, erro caso contrário. */
+    private record Conversao(long linha, Usuario usuario, String erro) {}
+
+    private final UsuarioBatchRepository usuarioBatchRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ContadorResumoService contadorResumoService;
+    private final BuscaNomeService buscaNomeService;
+    private final int tamanhoLote;
+    private final int maxRejeicoes;
+
+    public UsuarioImportacaoService(UsuarioBatchRepository usuarioBatchRepository,
+                                    Validator validator,
+                                    TransactionTemplate transactionTemplate,
+                                    ContadorResumoService contadorResumoService,
+                                    BuscaNomeService buscaNomeService,
+                                    @Value("${api.usuarios.importacao.tamanho-lote:1000}") int tamanhoLote,
+                                    @Value("${api.usuarios.importacao.max-rejeicoes:1000}") int maxRejeicoes) {
+        this.usuarioBatchRepository = usuarioBatchRepository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.contadorResumoService = contadorResumoService;
+        this.buscaNomeService = buscaNomeService;
+        this.tamanhoLote = tamanhoLote;
+        this.maxRejeicoes = maxRejeicoes;
+    }
+
+    /**
+     * Importa os usuários do CSV (UTF-8, com cabeçalho contendo as {@link #COLUNAS} em qualquer ordem).
+     *
+     * @throws ParametroInvalidoException se o arquivo estiver vazio ou faltarem colunas no cabeçalho
+     */
+    public UsuarioImportacaoResultadoDTO importar(InputStream entrada) throws IOException {
+        LeitorCsv leitor = new LeitorCsv(
+                new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024),
+                MAX_CARACTERES_REGISTRO);
+        Cabecalho cabecalho = lerCabecalho(leitor);
+
+        long total = 0;
+        long importados = 0;
+        long rejeitados = 0;
+        List<UsuarioImportacaoRejeicaoDTO> rejeicoes = new ArrayList<>();
+        List<LinhaCsv> lote = new ArrayList<>(tamanhoLote);
+        List<String> campos = leitor.proximo();
+        while (campos != null) {
+            lote.add(new LinhaCsv(leitor.getLinhaInicial(), campos, leitor.isExcedeuLimite()));
+            campos = leitor.proximo();
+            if (lote.size() < tamanhoLote && campos != null) {
+                continue;
+            }
+            for (Conversao resultado : processar(lote, cabecalho)) {
+                total++;
+                if (resultado.erro() == null) {
+                    importados++;
+                } else {
+                    rejeitados++;
+                    if (rejeicoes.size() < maxRejeicoes) {
+                        rejeicoes.add(new UsuarioImportacaoRejeicaoDTO(resultado.linha(), resultado.erro()));
+                    }
+                }
+            }
+            lote.clear();
+        }
+        return new UsuarioImportacaoResultadoDTO(total, importados, rejeitados, rejeicoes, rejeitados > rejeicoes.size());
+    }
+
+    private Cabecalho lerCabecalho(LeitorCsv leitor) throws IOException {
+        List<String> nomes = leitor.proximo();
+        if (nomes == null || leitor.isExcedeuLimite()) {
+            throw new ParametroInvalidoException("O arquivo deve começar com o cabeçalho: " + String.join(",", COLUNAS) + ".");
+        }
+        int[] posicoes = new int[COLUNAS.size()];
+        Arrays.fill(posicoes, -1);
+        for (int i = 0; i < nomes.size(); i++) {
+            // Remove o BOM que alguns editores gravam no início de arquivos UTF-8
+            String nome = nomes.get(i).replace("\uFEFF", "").trim();
+            for (int c = 0; c < COLUNAS.size(); c++) {
+                if (COLUNAS.get(c).equalsIgnoreCase(nome)) {
+                    posicoes[c] = i;
+                }
+            }
+        }
+        List<String> ausentes = new ArrayList<>();
+        for (int c = 0; c < COLUNAS.size(); c++) {
+            if (posicoes[c] < 0) {
+                ausentes.add(COLUNAS.get(c));
+            }
+        }
+        if (!ausentes.isEmpty()) {
+            throw new ParametroInvalidoException("Colunas ausentes no cabeçalho: " + String.join(", ", ausentes) + ".");
+        }
+        return new Cabecalho(nomes.size(), posicoes);
+    }
+
+    /**
+     * Valida o lote em paralelo e insere as linhas válidas em uma transação; devolve o resultado na ordem do arquivo.
+     */
+    private List<Conversao> processar(List<LinhaCsv> lote, Cabecalho cabecalho) {
+        List<Conversao> conversoes = new ArrayList<>(lote.parallelStream().map(l -> converter(l, cabecalho)).toList());
+        List<Integer> indices = new ArrayList<>();
+        List<Usuario> validos = new ArrayList<>();
+        for (int i = 0; i < conversoes.size(); i++) {
+            if (conversoes.get(i).erro() == null) {
+                indices.add(i);
+                validos.add(conversoes.get(i).usuario());
+            }
+        }
+        if (validos.isEmpty()) {
+            return conversoes;
+        }
+
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> gerados = usuarioBatchRepository.inserir(validos);
+            List<NomeIndexadoDTO> nomes = new ArrayList<>(validos.size());
+            for (int j = 0; j < validos.size(); j++) {
+                if (gerados.get(j) != null) {
+                    nomes.add(new NomeIndexadoDTO(gerados.get(j), validos.get(j).getNome()));
+                }
+            }
+            // O JDBC batch não passa pelos listeners JPA nem pelos eventos do UsuarioService
+            contadorResumoService.ajustar(Usuario.class, nomes.size());
+            buscaNomeService.indexarUsuarios(nomes);
+            return gerados;
+        });
+        for (int j = 0; j < indices.size(); j++) {
+            if (ids.get(j) == null) {
+                int i = indices.get(j);
+                conversoes.set(i, new Conversao(conversoes.get(i).linha(), null, "CPF já cadastrado"));
+            }
+        }
+        return conversoes;
+    }
+
+    private Conversao converter(LinhaCsv linha, Cabecalho cabecalho) {
+        if (linha.excedeuLimite()) {
+            return new Conversao(linha.numero(), null, "Registro excede " + MAX_CARACTERES_REGISTRO + " caracteres");
+        }
+        List<String> campos = linha.campos();
+        if (campos.size() != cabecalho.colunas()) {
+            return new Conversao(linha.numero(), null,
+                    "Esperadas " + cabecalho.colunas() + " colunas, encontradas " + campos.size());
+        }
+        int[] p = cabecalho.posicoes();
+        List<String> erros = new ArrayList<>();
+        LocalDate dataNascimento = null;
+        String data = campo(campos, p[4]);
+        if (data != null) {
+            try {
+                dataNascimento = LocalDate.parse(data);
+            } catch (DateTimeParseException e) {
+                erros.add("dataNascimento: Data inválida, use o formato AAAA-MM-DD");
+            }
+        }
+        EnderecoVO endereco = new EnderecoVO(campo(campos, p[5]), campo(campos, p[6]), campo(campos, p[7]),
+                campo(campos, p[8]), campo(campos, p[9]), campo(campos, p[10]));
+        UsuarioDTO dto = new UsuarioDTO(null, campo(campos, p[0]), campo(campos, p[1]), campo(campos, p[2]),
+                campo(campos, p[3]), dataNascimento, endereco);
+
+        for (ConstraintViolation<UsuarioDTO> v : validator.validate(dto)) {
+            // Data presente mas em formato inválido já foi reportada acima
+            if (!(data != null && "dataNascimento".equals(v.getPropertyPath().toString()))) {
+                erros.add(v.getPropertyPath() + ": " + v.getMessage());
+            }
+        }
+        String cpf = null;
+        if (dto.cpf() != null) {
+            try {
+                cpf = Cpf.normalizar(dto.cpf());
+            } catch (ParametroInvalidoException e) {
+                erros.add("cpf: " + e.getMessage());
+            }
+        }
+        // O endereço é gravado em colunas NOT NULL, então seus campos também são validados
+        for (ConstraintViolation<EnderecoVO> v : validator.validate(endereco)) {
+            erros.add("endereco." + v.getPropertyPath() + ": " + v.getMessage());
+        }
+        if (!erros.isEmpty()) {
+            return new Conversao(linha.numero(), null, erros.stream().sorted().collect(Collectors.joining("; ")));
+        }
+
+        Usuario usuario = new Usuario();
+        usuario.setNome(dto.nome());
+        usuario.setEmail(dto.email());
+        usuario.setTelefone(dto.telefone());
+        usuario.setCpf(cpf);
+        usuario.setDataNascimento(dto.dataNascimento());
+        usuario.setEndereco(endereco);
+        return new Conversao(linha.numero(), usuario, null);
+    }
+
+    private static String campo(List<String> campos, int posicao) {
+        String valor = campos.get(posicao).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+}
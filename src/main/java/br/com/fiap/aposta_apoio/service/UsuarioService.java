@@ -1,15 +1,34 @@
 package br.com.fiap.aposta_apoio.service;
 
+import br.com.fiap.aposta_apoio.dto.BuscaPorIdsDTO;
+import br.com.fiap.aposta_apoio.dto.CursorPageDTO;
+import br.com.fiap.aposta_apoio.dto.SlicePageDTO;
 import br.com.fiap.aposta_apoio.dto.UsuarioDTO;
+import br.com.fiap.aposta_apoio.event.UsuarioAlteradoEvent;
 import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.ExportacaoRepository;
+import br.com.fiap.aposta_apoio.repository.KeysetRepository;
 import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
 import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Implementação do serviço de usuários.
@@ -19,15 +38,33 @@ import java.util.stream.Collectors;
  * - LSP (Liskov Substitution): pode ser substituído por qualquer implementação de IUsuarioService
  * - ISP (Interface Segregation): interface específica para operações de usuário
  * - DIP (Dependency Inversion): depende de abstrações (UsuarioRepository, SessaoApoioRepository)
+ * Cada escrita publica um UsuarioAlteradoEvent para manter caches e índices em memória atualizados.
  */
 @Service
 public class UsuarioService implements IUsuarioService {
+    private static final Map<String, PaginacaoPorCursor.Campo<Usuario>> CAMPOS_CURSOR = Map.of(
+            "id", new PaginacaoPorCursor.Campo<>(Long::valueOf, Usuario::getId),
+            "nome", new PaginacaoPorCursor.Campo<>(valor -> valor, Usuario::getNome));
+
     private final UsuarioRepository repository;
     private final SessaoApoioRepository sessaoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetRepository keysetRepository;
+    private final BuscaNomeService buscaNomeService;
+    private final ExportacaoRepository exportacaoRepository;
+    private final ObjectWriter jsonWriter;
 
-    public UsuarioService(UsuarioRepository repository, SessaoApoioRepository sessaoRepository) {
+    public UsuarioService(UsuarioRepository repository, SessaoApoioRepository sessaoRepository,
+                          ApplicationEventPublisher eventPublisher, KeysetRepository keysetRepository,
+                          BuscaNomeService buscaNomeService, ExportacaoRepository exportacaoRepository,
+                          ObjectMapper objectMapper) {
         this.repository = repository;
         this.sessaoRepository = sessaoRepository;
+        this.eventPublisher = eventPublisher;
+        this.keysetRepository = keysetRepository;
+        this.buscaNomeService = buscaNomeService;
+        this.exportacaoRepository = exportacaoRepository;
+        this.jsonWriter = SaidaJson.escritor(objectMapper, UsuarioDTO.class);
     }
 
     @Override
@@ -36,32 +73,99 @@ public class UsuarioService implements IUsuarioService {
         usuario.setNome(dto.nome());
         usuario.setEmail(dto.email());
         usuario.setTelefone(dto.telefone());
-        usuario.setCpf(dto.cpf());
+        usuario.setCpf(Cpf.normalizar(dto.cpf()));
         usuario.setDataNascimento(dto.dataNascimento());
         usuario.setEndereco(dto.endereco());
-        Usuario salvo = repository.save(usuario);
+        Usuario salvo = salvar(usuario);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(salvo.getId(), salvo.getLogin(), UsuarioAlteradoEvent.Tipo.CRIADO));
         return toDTO(salvo);
     }
 
+    /**
+     * Escreve todos os usuários na saída como um array JSON, lendo-os do cursor um a um, e devolve quantos foram
+     * escritos. A memória usada não depende do total de usuários. A consulta é aberta antes do primeiro byte,
+     * então falhas nela ainda viram uma resposta de erro; uma falha no meio da leitura trunca o array.
+     */
     @Override
-    public List<UsuarioDTO> listar() {
-        return repository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.EXPORTACAO)
+    public long listar(OutputStream saida) throws IOException {
+        try (Stream<UsuarioDTO> usuarios = exportacaoRepository.streamUsuarios()) {
+            SaidaJson saidaJson = SaidaJson.abrir(jsonWriter, saida);
+            long total = 0;
+            saidaJson.json().writeStartArray();
+            Iterator<UsuarioDTO> iterator = usuarios.iterator();
+            while (iterator.hasNext()) {
+                saidaJson.escrever(iterator.next());
+                total++;
+            }
+            saidaJson.json().writeEndArray();
+            saidaJson.concluir();
+            return total;
+        }
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
     public Page<UsuarioDTO> listarPaginado(Pageable pageable) {
         return repository.findAll(pageable).map(this::toDTO);
     }
 
     @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public SlicePageDTO<UsuarioDTO> listarPorSlice(Pageable pageable) {
+        return SlicePageDTO.of(repository.findAllBy(pageable).map(this::toDTO));
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public CursorPageDTO<UsuarioDTO> listarPorCursor(String cursor, int tamanho, String ordem, Sort.Direction direcao) {
+        return PaginacaoPorCursor.paginar(cursor, tamanho, ordem, direcao, CAMPOS_CURSOR, Usuario::getId,
+                (campo, valor, ultimoId, limite) -> keysetRepository.buscarApos(Usuario.class, "e", "Usuario", campo, direcao,
+                        valor, ultimoId, limite),
+                this::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.LISTAGEM)
+    public Page<UsuarioDTO> buscarPorNome(String nome, Pageable pageable) {
+        TrigramIndex.Resultado resultado = buscaNomeService.buscarUsuarios(nome, pageable);
+        Map<Long, Usuario> encontrados = new HashMap<>();
+        for (Usuario u : repository.findAllById(Arrays.stream(resultado.ids()).boxed().toList())) {
+            encontrados.put(u.getId(), u);
+        }
+        // Mantém a ordem de relevância do índice
+        List<UsuarioDTO> pagina = Arrays.stream(resultado.ids())
+                .filter(encontrados::containsKey)
+                .mapToObj(id -> toDTO(encontrados.get(id)))
+                .toList();
+        return new PageImpl<>(pagina, pageable, resultado.total());
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.DETALHE)
     public UsuarioDTO buscarPorId(Long id) {
         Usuario usuario = repository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
         return toDTO(usuario);
     }
 
+    /**
+     * Busca todos os ids com uma única consulta IN; {@code ids} já sem repetições (ver BuscaPorIds.distintos).
+     */
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.DETALHE)
+    public BuscaPorIdsDTO<UsuarioDTO> buscarPorIds(List<Long> ids) {
+        return BuscaPorIds.montar(ids, repository.findAllById(ids), Usuario::getId, this::toDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true, timeoutString = TimeoutConsulta.DETALHE)
+    public UsuarioDTO buscarPorCpf(String cpf) {
+        Usuario usuario = repository.findByCpf(Cpf.normalizar(cpf))
+            .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+        return toDTO(usuario);
+    }
+
     @Override
     public UsuarioDTO atualizar(Long id, UsuarioDTO dto) {
         Usuario usuario = repository.findById(id)
@@ -69,10 +173,11 @@ public class UsuarioService implements IUsuarioService {
         usuario.setNome(dto.nome());
         usuario.setEmail(dto.email());
         usuario.setTelefone(dto.telefone());
-        usuario.setCpf(dto.cpf());
+        usuario.setCpf(Cpf.normalizar(dto.cpf()));
         usuario.setDataNascimento(dto.dataNascimento());
         usuario.setEndereco(dto.endereco());
-        Usuario atualizado = repository.save(usuario);
+        Usuario atualizado = salvar(usuario);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(atualizado.getId(), atualizado.getLogin(), UsuarioAlteradoEvent.Tipo.ATUALIZADO));
         return toDTO(atualizado);
     }
 
@@ -85,6 +190,22 @@ public class UsuarioService implements IUsuarioService {
             throw new IllegalStateException("Usuário possui sessões vinculadas e não pode ser removido.");
         }
         repository.delete(usuario);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuario.getId(), usuario.getLogin(), UsuarioAlteradoEvent.Tipo.REMOVIDO));
+    }
+
+    /**
+     * O índice único de CPF resolve a disputa entre cadastros simultâneos, sem consulta prévia.
+     * Outras violações de integridade são repassadas sem alteração.
+     */
+    private Usuario salvar(Usuario usuario) {
+        try {
+            return repository.saveAndFlush(usuario);
+        } catch (DataIntegrityViolationException e) {
+            if (Cpf.violouIndiceUnico(e)) {
+                throw new IllegalStateException("CPF já cadastrado");
+            }
+            throw e;
+        }
     }
 
     private UsuarioDTO toDTO(Usuario u) {
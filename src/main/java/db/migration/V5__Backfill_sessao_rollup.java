@@ -0,0 +1,58 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Preenche sessao_rollup a partir das sessões já existentes.
+ * Processa faixas de ids de sessao_apoio para não manter uma única transação/varredura
+ * gigante sobre a tabela; cada faixa soma seus totais aos buckets já gravados e é confirmada
+ * ao terminar. Como as faixas somam aos totais, a tabela é esvaziada antes de começar, para que
+ * uma reexecução após falha no meio não conte sessões em dobro.
+ */
+public class V5__Backfill_sessao_rollup extends BaseJavaMigration {
+
+    private static final long TAMANHO_FAIXA = 10_000;
+
+    private static final String AGREGAR_FAIXA = """
+            INSERT INTO sessao_rollup (dia, especialidade, estado, total)
+            SELECT DATE(s.data_hora), p.especialidade, p.estado, COUNT(*)
+            FROM sessao_apoio s
+            JOIN profissional p ON p.id = s.profissional_id
+            WHERE s.id > ? AND s.id <= ?
+            GROUP BY DATE(s.data_hora), p.especialidade, p.estado
+            ON DUPLICATE KEY UPDATE total = total + VALUES(total)
+            """;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        // Cada faixa é confirmada separadamente (autocommit), como em V9
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection con = context.getConnection();
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate("DELETE FROM sessao_rollup");
+        }
+        long maiorId;
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM sessao_apoio")) {
+            rs.next();
+            maiorId = rs.getLong(1);
+        }
+        try (PreparedStatement ps = con.prepareStatement(AGREGAR_FAIXA)) {
+            for (long inicio = 0; inicio < maiorId; inicio += TAMANHO_FAIXA) {
+                ps.setLong(1, inicio);
+                ps.setLong(2, inicio + TAMANHO_FAIXA);
+                ps.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package db.migration;
+
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.service.Cpf;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normaliza usuario.cpf para apenas dígitos e cria o índice único uk_usuario_cpf.
+ * Percorre faixas de ids para não manter uma única varredura/transação gigante sobre a tabela;
+ * cada faixa é confirmada ao terminar. A migração é idempotente (normalizar de novo não altera nada),
+ * então pode ser reexecutada se falhar no meio. Se a normalização deixar CPFs sem 11 dígitos (que a
+ * busca por CPF e a autoexclusão deixariam de encontrar) ou revelar CPFs duplicados, o índice não é
+ * criado e a migração falha listando-os, para que sejam resolvidos manualmente.
+ */
+public class V9__Normalizar_cpf_usuario extends BaseJavaMigration {
+
+    private static final long TAMANHO_FAIXA = 10_000;
+
+    private static final String SELECIONAR_FAIXA = "SELECT id, cpf FROM usuario WHERE id > ? AND id <= ?";
+    private static final String ATUALIZAR = "UPDATE usuario SET cpf = ? WHERE id = ?";
+    private static final String INVALIDOS = "SELECT id, cpf FROM usuario WHERE CHAR_LENGTH(cpf) <> " + Cpf.DIGITOS;
+    private static final String DUPLICADOS = "SELECT cpf FROM usuario GROUP BY cpf HAVING COUNT(*) > 1";
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        // Cada faixa é confirmada separadamente; no MySQL o CREATE INDEX faria commit implícito de qualquer forma
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection con = context.getConnection();
+        long maiorId;
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM usuario")) {
+            rs.next();
+            maiorId = rs.getLong(1);
+        }
+        try (PreparedStatement selecionar = con.prepareStatement(SELECIONAR_FAIXA);
+             PreparedStatement atualizar = con.prepareStatement(ATUALIZAR)) {
+            for (long inicio = 0; inicio < maiorId; inicio += TAMANHO_FAIXA) {
+                selecionar.setLong(1, inicio);
+                selecionar.setLong(2, inicio + TAMANHO_FAIXA);
+                boolean alterou = false;
+                try (ResultSet rs = selecionar.executeQuery()) {
+                    while (rs.next()) {
+                        String cpf = rs.getString(2);
+                        String digitos = cpf.replaceAll("[^0-9]", "");
+                        if (!digitos.equals(cpf)) {
+                            atualizar.setString(1, digitos);
+                            atualizar.setLong(2, rs.getLong(1));
+                            atualizar.addBatch();
+                            alterou = true;
+                        }
+                    }
+                }
+                if (alterou) {
+                    atualizar.executeBatch();
+                }
+            }
+        }
+
+        List<String> invalidos = new ArrayList<>();
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(INVALIDOS)) {
+            while (rs.next() && invalidos.size() < 20) {
+                invalidos.add("id " + rs.getLong(1) + " (\"" + rs.getString(2) + "\")");
+            }
+        }
+        if (!invalidos.isEmpty()) {
+            throw new IllegalStateException("CPFs sem " + Cpf.DIGITOS + " dígitos após a normalização (primeiros "
+                    + invalidos.size() + "): " + String.join(", ", invalidos)
+                    + ". Corrija-os e execute a migração novamente.");
+        }
+
+        List<String> duplicados = new ArrayList<>();
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(DUPLICADOS)) {
+            while (rs.next() && duplicados.size() < 20) {
+                duplicados.add(rs.getString(1));
+            }
+        }
+        if (!duplicados.isEmpty()) {
+            throw new IllegalStateException("CPFs duplicados após a normalização (primeiros " + duplicados.size()
+                    + "): " + String.join(", ", duplicados) + ". Resolva-os e execute a migração novamente.");
+        }
+        try (Statement st = con.createStatement()) {
+            st.execute("CREATE UNIQUE INDEX " + Usuario.INDICE_CPF + " ON usuario(cpf)");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- Registro de autoexclusão (um por usuário); o CPF é obtido de usuario pelo índice único uk_usuario_cpf
+CREATE TABLE autoexclusao (
+    usuario_id BIGINT PRIMARY KEY,
+    data_inicio DATETIME NOT NULL,
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
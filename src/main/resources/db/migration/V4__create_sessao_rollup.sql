@@ -0,0 +1,8 @@
+-- Agregado diário de sessões por especialidade e estado do profissional (alimenta /dashboard/sessoes)
+CREATE TABLE sessao_rollup (
+    dia DATE NOT NULL,
+    especialidade VARCHAR(50) NOT NULL,
+    estado VARCHAR(2) NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (dia, especialidade, estado)
+);
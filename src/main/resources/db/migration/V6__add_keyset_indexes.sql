@@ -0,0 +1,4 @@
+-- Índices para a paginação por cursor (keyset): ordenação por (campo, id) sem OFFSET
+CREATE INDEX idx_sessao_apoio_data_hora_id ON sessao_apoio(data_hora, id);
+CREATE INDEX idx_usuario_nome_id ON usuario(nome, id);
+CREATE INDEX idx_profissional_nome_id ON profissional(nome, id);
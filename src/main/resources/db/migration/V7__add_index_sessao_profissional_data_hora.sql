@@ -0,0 +1,2 @@
+-- Agenda por profissional: reconciliação e busca de conflitos de horário
+CREATE INDEX idx_sessao_apoio_profissional_data_hora ON sessao_apoio(profissional_id, data_hora);
@@ -0,0 +1,4 @@
+-- Índice composto para a busca de profissionais por especialidade, estado e cidade.
+-- Cobre também filtros só por especialidade (prefixo), tornando o índice da V2 redundante.
+CREATE INDEX idx_profissional_especialidade_estado_cidade ON profissional(especialidade, estado, cidade);
+DROP INDEX idx_profissional_especialidade ON profissional;
@@ -0,0 +1,104 @@
+package br.com.fiap.aposta_apoio.benchmark;
+
+import br.com.fiap.aposta_apoio.service.CepTrie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH da busca dos k profissionais mais próximos por CEP, com 100 mil profissionais.
+ * Compara a varredura linear (equivalente a avaliar todos os CEPs a cada pedido)
+ * com a CepTrie usada pelo ProximidadeProfissionalService.
+ *
+ * Execução: mvn test-compile e então rodar o método main desta classe pela IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepTrieBenchmark {
+
+    private static final int PROFISSIONAIS = 100_000;
+    private static final int CONSULTAS = 1024;
+
+    @Param({"10"})
+    private int k;
+
+    private CepTrie trie;
+    private int[] ceps;
+    private String[] consultas;
+    private int proxima;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        trie = new CepTrie();
+        ceps = new int[PROFISSIONAIS];
+        for (int i = 0; i < PROFISSIONAIS; i++) {
+            ceps[i] = random.nextInt(100_000_000);
+            trie.indexar(i, String.format("%08d", ceps[i]));
+        }
+        consultas = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            consultas[i] = String.format("%08d", random.nextInt(100_000_000));
+        }
+    }
+
+    @Benchmark
+    public long[] varreduraLinear() {
+        int cep = Integer.parseInt(proximaConsulta());
+        long[] melhores = new long[k];
+        long[] chaves = new long[k];
+        Arrays.fill(chaves, Long.MAX_VALUE);
+        for (int i = 0; i < ceps.length; i++) {
+            // Menor chave = mais dígitos em comum e, em seguida, menor distância numérica
+            long chave = ((long) (8 - prefixoEmComum(cep, ceps[i])) << 32) | Math.abs(cep - ceps[i]);
+            if (chave < chaves[k - 1]) {
+                int j = k - 1;
+                while (j > 0 && chaves[j - 1] > chave) {
+                    chaves[j] = chaves[j - 1];
+                    melhores[j] = melhores[j - 1];
+                    j--;
+                }
+                chaves[j] = chave;
+                melhores[j] = i;
+            }
+        }
+        return melhores;
+    }
+
+    @Benchmark
+    public CepTrie.Resultado trie() {
+        return trie.proximos(proximaConsulta(), k);
+    }
+
+    private String proximaConsulta() {
+        proxima = (proxima + 1) & (CONSULTAS - 1);
+        return consultas[proxima];
+    }
+
+    private static int prefixoEmComum(int a, int b) {
+        int divisor = 10_000_000;
+        int comum = 0;
+        while (divisor > 0 && a / divisor == b / divisor) {
+            comum++;
+            divisor /= 10;
+        }
+        return comum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CepTrieBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.fiap.aposta_apoio.benchmark;
+
+import br.com.fiap.aposta_apoio.service.CpfOffHeapSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH da consulta de autoexclusão com 1 milhão de CPFs.
+ * Compara um HashSet&lt;Long&gt; (boxing a cada consulta) com o CpfOffHeapSet usado pelo
+ * AutoExclusaoService, para CPFs presentes e ausentes (o caso comum, filtrado pelo Bloom).
+ * Execute com -prof gc para confirmar que o CpfOffHeapSet não aloca por consulta.
+ *
+ * Execução: mvn test-compile e então rodar o método main desta classe pela IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfOffHeapSetBenchmark {
+
+    private static final int CPFS = 1_000_000;
+    private static final int CONSULTAS = 4096;
+
+    private CpfOffHeapSet offHeap;
+    private Set<Long> hashSet;
+    private long[] presentes;
+    private long[] ausentes;
+    private int proxima;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        offHeap = new CpfOffHeapSet(CPFS);
+        hashSet = new HashSet<>(CPFS * 2);
+        long[] cpfs = new long[CPFS];
+        for (int i = 0; i < CPFS; i++) {
+            cpfs[i] = Math.floorMod(random.nextLong(), 100_000_000_000L);
+            offHeap.adicionar(cpfs[i]);
+            hashSet.add(cpfs[i]);
+        }
+        presentes = new long[CONSULTAS];
+        ausentes = new long[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            presentes[i] = cpfs[random.nextInt(CPFS)];
+            long ausente;
+            do {
+                ausente = Math.floorMod(random.nextLong(), 100_000_000_000L);
+            } while (hashSet.contains(ausente));
+            ausentes[i] = ausente;
+        }
+    }
+
+    @Benchmark
+    public boolean hashSetPresente() {
+        return hashSet.contains(presentes[proximo()]);
+    }
+
+    @Benchmark
+    public boolean hashSetAusente() {
+        return hashSet.contains(ausentes[proximo()]);
+    }
+
+    @Benchmark
+    public boolean offHeapPresente() {
+        return offHeap.contem(presentes[proximo()]);
+    }
+
+    @Benchmark
+    public boolean offHeapAusente() {
+        return offHeap.contem(ausentes[proximo()]);
+    }
+
+    private int proximo() {
+        proxima = (proxima + 1) & (CONSULTAS - 1);
+        return proxima;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CpfOffHeapSetBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.fiap.aposta_apoio.benchmark;
+
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.security.TokenService;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH da validação de tokens JWT.
+ * Compara o caminho antigo (Algorithm + JWTVerifier criados a cada chamada)
+ * com o TokenService atual (verificador compartilhado + cache de tokens verificados).
+ *
+ * Execução: mvn test-compile e então rodar o método main desta classe pela IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt";
+
+    private TokenService semCache;
+    private TokenService comCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        semCache = criarTokenService(0);
+        comCache = criarTokenService(10_000);
+
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setLogin("joao.silva");
+        usuario.setRole("USER");
+        token = comCache.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String caminhoAntigo() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer("aposta-apoio-api")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String verificadorCompartilhado() {
+        return semCache.validarToken(token);
+    }
+
+    @Benchmark
+    public String verificadorComCache() {
+        return comCache.validarToken(token);
+    }
+
+    private static TokenService criarTokenService(int cacheMaxEntries) {
+        TokenService service = new TokenService();
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "expiration", 3600000L);
+        ReflectionTestUtils.setField(service, "cacheMaxEntries", cacheMaxEntries);
+        ReflectionTestUtils.invokeMethod(service, "inicializar");
+        return service;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TokenServiceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -3,7 +3,9 @@ package br.com.fiap.aposta_apoio.controller;
 import br.com.fiap.aposta_apoio.dto.LoginDTO;
 import br.com.fiap.aposta_apoio.dto.RegistroDTO;
 import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Usuario;
 import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import br.com.fiap.aposta_apoio.security.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,12 +13,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +45,9 @@ class AuthControllerIntegrationTest {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private TokenService tokenService;
+
     private RegistroDTO registroDTO;
     private LoginDTO loginDTO;
 
@@ -88,11 +97,31 @@ class AuthControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(registroDTO)))
                 .andExpect(status().isCreated());
 
-        // Segundo registro com mesmo login
+        // Segundo registro com mesmo login (e outro CPF)
+        RegistroDTO mesmoLogin = new RegistroDTO(registroDTO.nome(), registroDTO.email(), registroDTO.telefone(), "98765432100",
+            registroDTO.dataNascimento(), registroDTO.endereco(), registroDTO.login(), registroDTO.senha(), null);
+        mockMvc.perform(post("/auth/registro")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(mesmoLogin)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensagem").value("Login já cadastrado"));
+    }
+
+    @Test
+    void naoDeveRegistrarUsuarioComCpfDuplicadoEmOutroFormato() throws Exception {
         mockMvc.perform(post("/auth/registro")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(registroDTO)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isCreated());
+
+        // Mesmo CPF com pontuação: normalizado para os mesmos dígitos
+        RegistroDTO mesmoCpf = new RegistroDTO(registroDTO.nome(), registroDTO.email(), registroDTO.telefone(), "123.456.789-01",
+            registroDTO.dataNascimento(), registroDTO.endereco(), "outro.login", registroDTO.senha(), null);
+        mockMvc.perform(post("/auth/registro")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(mesmoCpf)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensagem").value("CPF já cadastrado"));
     }
 
     @Test
@@ -157,5 +186,114 @@ class AuthControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(registroInvalido)))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    void deveRegravarHashQuandoCustoDoBcryptMudar() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Maria");
+        usuario.setEmail("maria@test.com");
+        usuario.setTelefone("11999999999");
+        usuario.setCpf("98765432100");
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        usuario.setLogin("maria");
+        usuario.setSenha(new BCryptPasswordEncoder(4).encode("senha123"));
+        usuarioRepository.save(usuario);
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginDTO("maria", "senha123"))))
+                .andExpect(status().isOk());
+
+        Usuario atualizado = (Usuario) usuarioRepository.findByLogin("maria");
+        assertTrue(atualizado.getSenha().startsWith("$2a$10$"));
+    }
+
+    @Test
+    void deveRegistrarLoteComResultadoPorItem() throws Exception {
+        Usuario admin = salvarUsuario("admin", "ADMIN");
+        salvarUsuario("existente", "USER");
+
+        RegistroDTO invalido = new RegistroDTO("", "email-invalido", "11999999999", "12345678901",
+            LocalDate.of(1990, 1, 1), registroDTO.endereco(), "invalido", "senha123", null);
+
+        List<RegistroDTO> lote = List.of(
+            comLogin("ana"),
+            invalido,
+            comLogin("ana"),
+            comLogin("existente"),
+            comLogin("bruno")
+        );
+
+        mockMvc.perform(post("/auth/registro/lote")
+                .header("Authorization", "Bearer " + tokenService.gerarToken(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.criados").value(2))
+                .andExpect(jsonPath("$.rejeitados").value(3))
+                .andExpect(jsonPath("$.itens[0].status").value("CRIADO"))
+                .andExpect(jsonPath("$.itens[0].id").isNumber())
+                .andExpect(jsonPath("$.itens[1].status").value("INVALIDO"))
+                .andExpect(jsonPath("$.itens[2].status").value("DUPLICADO"))
+                .andExpect(jsonPath("$.itens[3].status").value("DUPLICADO"))
+                .andExpect(jsonPath("$.itens[4].status").value("CRIADO"));
+
+        Usuario bruno = (Usuario) usuarioRepository.findByLogin("bruno");
+        assertEquals("USER", bruno.getRole());
+        assertTrue(bruno.getSenha().startsWith("$2a$"));
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginDTO("ana", "senha123"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void naoDevePermitirRegistroEmLoteSemPerfilAdmin() throws Exception {
+        Usuario usuario = salvarUsuario("comum", "USER");
+
+        mockMvc.perform(post("/auth/registro/lote")
+                .header("Authorization", "Bearer " + tokenService.gerarToken(usuario))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(comLogin("ana")))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deveRejeitarLoteVazio() throws Exception {
+        Usuario admin = salvarUsuario("admin", "ADMIN");
+
+        mockMvc.perform(post("/auth/registro/lote")
+                .header("Authorization", "Bearer " + tokenService.gerarToken(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private RegistroDTO comLogin(String login) {
+        return new RegistroDTO(registroDTO.nome(), registroDTO.email(), registroDTO.telefone(), cpfDe(login),
+            registroDTO.dataNascimento(), registroDTO.endereco(), login, registroDTO.senha(), null);
+    }
+
+    /** CPF distinto por login (o CPF é único), no formato com pontuação para exercitar a normalização. */
+    private static String cpfDe(String login) {
+        String digitos = String.format("%011d", Math.floorMod(login.hashCode(), 100_000_000_000L));
+        return digitos.substring(0, 3) + "." + digitos.substring(3, 6) + "." + digitos.substring(6, 9) + "-" + digitos.substring(9);
+    }
+
+    private Usuario salvarUsuario(String login, String role) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuário " + login);
+        usuario.setEmail(login + "@test.com");
+        usuario.setTelefone("11999999999");
+        usuario.setCpf(cpfDe(login).replaceAll("[^0-9]", ""));
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        usuario.setLogin(login);
+        usuario.setSenha(new BCryptPasswordEncoder(4).encode("senha123"));
+        usuario.setRole(role);
+        return usuarioRepository.save(usuario);
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.fiap.aposta_apoio.controller;
+
+import br.com.fiap.aposta_apoio.dto.AutoExclusaoDTO;
+import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import br.com.fiap.aposta_apoio.service.AutoExclusaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração para AutoExclusaoController.
+ * O conjunto em memória só é ajustado após o commit; como cada teste roda em uma transação desfeita
+ * ao final, o conjunto é reconstruído explicitamente depois de cada escrita.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class AutoExclusaoControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private AutoExclusaoService autoExclusaoService;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setNome("João Silva");
+        usuario.setEmail("joao@test.com");
+        usuario.setTelefone("11999999999");
+        usuario.setCpf("12345678901");
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveRegistrarConsultarERevogarAutoexclusao() throws Exception {
+        mockMvc.perform(post("/autoexclusoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AutoExclusaoDTO(usuario.getId(), null))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.usuarioId").value(usuario.getId()))
+                .andExpect(jsonPath("$.dataInicio").exists());
+        autoExclusaoService.reconciliar();
+
+        mockMvc.perform(get("/autoexclusoes/cpf/123.456.789-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cpf").value("12345678901"))
+                .andExpect(jsonPath("$.autoexcluido").value(true));
+
+        mockMvc.perform(post("/autoexclusoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AutoExclusaoDTO(usuario.getId(), null))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/autoexclusoes/" + usuario.getId()))
+                .andExpect(status().isNoContent());
+        autoExclusaoService.reconciliar();
+
+        mockMvc.perform(get("/autoexclusoes/cpf/12345678901"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.autoexcluido").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveVerificarCpfsEmLoteSeparandoOsInvalidos() throws Exception {
+        mockMvc.perform(post("/autoexclusoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AutoExclusaoDTO(usuario.getId(), null))))
+                .andExpect(status().isCreated());
+        autoExclusaoService.reconciliar();
+
+        mockMvc.perform(post("/autoexclusoes/verificacao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of("98765432100", "123.456.789-01", "123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.autoexcluidos.length()").value(1))
+                .andExpect(jsonPath("$.autoexcluidos[0]").value("12345678901"))
+                .andExpect(jsonPath("$.invalidos[0]").value("123"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveRetornar404ParaUsuarioInexistenteE400ParaCpfInvalido() throws Exception {
+        mockMvc.perform(post("/autoexclusoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AutoExclusaoDTO(999_999L, null))))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/autoexclusoes/cpf/abc"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/autoexclusoes/verificacao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.fiap.aposta_apoio.controller;
+
+import br.com.fiap.aposta_apoio.dto.ProfissionalDTO;
+import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração para o DashboardController.
+ * Valida a série de sessões lida do agregado diário mantido pelas escritas de sessões e profissionais.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser(username = "admin", roles = {"USER"})
+class DashboardControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Long usuarioId;
+    private Long psicologoSpId;
+    private Long coachRjId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setNome("João Silva");
+        usuario.setEmail("joao@test.com");
+        usuario.setTelefone("11999999999");
+        usuario.setCpf("12345678901");
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        usuarioId = usuarioRepository.save(usuario).getId();
+
+        psicologoSpId = criarProfissional(Especialidade.PSICOLOGIA, "SP");
+        coachRjId = criarProfissional(Especialidade.COACHING, "RJ");
+    }
+
+    @Test
+    void deveAgruparSessoesPorSemanaEEspecialidade() throws Exception {
+        criarSessao(psicologoSpId, LocalDateTime.of(2025, 3, 3, 10, 0));  // segunda-feira
+        criarSessao(psicologoSpId, LocalDateTime.of(2025, 3, 5, 10, 0));
+        criarSessao(coachRjId, LocalDateTime.of(2025, 3, 6, 15, 0));
+        criarSessao(coachRjId, LocalDateTime.of(2025, 3, 12, 15, 0));
+
+        mockMvc.perform(get("/dashboard/sessoes")
+                .param("inicio", "2025-03-01")
+                .param("fim", "2025-03-31")
+                .param("granularidade", "SEMANA")
+                .param("agrupamento", "ESPECIALIDADE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].periodo").value("2025-03-03"))
+                .andExpect(jsonPath("$[0].grupo").value("COACHING"))
+                .andExpect(jsonPath("$[0].total").value(1))
+                .andExpect(jsonPath("$[1].grupo").value("PSICOLOGIA"))
+                .andExpect(jsonPath("$[1].total").value(2))
+                .andExpect(jsonPath("$[2].periodo").value("2025-03-10"))
+                .andExpect(jsonPath("$[2].total").value(1));
+    }
+
+    @Test
+    void deveManterAgregadoAoAtualizarERemoverSessoes() throws Exception {
+        Long sessaoId = criarSessao(psicologoSpId, LocalDateTime.of(2025, 3, 3, 10, 0));
+        Long outraId = criarSessao(psicologoSpId, LocalDateTime.of(2025, 3, 3, 11, 0));
+
+        // Move a sessão para outro profissional e outro mês
+        mockMvc.perform(put("/sessoes/" + sessaoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SessaoApoioDTO(null, usuarioId, coachRjId,
+                        LocalDateTime.of(2025, 4, 10, 10, 0), "Remarcada"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/sessoes/" + outraId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/dashboard/sessoes")
+                .param("inicio", "2025-03-01")
+                .param("fim", "2025-04-30")
+                .param("granularidade", "MES")
+                .param("agrupamento", "ESTADO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].periodo").value("2025-04-01"))
+                .andExpect(jsonPath("$[0].grupo").value("RJ"))
+                .andExpect(jsonPath("$[0].total").value(1));
+    }
+
+    @Test
+    void deveMoverTotaisQuandoProfissionalMudaDeEstado() throws Exception {
+        criarSessao(psicologoSpId, LocalDateTime.of(2025, 3, 3, 10, 0));
+
+        ProfissionalDTO atualizado = new ProfissionalDTO(null, "Dra. Ana", "ana@test.com", Especialidade.PSICOLOGIA,
+                new EnderecoVO("Av. Atlântica", "10", "Copacabana", "Rio de Janeiro", "RJ", "22010000"));
+        mockMvc.perform(put("/profissionais/" + psicologoSpId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(atualizado)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/dashboard/sessoes")
+                .param("inicio", "2025-03-03")
+                .param("fim", "2025-03-03")
+                .param("agrupamento", "ESTADO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].grupo").value("RJ"))
+                .andExpect(jsonPath("$[0].total").value(1));
+    }
+
+    @Test
+    void deveRetornar400ComParametrosInvalidos() throws Exception {
+        mockMvc.perform(get("/dashboard/sessoes").param("granularidade", "ANO"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/dashboard/sessoes")
+                .param("inicio", "2025-03-10")
+                .param("fim", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long criarProfissional(Especialidade especialidade, String estado) throws Exception {
+        ProfissionalDTO dto = new ProfissionalDTO(null, "Profissional " + estado, "prof@test.com", especialidade,
+                new EnderecoVO("Rua Teste", "1", "Centro", "Cidade", estado, "01001000"));
+        String resposta = mockMvc.perform(post("/profissionais")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("id").asLong();
+    }
+
+    private Long criarSessao(Long profissionalId, LocalDateTime dataHora) throws Exception {
+        SessaoApoioDTO dto = new SessaoApoioDTO(null, usuarioId, profissionalId, dataHora, "Sessão");
+        String resposta = mockMvc.perform(post("/sessoes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(resposta);
+        return json.get("id").asLong();
+    }
+}
@@ -3,17 +3,32 @@ package br.com.fiap.aposta_apoio.controller;
 import br.com.fiap.aposta_apoio.dto.ProfissionalDTO;
 import br.com.fiap.aposta_apoio.model.EnderecoVO;
 import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import br.com.fiap.aposta_apoio.service.BuscaNomeService;
+import br.com.fiap.aposta_apoio.service.ProximidadeProfissionalService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@TestPropertySource(properties = "api.consultas.timeout.detalhe-segundos=1")
 @Transactional
 class ProfissionalControllerIntegrationTest {
 
@@ -33,6 +49,18 @@ class ProfissionalControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private BuscaNomeService buscaNomeService;
+
+    @Autowired
+    private ProximidadeProfissionalService proximidadeService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @MockitoSpyBean
+    private ProfissionalRepository profissionalRepository;
+
     @Test
     @WithMockUser(username = "admin", roles = {"USER"})
     void deveCriarProfissionalComSucesso() throws Exception {
@@ -92,5 +120,190 @@ class ProfissionalControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isUnauthorized());
     }
-}
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveBuscarPorEspecialidadeCidadeEEstado() throws Exception {
+        // Arrange
+        criar("Dra. Ana", Especialidade.PSICOLOGIA, "Campinas", "SP");
+        criar("Dr. Bruno", Especialidade.PSICOLOGIA, "Curitiba", "PR");
+        criar("Dra. Carla", Especialidade.COACHING, "Campinas", "SP");
+
+        // Act & Assert
+        mockMvc.perform(get("/profissionais/busca")
+                .param("especialidade", "PSICOLOGIA")
+                .param("cidade", "Campinas")
+                .param("estado", "sp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].nome").value("Dra. Ana"));
+
+        mockMvc.perform(get("/profissionais/busca").param("estado", "SP").param("cidade", "Campinas").param("sort", "nome"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[1].nome").value("Dra. Carla"));
+
+        // Uma escrita invalida o cache da combinação já consultada
+        criar("Dr. Davi", Especialidade.PSICOLOGIA, "Campinas", "SP");
+        mockMvc.perform(get("/profissionais/busca")
+                .param("especialidade", "PSICOLOGIA")
+                .param("cidade", "Campinas")
+                .param("estado", "sp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveRetornar400NaBuscaComFiltrosInvalidos() throws Exception {
+        mockMvc.perform(get("/profissionais/busca").param("especialidade", "ASTROLOGIA"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/profissionais/busca").param("estado", "Paraná"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveBuscarVariosProfissionaisPorIdNaOrdemInformada() throws Exception {
+        criar("Dra. Ana", Especialidade.PSICOLOGIA, "Campinas", "SP");
+        criar("Dr. Bruno", Especialidade.COACHING, "Curitiba", "PR");
+        List<Profissional> salvos = profissionalRepository.findAll(Sort.by("id"));
+        Long ana = salvos.get(0).getId();
+        Long bruno = salvos.get(1).getId();
+
+        mockMvc.perform(get("/profissionais").param("ids", bruno + "," + (bruno + 1000) + "," + ana))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("Dr. Bruno"))
+                .andExpect(jsonPath("$.content[1].nome").value("Dra. Ana"))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(bruno + 1000));
+
+        mockMvc.perform(get("/profissionais").param("ids", ""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/profissionais").param("ids", String.valueOf(ana)).param("mode", "slice"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("O parâmetro ids não pode ser combinado com mode."));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveLimitarTamanhoDaPaginaEOrdenacao() throws Exception {
+        criar("Dr. Bruno", Especialidade.PSICOLOGIA, "Curitiba", "PR");
+        criar("Dra. Ana", Especialidade.PSICOLOGIA, "Campinas", "SP");
+
+        mockMvc.perform(get("/profissionais").param("size", "100").param("sort", "nome,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("Dra. Ana"));
+
+        mockMvc.perform(get("/profissionais").param("size", "1000000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("Parâmetro size deve estar entre 1 e 100."));
+        mockMvc.perform(get("/profissionais").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/profissionais/busca").param("sort", "email"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("Ordenação por 'email' não permitida. Campos aceitos: id, nome."));
+
+        // A busca por nome ordena por relevância: o sort recebido é descartado e o limite do grupo é menor
+        mockMvc.perform(get("/profissionais/busca").param("nome", "ana").param("sort", "email"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/profissionais/busca").param("nome", "ana").param("size", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deveResponder503QuandoConsultaExcedeOTimeoutDoGrupo() throws Exception {
+        // Sem a transação do teste, buscarPorIds abre a sua com o timeout do grupo DETALHE (1s neste teste)
+        // Consulta lenta: ao chegar ao banco, o prazo da transação já se esgotou
+        doAnswer(invocacao -> {
+            Thread.sleep(1200);
+            return profissionalRepository.findAll();
+        }).when(profissionalRepository).findAllById(any());
+
+        mockMvc.perform(get("/profissionais").param("ids", "1,2"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.mensagem").value("A consulta excedeu o tempo limite. Tente novamente."));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveBuscarPorTrechoDoNomeSemAcentos() throws Exception {
+        // Arrange
+        criar("Dr. João Almeida", Especialidade.PSICOLOGIA, "Campinas", "SP");
+        criar("Dra. Joana Prado", Especialidade.COACHING, "Curitiba", "PR");
+        criar("Dr. Marcos Lima", Especialidade.PSIQUIATRIA, "Recife", "PE");
+        // O índice só recebe escritas após o commit; o teste roda em uma transação desfeita ao final
+        buscaNomeService.carregar();
+
+        // Act & Assert
+        mockMvc.perform(get("/profissionais/busca").param("nome", "joao almeida"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].nome").value("Dr. João Almeida"));
+
+        mockMvc.perform(get("/profissionais/busca").param("nome", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        mockMvc.perform(get("/profissionais/busca").param("nome", "é"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveRecomendarProfissionaisMaisProximosPeloCep() throws Exception {
+        // Arrange
+        criar("Dra. Centro", Especialidade.PSICOLOGIA, "São Paulo", "SP", "01002-000");
+        criar("Dr. Paulista", Especialidade.PSICOLOGIA, "São Paulo", "SP", "01310-100");
+        criar("Dr. Rio", Especialidade.PSICOLOGIA, "Rio de Janeiro", "RJ", "20040-020");
+        criar("Dra. Coach", Especialidade.COACHING, "São Paulo", "SP", "01001-000");
+        Usuario usuario = new Usuario();
+        usuario.setNome("Maria Souza");
+        usuario.setEmail("maria@test.com");
+        usuario.setTelefone("11999999999");
+        usuario.setCpf("98765432100");
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setEndereco(new EnderecoVO("Praça da Sé", "1", "Sé", "São Paulo", "SP", "01001-000"));
+        usuario.setLogin("maria.souza");
+        usuario.setSenha("senha");
+        usuario.setRole("USER");
+        usuario = usuarioRepository.save(usuario);
+        // O índice só recebe escritas após o commit; o teste roda em uma transação desfeita ao final
+        proximidadeService.carregar();
+
+        // Act & Assert
+        mockMvc.perform(get("/profissionais/proximos")
+                .param("usuarioId", usuario.getId().toString())
+                .param("especialidade", "PSICOLOGIA")
+                .param("limite", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].profissional.nome").value("Dra. Centro"))
+                .andExpect(jsonPath("$[0].digitosCepEmComum").value(4))
+                .andExpect(jsonPath("$[1].profissional.nome").value("Dr. Paulista"));
+
+        mockMvc.perform(get("/profissionais/proximos")
+                .param("usuarioId", "999999")
+                .param("especialidade", "PSICOLOGIA"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/profissionais/proximos")
+                .param("usuarioId", usuario.getId().toString())
+                .param("especialidade", "PSICOLOGIA")
+                .param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void criar(String nome, Especialidade especialidade, String cidade, String estado) throws Exception {
+        criar(nome, especialidade, cidade, estado, "01001000");
+    }
+
+    private void criar(String nome, Especialidade especialidade, String cidade, String estado, String cep) throws Exception {
+        EnderecoVO endereco = new EnderecoVO("Rua Teste", "1", "Centro", cidade, estado, cep);
+        mockMvc.perform(post("/profissionais")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProfissionalDTO(null, nome, "prof@test.com", especialidade, endereco))))
+                .andExpect(status().isCreated());
+    }
+}
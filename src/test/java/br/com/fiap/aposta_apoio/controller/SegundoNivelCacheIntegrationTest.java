@@ -0,0 +1,161 @@
+package br.com.fiap.aposta_apoio.controller;
+
+import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração do cache de segundo nível (habilitado apenas neste contexto, com banco próprio).
+ * Sem @Transactional: cada requisição usa uma sessão nova do Hibernate, então uma leitura sem SQL
+ * só pode ter vindo do cache de segundo nível, e não do contexto de persistência.
+ */
+@SpringBootTest(properties = {
+        "api.cache.segundo-nivel.habilitado=true",
+        "spring.datasource.url=jdbc:h2:mem:cache-segundo-nivel"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SegundoNivelCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ProfissionalRepository profissionalRepository;
+
+    @Autowired
+    private SessaoApoioRepository sessaoApoioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Usuario usuario;
+    private Profissional profissional;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setNome("João Silva");
+        usuario.setEmail("joao@test.com");
+        usuario.setTelefone("11999999999");
+        usuario.setCpf("12345678901");
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        usuario = usuarioRepository.save(usuario);
+
+        profissional = new Profissional();
+        profissional.setNome("Dra. Ana");
+        profissional.setEmail("ana@test.com");
+        profissional.setEspecialidade(Especialidade.PSICOLOGIA);
+        profissional.setEndereco(new EnderecoVO("Rua Teste", "1", "Centro", "São Paulo", "SP", "01001000"));
+        profissional = profissionalRepository.save(profissional);
+
+        entityManagerFactory.getCache().evictAll();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessaoApoioRepository.deleteAll();
+        profissionalRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveServirSegundaBuscaDeProfissionalSemSql() throws Exception {
+        mockMvc.perform(get("/profissionais/" + profissional.getId()))
+                .andExpect(status().isOk());
+        long consultasPrimeiraBusca = estatisticas.getPrepareStatementCount();
+
+        mockMvc.perform(get("/profissionais/" + profissional.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Dra. Ana"));
+
+        assertTrue(consultasPrimeiraBusca > 0);
+        assertEquals(consultasPrimeiraBusca, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveServirSegundaBuscaDeUsuarioSemSqlEAtualizarNaEscrita() throws Exception {
+        mockMvc.perform(get("/usuarios/" + usuario.getId()))
+                .andExpect(status().isOk());
+        long consultasPrimeiraBusca = estatisticas.getPrepareStatementCount();
+
+        mockMvc.perform(get("/usuarios/" + usuario.getId()))
+                .andExpect(status().isOk());
+        assertEquals(consultasPrimeiraBusca, estatisticas.getPrepareStatementCount());
+
+        // Escritas pelo Hibernate atualizam a entrada do cache
+        Usuario alterado = usuarioRepository.findById(usuario.getId()).orElseThrow();
+        alterado.setNome("João Souza");
+        usuarioRepository.save(alterado);
+        mockMvc.perform(get("/usuarios/" + usuario.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("João Souza"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveLerUsuarioEProfissionalDoCacheAoCriarSessao() throws Exception {
+        mockMvc.perform(get("/usuarios/" + usuario.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/profissionais/" + profissional.getId())).andExpect(status().isOk());
+        long acertos = estatisticas.getSecondLevelCacheHitCount();
+
+        mockMvc.perform(post("/sessoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SessaoApoioDTO(null, usuario.getId(), profissional.getId(),
+                                LocalDateTime.of(2030, 1, 10, 9, 0), "Primeira sessão"))))
+                .andExpect(status().isCreated());
+
+        assertEquals(acertos + 2, estatisticas.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveExporEstatisticasDoCacheNasMetricas() throws Exception {
+        mockMvc.perform(get("/profissionais/" + profissional.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/profissionais/" + profissional.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/dashboard/metricas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cacheSegundoNivelAcertos").value(1))
+                .andExpect(jsonPath("$.cacheSegundoNivelFaltas").value(1));
+    }
+}
@@ -1,7 +1,22 @@
 package br.com.fiap.aposta_apoio.controller;
 
+import br.com.fiap.aposta_apoio.dto.AtribuicaoSessaoDTO;
+import br.com.fiap.aposta_apoio.dto.RecorrenciaSessaoDTO;
 import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.model.EnderecoVO;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import br.com.fiap.aposta_apoio.service.CargaProfissionalService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -12,8 +27,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +51,24 @@ class SessaoApoioControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ProfissionalRepository profissionalRepository;
+
+    @Autowired
+    private SessaoApoioRepository sessaoApoioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CargaProfissionalService cargaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @WithMockUser(username = "admin", roles = {"USER"})
     void deveListarSessoes() throws Exception {
@@ -98,5 +134,423 @@ class SessaoApoioControllerIntegrationTest {
                 .andExpect(jsonPath("$.pageable").exists())
                 .andExpect(jsonPath("$.totalElements").exists());
     }
-}
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveListarPaginaComProjecaoSemCarregarUsuarioEProfissional() throws Exception {
+        SessaoApoio[] sessoes = criarSessoes(15);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get("/sessoes?page=0&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.content[0].usuarioId").value(sessoes[0].getUsuario().getId()))
+                .andExpect(jsonPath("$.content[0].profissionalId").value(sessoes[0].getProfissional().getId()))
+                .andExpect(jsonPath("$.totalElements").value(15));
+
+        // Uma consulta para a página e outra para o total; nenhuma entidade carregada
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void devePercorrerSessoesPorCursorSemContagem() throws Exception {
+        SessaoApoio[] sessoes = criarSessoes(5);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        String resposta = mockMvc.perform(get("/sessoes").param("mode", "cursor").param("size", "2")
+                        .param("sort", "dataHora").param("direction", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(sessoes[4].getId()))
+                .andExpect(jsonPath("$.content[1].id").value(sessoes[3].getId()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        // Apenas a consulta da página, sem COUNT
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+
+        String cursor = objectMapper.readTree(resposta).get("nextCursor").asText();
+        resposta = mockMvc.perform(get("/sessoes").param("mode", "cursor").param("size", "2")
+                        .param("sort", "dataHora").param("direction", "DESC").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(sessoes[2].getId()))
+                .andExpect(jsonPath("$.content[1].id").value(sessoes[1].getId()))
+                .andReturn().getResponse().getContentAsString();
+
+        cursor = objectMapper.readTree(resposta).get("nextCursor").asText();
+        mockMvc.perform(get("/sessoes").param("mode", "cursor").param("size", "2")
+                        .param("sort", "dataHora").param("direction", "DESC").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(sessoes[0].getId()))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveListarSessoesPorSliceComUmaConsulta() throws Exception {
+        SessaoApoio[] sessoes = criarSessoes(5);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get("/sessoes").param("mode", "slice").param("size", "2").param("sort", "dataHora,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(sessoes[4].getId()))
+                .andExpect(jsonPath("$.page").value(0))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        // Apenas a consulta da página (size + 1 linhas), sem COUNT e sem carregar entidades
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+
+        mockMvc.perform(get("/sessoes").param("mode", "slice").param("size", "2").param("page", "2")
+                        .param("sort", "dataHora,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(sessoes[0].getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/sessoes").param("mode", "slice").param("sort", "descricao"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveListarSessoesComResumosEmConsultasPorPagina() throws Exception {
+        SessaoApoio[] sessoes = criarSessoes(5);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get("/sessoes").param("expand", "usuario,profissional").param("size", "3").param("sort", "dataHora"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].id").value(sessoes[0].getId()))
+                .andExpect(jsonPath("$.content[0].usuario.id").value(sessoes[0].getUsuario().getId()))
+                .andExpect(jsonPath("$.content[0].usuario.nome").value("João Silva"))
+                .andExpect(jsonPath("$.content[0].usuario.cpf").doesNotExist())
+                .andExpect(jsonPath("$.content[0].usuario.senha").doesNotExist())
+                .andExpect(jsonPath("$.content[2].profissional.nome").value("Dra. Ana"))
+                .andExpect(jsonPath("$.content[2].profissional.especialidade").value("PSICOLOGIA"))
+                .andExpect(jsonPath("$.totalElements").value(5));
+
+        // Página, total e uma consulta IN por relação expandida, sem carregar entidades
+        assertEquals(4, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+
+        mockMvc.perform(get("/sessoes").param("expand", "usuario"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].usuario.nome").value("João Silva"))
+                .andExpect(jsonPath("$.content[0].profissional").doesNotExist());
+
+        mockMvc.perform(get("/sessoes").param("expand", "usuario,senha"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveRetornar400AoCombinarExpandComMode() throws Exception {
+        for (String mode : List.of("slice", "cursor", "outro")) {
+            mockMvc.perform(get("/sessoes").param("mode", mode).param("expand", "usuario"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.mensagem").value("O parâmetro expand não pode ser combinado com mode."));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveRetornar400ComCursorInvalidoOuDeOutraOrdenacao() throws Exception {
+        criarSessoes(3);
+
+        mockMvc.perform(get("/sessoes").param("mode", "cursor").param("cursor", "nao-e-um-cursor"))
+                .andExpect(status().isBadRequest());
+
+        String resposta = mockMvc.perform(get("/sessoes").param("mode", "cursor").param("size", "1").param("sort", "id"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(resposta).get("nextCursor").asText();
+
+        mockMvc.perform(get("/sessoes").param("mode", "cursor").param("sort", "dataHora").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/sessoes").param("mode", "cursor").param("sort", "descricao"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveRetornar409AoAgendarHorarioSobrepostoDoMesmoProfissional() throws Exception {
+        SessaoApoio existente = criarSessoes(1)[0];
+        Long usuarioId = existente.getUsuario().getId();
+        Long profissionalId = existente.getProfissional().getId();
+        LocalDateTime inicio = LocalDateTime.of(2030, 5, 10, 14, 0);
+
+        mockMvc.perform(post("/sessoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SessaoApoioDTO(null, usuarioId, profissionalId, inicio, "Primeira"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/sessoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SessaoApoioDTO(null, usuarioId, profissionalId, inicio.plusMinutes(30), "Sobreposta"))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/sessoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SessaoApoioDTO(null, usuarioId, profissionalId, inicio.plusHours(1), "Seguinte"))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveAtribuirProfissionalMenosOcupadoDisponivel() throws Exception {
+        Usuario usuario = usuarioRepository.save(novoUsuario("Maria Souza"));
+        Profissional menosOcupado = profissionalRepository.save(novoProfissional(Especialidade.COACHING));
+        Profissional maisOcupado = profissionalRepository.save(novoProfissional(Especialidade.COACHING));
+        LocalDateTime inicio = LocalDate.now().plusDays(30).atTime(10, 0);
+        agendar(usuario.getId(), menosOcupado.getId(), inicio);
+        agendar(usuario.getId(), maisOcupado.getId(), inicio.plusDays(1));
+        agendar(usuario.getId(), maisOcupado.getId(), inicio.plusDays(2));
+        // A carga só é ajustada após o commit; o teste roda em uma transação desfeita ao final
+        cargaService.reconciliar();
+
+        // O menos ocupado já tem sessão neste horário, então o próximo da fila é escolhido
+        mockMvc.perform(post("/sessoes/atribuicao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AtribuicaoSessaoDTO(usuario.getId(), Especialidade.COACHING, inicio, "Atribuída"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.profissionalId").value(maisOcupado.getId()));
+
+        mockMvc.perform(post("/sessoes/atribuicao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AtribuicaoSessaoDTO(usuario.getId(), Especialidade.COACHING, inicio.plusHours(3), "Atribuída"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.profissionalId").value(menosOcupado.getId()));
+
+        mockMvc.perform(post("/sessoes/atribuicao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AtribuicaoSessaoDTO(usuario.getId(), Especialidade.PSIQUIATRIA, inicio, "Sem profissional"))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/sessoes/atribuicao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AtribuicaoSessaoDTO(999999L, Especialidade.COACHING, inicio, "Usuário inexistente"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveAgendarLoteComResultadoPorItem() throws Exception {
+        SessaoApoio existente = criarSessoes(1)[0];
+        Long usuarioId = existente.getUsuario().getId();
+        Long profissionalId = existente.getProfissional().getId();
+        LocalDateTime inicio = LocalDateTime.of(2030, 6, 3, 9, 0);
+
+        List<SessaoApoioDTO> lote = List.of(
+                new SessaoApoioDTO(null, usuarioId, profissionalId, inicio, "Primeira"),
+                new SessaoApoioDTO(null, usuarioId, profissionalId, inicio.plusHours(2), ""),
+                new SessaoApoioDTO(null, 999999L, profissionalId, inicio.plusHours(3), "Usuário inexistente"),
+                new SessaoApoioDTO(null, usuarioId, profissionalId, inicio.plusMinutes(30), "Sobreposta"),
+                new SessaoApoioDTO(null, usuarioId, profissionalId, inicio.plusHours(1), "Seguinte"));
+
+        mockMvc.perform(post("/sessoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.criadas").value(2))
+                .andExpect(jsonPath("$.rejeitadas").value(3))
+                .andExpect(jsonPath("$.itens[0].status").value("CRIADA"))
+                .andExpect(jsonPath("$.itens[0].id").isNumber())
+                .andExpect(jsonPath("$.itens[1].status").value("INVALIDA"))
+                .andExpect(jsonPath("$.itens[2].status").value("INVALIDA"))
+                .andExpect(jsonPath("$.itens[3].status").value("CONFLITO"))
+                .andExpect(jsonPath("$.itens[4].status").value("CRIADA"));
+
+        assertEquals(3, sessaoApoioRepository.count());
+
+        mockMvc.perform(post("/sessoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SessaoApoioDTO(null, usuarioId, profissionalId, inicio.plusMinutes(90), "Sobreposta"))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveAgendarSerieSemanalParaTerapiaEmGrupo() throws Exception {
+        SessaoApoio existente = criarSessoes(1)[0];
+        Usuario outro = usuarioRepository.save(novoUsuario("Maria Souza"));
+        Profissional grupo = profissionalRepository.save(novoProfissional(Especialidade.TERAPIA_GRUPO));
+        List<Long> usuarios = List.of(existente.getUsuario().getId(), outro.getId());
+
+        RecorrenciaSessaoDTO emGrupo = new RecorrenciaSessaoDTO(usuarios, grupo.getId(),
+                LocalDateTime.of(2030, 6, 4, 19, 0), RecorrenciaSessaoDTO.Frequencia.SEMANAL, 3, "Grupo de apoio");
+
+        mockMvc.perform(post("/sessoes/recorrencia")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(emGrupo)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.criadas").value(6))
+                .andExpect(jsonPath("$.itens[5].dataHora").value("2030-06-18T19:00:00"));
+
+        RecorrenciaSessaoDTO individual = new RecorrenciaSessaoDTO(usuarios, existente.getProfissional().getId(),
+                LocalDateTime.of(2030, 6, 4, 19, 0), RecorrenciaSessaoDTO.Frequencia.QUINZENAL, 3, "Individual");
+
+        mockMvc.perform(post("/sessoes/recorrencia")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(individual)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criadas").value(3))
+                .andExpect(jsonPath("$.itens[1].status").value("CONFLITO"))
+                .andExpect(jsonPath("$.itens[4].dataHora").value("2030-07-02T19:00:00"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveRetornar400ComLoteVazioOuRecorrenciaInvalida() throws Exception {
+        mockMvc.perform(post("/sessoes/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/sessoes/recorrencia")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usuarioIds\":[1],\"profissionalId\":1,\"inicio\":\"2030-06-04T19:00:00\","
+                                + "\"frequencia\":\"SEMANAL\",\"ocorrencias\":0,\"descricao\":\"x\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveExportarSessoesEmNdjsonComFiltros() throws Exception {
+        SessaoApoio[] sessoes = criarSessoes(5);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        String corpo = mockMvc.perform(get("/sessoes/exportacao")
+                        .param("inicio", "2025-10-20T09:00:00")
+                        .param("fim", "2025-10-20T12:00:00")
+                        .param("profissionalId", String.valueOf(sessoes[0].getProfissional().getId())))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(3, linhas.length);
+        assertEquals(sessoes[1].getId(), objectMapper.readTree(linhas[0]).get("id").asLong());
+        assertEquals("2025-10-20T11:00:00", objectMapper.readTree(linhas[2]).get("dataHora").asText());
+        // Uma única consulta e nenhuma entidade carregada
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+
+        mockMvc.perform(get("/sessoes/exportacao").param("profissionalId", "999999"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"USER"})
+    void deveExportarSessoesEmCsv() throws Exception {
+        SessaoApoio[] sessoes = criarSessoes(2);
+        sessoes[1].setDescricao("Retorno, \"urgente\"");
+        entityManager.flush();
+
+        String corpo = mockMvc.perform(get("/sessoes/exportacao").param("formato", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"sessoes.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(3, linhas.length);
+        assertEquals("id,usuarioId,profissionalId,dataHora,descricao", linhas[0]);
+        assertEquals(sessoes[1].getId() + "," + sessoes[1].getUsuario().getId() + "," + sessoes[1].getProfissional().getId()
+                + ",2025-10-20T09:00,\"Retorno, \"\"urgente\"\"\"", linhas[2]);
+
+        mockMvc.perform(get("/sessoes/exportacao")
+                        .param("inicio", "2025-10-21T00:00:00")
+                        .param("fim", "2025-10-20T00:00:00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/sessoes/exportacao").param("formato", "XML"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void agendar(Long usuarioId, Long profissionalId, LocalDateTime dataHora) throws Exception {
+        mockMvc.perform(post("/sessoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SessaoApoioDTO(null, usuarioId, profissionalId, dataHora, "Agendada"))))
+                .andExpect(status().isCreated());
+    }
+
+    private Usuario novoUsuario(String nome) {
+        Usuario usuario = new Usuario();
+        usuario.setNome(nome);
+        usuario.setEmail("usuario@test.com");
+        usuario.setTelefone("11999999999");
+        usuario.setCpf("98765432100");
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        return usuario;
+    }
+
+    private Profissional novoProfissional(Especialidade especialidade) {
+        Profissional profissional = new Profissional();
+        profissional.setNome("Dra. Ana");
+        profissional.setEmail("ana@test.com");
+        profissional.setEspecialidade(especialidade);
+        profissional.setEndereco(new EnderecoVO("Rua Teste", "1", "Centro", "São Paulo", "SP", "01001000"));
+        return profissional;
+    }
+
+    private SessaoApoio[] criarSessoes(int quantidade) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("João Silva");
+        usuario.setEmail("joao@test.com");
+        usuario.setTelefone("11999999999");
+        usuario.setCpf("12345678901");
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        usuario = usuarioRepository.save(usuario);
+
+        Profissional profissional = new Profissional();
+        profissional.setNome("Dra. Ana");
+        profissional.setEmail("ana@test.com");
+        profissional.setEspecialidade(Especialidade.PSICOLOGIA);
+        profissional.setEndereco(new EnderecoVO("Rua Teste", "1", "Centro", "São Paulo", "SP", "01001000"));
+        profissional = profissionalRepository.save(profissional);
+
+        SessaoApoio[] sessoes = new SessaoApoio[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            SessaoApoio sessao = new SessaoApoio();
+            sessao.setUsuario(usuario);
+            sessao.setProfissional(profissional);
+            sessao.setDataHora(LocalDateTime.of(2025, 10, 20, 8, 0).plusHours(i));
+            sessao.setDescricao("Sessão " + i);
+            sessoes[i] = sessaoApoioRepository.save(sessao);
+        }
+        return sessoes;
+    }
+}
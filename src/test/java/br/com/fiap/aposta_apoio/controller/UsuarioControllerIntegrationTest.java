@@ -13,12 +13,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -78,7 +82,14 @@ class UsuarioControllerIntegrationTest {
         mockMvc.perform(get("/usuarios")
                 .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(usuario.getId()))
+                .andExpect(jsonPath("$[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$[0].dataNascimento").value("1990-01-01"))
+                .andExpect(jsonPath("$[0].endereco.cep").value("01001000"))
+                .andExpect(jsonPath("$[0].senha").doesNotExist());
     }
 
     @Test
@@ -103,6 +114,47 @@ class UsuarioControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value("joao@test.com"));
     }
 
+    @Test
+    void deveBuscarUsuarioPorCpfComOuSemPontuacao() throws Exception {
+        mockMvc.perform(get("/usuarios/cpf/123.456.789-01")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(usuario.getId()));
+
+        mockMvc.perform(get("/usuarios/cpf/12345678901")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("João Silva"));
+
+        mockMvc.perform(get("/usuarios/cpf/98765432100")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/usuarios/cpf/123")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveNormalizarCpfAoCriarERecusarDuplicado() throws Exception {
+        UsuarioDTO novo = new UsuarioDTO(null, "Maria Lima", "maria@test.com", "11988887777", "987.654.321-00",
+                LocalDate.of(1985, 3, 20), new EnderecoVO("Rua A", "10", "Centro", "São Paulo", "SP", "01001000"));
+
+        mockMvc.perform(post("/usuarios")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novo)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.cpf").value("98765432100"));
+
+        mockMvc.perform(post("/usuarios")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novo)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensagem").value("CPF já cadastrado"));
+    }
+
     @Test
     void deveRetornar404ParaUsuarioInexistente() throws Exception {
         mockMvc.perform(get("/usuarios/999")
@@ -137,5 +189,153 @@ class UsuarioControllerIntegrationTest {
                 .header("Authorization", "Bearer " + token))
                 .andExpect(status().isNoContent());
     }
-}
 
+    @Test
+    void naoDeveAceitarTokenDeUsuarioRemovido() throws Exception {
+        mockMvc.perform(delete("/usuarios/" + usuario.getId())
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/usuarios")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deveListarUsuariosPorCursorOrdenadosPorNome() throws Exception {
+        String[][] outros = {{"Ana Souza", "11111111111"}, {"Carla Dias", "22222222222"}};
+        for (String[] dados : outros) {
+            Usuario outro = new Usuario();
+            outro.setNome(dados[0]);
+            outro.setEmail("outro@test.com");
+            outro.setTelefone("11999999999");
+            outro.setCpf(dados[1]);
+            outro.setDataNascimento(LocalDate.of(1990, 1, 1));
+            outro.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+            usuarioRepository.save(outro);
+        }
+
+        String resposta = mockMvc.perform(get("/usuarios").param("mode", "cursor").param("size", "2")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("Ana Souza"))
+                .andExpect(jsonPath("$.content[1].nome").value("Carla Dias"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(resposta).get("nextCursor").asText();
+        mockMvc.perform(get("/usuarios").param("mode", "cursor").param("size", "2").param("cursor", cursor)
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void deveListarUsuariosPorSliceSemTotal() throws Exception {
+        Usuario outro = new Usuario();
+        outro.setNome("Ana Souza");
+        outro.setEmail("ana@test.com");
+        outro.setTelefone("11999999999");
+        outro.setCpf("11111111111");
+        outro.setDataNascimento(LocalDate.of(1990, 1, 1));
+        outro.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        usuarioRepository.save(outro);
+
+        mockMvc.perform(get("/usuarios").param("mode", "slice").param("size", "1").param("sort", "nome")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].nome").value("Ana Souza"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/usuarios").param("mode", "slice").param("size", "1").param("page", "1").param("sort", "nome")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void deveBuscarVariosUsuariosPorIdNaOrdemInformada() throws Exception {
+        Usuario outro = new Usuario();
+        outro.setNome("Ana Souza");
+        outro.setEmail("ana@test.com");
+        outro.setTelefone("11999999999");
+        outro.setCpf("11111111111");
+        outro.setDataNascimento(LocalDate.of(1990, 1, 1));
+        outro.setEndereco(new EnderecoVO("Rua Teste", "123", "Centro", "São Paulo", "SP", "01001000"));
+        outro = usuarioRepository.save(outro);
+        long inexistente = outro.getId() + 1000;
+
+        mockMvc.perform(get("/usuarios")
+                .param("ids", outro.getId() + "," + inexistente + "," + usuario.getId() + "," + outro.getId())
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].nome").value("Ana Souza"))
+                .andExpect(jsonPath("$.content[1].nome").value("João Silva"))
+                .andExpect(jsonPath("$.naoEncontrados.length()").value(1))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(inexistente));
+
+        mockMvc.perform(get("/usuarios").param("ids", "1,abc")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        String excedente = LongStream.rangeClosed(1, 101)
+                .mapToObj(Long::toString).collect(Collectors.joining(","));
+        mockMvc.perform(get("/usuarios").param("ids", excedente)
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("A consulta excede o limite de 100 ids."));
+
+        mockMvc.perform(get("/usuarios").param("ids", "1").param("mode", "cursor")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("O parâmetro ids não pode ser combinado com mode."));
+    }
+
+    @Test
+    void deveImportarCsvEReportarLinhasRejeitadas() throws Exception {
+        String csv = "nome,email,telefone,cpf,dataNascimento,rua,numero,bairro,cidade,estado,cep\n"
+                + "Maria Lima,maria@test.com,11988887777,98765432100,1985-03-20,\"Rua A, 10\",10,Centro,São Paulo,SP,01001000\n"
+                + "Pedro Alves,email-invalido,11988887777,98765432101,1985-03-20,Rua B,20,Centro,São Paulo,SP,01001000\n"
+                + "\n"
+                + "Rita Souza,rita@test.com,11988887777,98765432102,20/03/1985,Rua C,30,Centro,São Paulo,SP,01001000\n"
+                + "Linha curta,curta@test.com\n";
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "usuarios.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/usuarios/importacao").file(arquivo)
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.importados").value(1))
+                .andExpect(jsonPath("$.rejeitados").value(3))
+                .andExpect(jsonPath("$.rejeicoes[0].linha").value(3))
+                .andExpect(jsonPath("$.rejeicoes[0].mensagem").value("email: E-mail inválido"))
+                .andExpect(jsonPath("$.rejeicoes[1].linha").value(5))
+                .andExpect(jsonPath("$.rejeicoes[1].mensagem").value("dataNascimento: Data inválida, use o formato AAAA-MM-DD"))
+                .andExpect(jsonPath("$.rejeicoes[2].linha").value(6))
+                .andExpect(jsonPath("$.rejeicoesTruncadas").value(false));
+
+        mockMvc.perform(get("/usuarios").param("mode", "cursor")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[1].nome").value("Maria Lima"))
+                .andExpect(jsonPath("$.content[1].endereco.rua").value("Rua A, 10"));
+    }
+
+    @Test
+    void deveRetornar400NaImportacaoSemColunasObrigatorias() throws Exception {
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "usuarios.csv", "text/csv",
+                "nome,email\nMaria Lima,maria@test.com\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/usuarios/importacao").file(arquivo)
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+}
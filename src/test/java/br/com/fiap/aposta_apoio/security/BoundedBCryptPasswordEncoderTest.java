@@ -0,0 +1,95 @@
+package br.com.fiap.aposta_apoio.security;
+
+import br.com.fiap.aposta_apoio.exception.ServicoSobrecarregadoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o BoundedBCryptPasswordEncoder.
+ * Valida hash/verificação no executor dedicado, rejeição com fila cheia e detecção de rehash.
+ */
+class BoundedBCryptPasswordEncoderTest {
+
+    private BoundedBCryptPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void deveGerarEVerificarHash() {
+        encoder = new BoundedBCryptPasswordEncoder(4, 2, 4, 5000);
+
+        String hash = encoder.encode("senha123");
+
+        assertTrue(encoder.matches("senha123", hash));
+        assertFalse(encoder.matches("outra", hash));
+        assertEquals(3, encoder.getOperacoes());
+    }
+
+    @Test
+    void deveGerarHashesEmLotePreservandoOrdem() {
+        encoder = new BoundedBCryptPasswordEncoder(4, 2, 1, 5000);
+        List<String> senhas = List.of("a", "b", "c", "d", "e");
+
+        List<String> hashes = encoder.encodeAll(senhas);
+
+        assertEquals(senhas.size(), hashes.size());
+        for (int i = 0; i < senhas.size(); i++) {
+            assertTrue(encoder.matches(senhas.get(i), hashes.get(i)));
+        }
+        assertEquals(0, encoder.getRejeicoes());
+    }
+
+    @Test
+    void deveRejeitarQuandoFilaEstiverCheia() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        PasswordEncoder lento = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                iniciou.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        encoder = new BoundedBCryptPasswordEncoder(lento, 4, 1, 1, 5000);
+
+        CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (encoder.getTamanhoFila() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServicoSobrecarregadoException.class, () -> encoder.encode("c"));
+        assertEquals(1, encoder.getRejeicoes());
+
+        liberar.countDown();
+        assertNotNull(emExecucao.get(5, TimeUnit.SECONDS));
+        assertNotNull(naFila.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deveSinalizarRehashQuandoCustoMudar() {
+        encoder = new BoundedBCryptPasswordEncoder(5, 1, 4, 5000);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("senha")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("senha")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("senha")));
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.fiap.aposta_apoio.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o RateLimitFilter.
+ * Valida os limites por IP e por login e a preservação do corpo da requisição.
+ */
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(new ObjectMapper(), true, 2, 1, 1, 1, 600000);
+    }
+
+    @Test
+    void deveRejeitarLoginAposEsgotarCapacidadeDoLogin() throws Exception {
+        assertEquals(200, executar(login("10.0.0.1", "joao")).getStatus());
+        assertEquals(200, executar(login("10.0.0.2", "joao")).getStatus());
+
+        MockHttpServletResponse rejeitada = executar(login("10.0.0.3", "JOAO"));
+
+        assertEquals(429, rejeitada.getStatus());
+        assertNotNull(rejeitada.getHeader("Retry-After"));
+        assertEquals(1, filter.getRejeicoes());
+    }
+
+    @Test
+    void deveRejeitarPorIpMesmoComLoginsDiferentes() throws Exception {
+        assertEquals(200, executar(login("10.0.0.1", "a")).getStatus());
+        assertEquals(200, executar(login("10.0.0.1", "b")).getStatus());
+
+        assertEquals(429, executar(login("10.0.0.1", "c")).getStatus());
+    }
+
+    @Test
+    void deveAplicarLimitePorEndpoint() throws Exception {
+        MockHttpServletRequest registro = login("10.0.0.1", "novo");
+        registro.setRequestURI("/auth/registro");
+        assertEquals(200, executar(registro).getStatus());
+
+        MockHttpServletRequest outroRegistro = login("10.0.0.1", "outro");
+        outroRegistro.setRequestURI("/auth/registro");
+        assertEquals(429, executar(outroRegistro).getStatus());
+
+        assertEquals(200, executar(login("10.0.0.1", "novo")).getStatus());
+    }
+
+    @Test
+    void deveRepassarCorpoIntactoParaOProximoFiltro() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(login("10.0.0.1", "joao"), new MockHttpServletResponse(), chain);
+
+        String corpo = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals("{\"login\":\"joao\",\"senha\":\"x\"}", corpo);
+    }
+
+    @Test
+    void deveAplicarLimitePorLoginMesmoSemContentLength() throws Exception {
+        assertEquals(200, executar(semContentLength(login("10.0.0.1", "joao"))).getStatus());
+        assertEquals(200, executar(semContentLength(login("10.0.0.2", "joao"))).getStatus());
+
+        assertEquals(429, executar(semContentLength(login("10.0.0.3", "joao"))).getStatus());
+    }
+
+    @Test
+    void deveRejeitarCorpoAcimaDoLimiteECorpoInvalidoNoLogin() throws Exception {
+        MockHttpServletRequest grande = login("10.0.0.1", "x".repeat(20 * 1024));
+        assertEquals(413, executar(grande).getStatus());
+
+        MockHttpServletRequest invalido = login("10.0.0.2", "joao");
+        invalido.setContent("nao e json".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse resposta = executar(invalido);
+        assertEquals(400, resposta.getStatus());
+        assertTrue(resposta.getContentAsString().contains("\"status\":400"));
+    }
+
+    @Test
+    void naoDeveLimitarOutrosEndpoints() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/usuarios");
+            assertEquals(200, executar(request).getStatus());
+        }
+    }
+
+    private MockHttpServletRequest login(String ip, String login) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"login\":\"" + login + "\",\"senha\":\"x\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletRequest semContentLength(MockHttpServletRequest original) {
+        MockHttpServletRequest chunked = new MockHttpServletRequest(original.getMethod(), original.getRequestURI()) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+        chunked.setRemoteAddr(original.getRemoteAddr());
+        chunked.setContentType(original.getContentType());
+        chunked.setContent(original.getContentAsByteArray());
+        return chunked;
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fiap.aposta_apoio.security;
+
+import br.com.fiap.aposta_apoio.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o TokenService.
+ * Valida o verificador compartilhado e o cache de tokens verificados.
+ */
+class TokenServiceTest {
+
+    private TokenService tokenService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "test-secret");
+        ReflectionTestUtils.setField(tokenService, "expiration", 3600000L);
+        ReflectionTestUtils.setField(tokenService, "cacheMaxEntries", 100);
+        tokenService.inicializar();
+
+        usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setLogin("joao.silva");
+        usuario.setRole("ADMIN");
+    }
+
+    @Test
+    void deveValidarTokenEExtrairClaims() {
+        String token = tokenService.gerarToken(usuario);
+
+        TokenClaims claims = tokenService.validar(token);
+
+        assertNotNull(claims);
+        assertEquals("joao.silva", claims.login());
+        assertEquals(7L, claims.id());
+        assertEquals("ADMIN", claims.role());
+        assertEquals("joao.silva", tokenService.validarToken(token));
+    }
+
+    @Test
+    void deveAtenderTokenRepetidoPeloCache() {
+        String token = tokenService.gerarToken(usuario);
+
+        tokenService.validar(token);
+        tokenService.validar(token);
+        tokenService.validar(token);
+
+        assertEquals(1, tokenService.getCacheMisses());
+        assertEquals(2, tokenService.getCacheHits());
+        assertEquals(1, tokenService.getCacheSize());
+    }
+
+    @Test
+    void naoDeveArmazenarTokenInvalido() {
+        assertNull(tokenService.validar("token-invalido"));
+        assertEquals("", tokenService.validarToken("token-invalido"));
+        assertEquals(0, tokenService.getCacheSize());
+    }
+
+    @Test
+    void naoDeveUltrapassarLimiteDoCache() {
+        ReflectionTestUtils.setField(tokenService, "cacheMaxEntries", 1);
+        Usuario outro = new Usuario();
+        outro.setId(8L);
+        outro.setLogin("maria");
+        outro.setRole("USER");
+
+        assertNotNull(tokenService.validar(tokenService.gerarToken(usuario)));
+        assertNotNull(tokenService.validar(tokenService.gerarToken(outro)));
+
+        assertEquals(1, tokenService.getCacheSize());
+    }
+}
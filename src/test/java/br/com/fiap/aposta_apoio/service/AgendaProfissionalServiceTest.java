@@ -0,0 +1,144 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.HorarioSessaoDTO;
+import br.com.fiap.aposta_apoio.event.ProfissionalAlteradoEvent;
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o AgendaProfissionalService.
+ * Valida a detecção de sobreposição, a liberação de horários e o desfazimento no rollback.
+ */
+@ExtendWith(MockitoExtension.class)
+class AgendaProfissionalServiceTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 10, 20, 14, 0);
+
+    @Mock
+    private SessaoApoioRepository repository;
+
+    private AgendaProfissionalService agendaService;
+
+    @BeforeEach
+    void setUp() {
+        agendaService = new AgendaProfissionalService(repository, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deveRejeitarHorarioSobrepostoDoMesmoProfissional() {
+        agendaService.reservar(1L, INICIO, null, false, () -> sessao(10L));
+
+        assertThrows(IllegalStateException.class,
+                () -> agendaService.reservar(1L, INICIO.plusMinutes(59), null, false, () -> sessao(11L)));
+        assertThrows(IllegalStateException.class,
+                () -> agendaService.reservar(1L, INICIO.minusMinutes(30), null, false, () -> sessao(12L)));
+        assertEquals(2, agendaService.getConflitos());
+    }
+
+    @Test
+    void deveAceitarHorarioAdjacenteOuDeOutroProfissional() {
+        agendaService.reservar(1L, INICIO, null, false, () -> sessao(10L));
+
+        agendaService.reservar(1L, INICIO.plusMinutes(60), null, false, () -> sessao(11L));
+        agendaService.reservar(2L, INICIO, null, false, () -> sessao(12L));
+
+        assertEquals(3, agendaService.getHorariosIndexados());
+        assertEquals(0, agendaService.getConflitos());
+    }
+
+    @Test
+    void devePermitirQueASessaoMantenhaOProprioHorario() {
+        agendaService.reservar(1L, INICIO, null, false, () -> sessao(10L));
+
+        agendaService.reservar(1L, INICIO.plusMinutes(15), 10L, false, () -> sessao(10L));
+        agendaService.liberar(1L, INICIO, 10L);
+
+        assertEquals(1, agendaService.getHorariosIndexados());
+        assertThrows(IllegalStateException.class,
+                () -> agendaService.reservar(1L, INICIO.plusMinutes(30), null, false, () -> sessao(11L)));
+    }
+
+    @Test
+    void deveDesfazerReservaQuandoATransacaoForRevertida() {
+        TransactionSynchronizationManager.initSynchronization();
+        agendaService.reservar(1L, INICIO, null, false, () -> sessao(10L));
+        agendaService.liberar(2L, INICIO, 20L);
+
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizacoes.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        agendaService.reservar(1L, INICIO, null, false, () -> sessao(11L));
+        assertEquals(1, agendaService.getHorariosIndexados());
+    }
+
+    @Test
+    void deveReconstruirAgendaAPartirDoBanco() {
+        when(repository.findHorariosDesde(any())).thenReturn(List.of(
+                new HorarioSessaoDTO(10L, 1L, INICIO), new HorarioSessaoDTO(20L, 2L, INICIO)));
+
+        agendaService.reconciliar();
+
+        assertThrows(IllegalStateException.class,
+                () -> agendaService.reservar(1L, INICIO.plusMinutes(10), null, false, () -> sessao(11L)));
+        assertEquals(2, agendaService.getHorariosIndexados());
+        verify(repository, times(1)).findHorariosDesde(argThat(desde -> !desde.isAfter(LocalDateTime.now().minusMinutes(60))
+                && desde.isAfter(LocalDateTime.now().minusMinutes(61))));
+        verify(repository, never()).findHorariosByProfissionalIdDesde(anyLong(), any());
+    }
+
+    @Test
+    void deveRelerAgendaAlteradaDuranteALeituraEmLote() {
+        agendaService.reservar(1L, INICIO, null, false, () -> sessao(10L));
+        when(repository.findHorariosDesde(any())).thenAnswer(inv -> {
+            // Remoção confirmada enquanto a leitura em lote ainda devolvia a sessão
+            agendaService.liberar(1L, INICIO, 10L);
+            return List.of(new HorarioSessaoDTO(10L, 1L, INICIO));
+        });
+        when(repository.findHorariosByProfissionalIdDesde(eq(1L), any())).thenReturn(List.of());
+
+        agendaService.reconciliar();
+
+        assertEquals(0, agendaService.getHorariosIndexados());
+        verify(repository, times(1)).findHorariosByProfissionalIdDesde(eq(1L), any());
+    }
+
+    @Test
+    void deveDescartarAgendaDeProfissionalRemovido() {
+        agendaService.reservar(1L, INICIO, null, false, () -> sessao(10L));
+        assertEquals(1, agendaService.getHorariosIndexados());
+
+        agendaService.onProfissionalAlterado(
+                new ProfissionalAlteradoEvent(1L, null, null, null, ProfissionalAlteradoEvent.Tipo.REMOVIDO));
+
+        assertEquals(0, agendaService.getHorariosIndexados());
+        verify(repository, never()).findHorariosDesde(any());
+    }
+
+    private SessaoApoio sessao(Long id) {
+        SessaoApoio sessao = new SessaoApoio();
+        sessao.setId(id);
+        return sessao;
+    }
+}
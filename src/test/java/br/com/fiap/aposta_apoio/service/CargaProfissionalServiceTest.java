@@ -0,0 +1,90 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.CargaProfissionalDTO;
+import br.com.fiap.aposta_apoio.dto.ProfissionalCepDTO;
+import br.com.fiap.aposta_apoio.event.ProfissionalAlteradoEvent;
+import br.com.fiap.aposta_apoio.model.Especialidade;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o CargaProfissionalService.
+ * Valida a ordem por carga, os ajustes incrementais e a troca de especialidade.
+ */
+@ExtendWith(MockitoExtension.class)
+class CargaProfissionalServiceTest {
+
+    private static final LocalDateTime FUTURO = LocalDateTime.now().plusDays(7);
+
+    @Mock
+    private ProfissionalRepository profissionalRepository;
+
+    @Mock
+    private SessaoApoioRepository sessaoRepository;
+
+    private CargaProfissionalService cargaService;
+
+    @BeforeEach
+    void setUp() {
+        cargaService = new CargaProfissionalService(profissionalRepository, sessaoRepository);
+        when(profissionalRepository.findAllCeps()).thenReturn(List.of(
+                new ProfissionalCepDTO(1L, Especialidade.PSICOLOGIA, "01001000"),
+                new ProfissionalCepDTO(2L, Especialidade.PSICOLOGIA, "01001000"),
+                new ProfissionalCepDTO(3L, Especialidade.PSICOLOGIA, "01001000"),
+                new ProfissionalCepDTO(4L, Especialidade.COACHING, "01001000")));
+        when(sessaoRepository.countPendentesPorProfissional(any())).thenReturn(List.of(
+                new CargaProfissionalDTO(1L, 3L),
+                new CargaProfissionalDTO(2L, 1L)));
+        cargaService.reconciliar();
+    }
+
+    @Test
+    void deveOrdenarCandidatosPelaMenorCarga() {
+        assertEquals(List.of(3L, 2L, 1L), ids(Especialidade.PSICOLOGIA));
+        assertEquals(List.of(4L), ids(Especialidade.COACHING));
+    }
+
+    @Test
+    void deveAjustarCargaApenasParaSessoesFuturas() {
+        cargaService.registrar(3L, FUTURO, 1);
+        cargaService.registrar(3L, FUTURO, 1);
+        cargaService.registrar(2L, FUTURO, -1);
+        cargaService.registrar(2L, LocalDateTime.now().minusDays(1), 1);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(Especialidade.PSICOLOGIA));
+        assertEquals(0, cargaService.getCarga(2L));
+        assertEquals(2, cargaService.getCarga(3L));
+    }
+
+    @Test
+    void deveMoverProfissionalDeEspecialidadeMantendoACarga() {
+        cargaService.onProfissionalAlterado(new ProfissionalAlteradoEvent(1L, "Dr. Carlos",
+                Especialidade.COACHING, "01001000", ProfissionalAlteradoEvent.Tipo.ATUALIZADO));
+        cargaService.onProfissionalAlterado(new ProfissionalAlteradoEvent(2L, null, null, null,
+                ProfissionalAlteradoEvent.Tipo.REMOVIDO));
+
+        assertEquals(List.of(3L), ids(Especialidade.PSICOLOGIA));
+        assertEquals(List.of(4L, 1L), ids(Especialidade.COACHING));
+        assertEquals(3, cargaService.getCarga(1L));
+        assertEquals(3, cargaService.getProfissionais());
+    }
+
+    private List<Long> ids(Especialidade especialidade) {
+        List<Long> ids = new ArrayList<>();
+        cargaService.candidatos(especialidade).forEach(carga -> ids.add(carga.profissionalId()));
+        return ids;
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.fiap.aposta_apoio.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a CepTrie.
+ * Valida a ordenação por prefixo em comum, o desempate numérico e a atualização de CEPs.
+ */
+class CepTrieTest {
+
+    private CepTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new CepTrie();
+        trie.indexar(1L, "01001-000");
+        trie.indexar(2L, "01001-900");
+        trie.indexar(3L, "01310-100");
+        trie.indexar(4L, "20040-020");
+        trie.indexar(5L, "01002-000");
+    }
+
+    @Test
+    void deveOrdenarPeloPrefixoEmComum() {
+        CepTrie.Resultado resultado = trie.proximos("01001000", 5);
+
+        assertArrayEquals(new long[]{1L, 2L, 5L, 3L, 4L}, resultado.ids());
+        assertArrayEquals(new int[]{8, 5, 4, 2, 0}, resultado.digitosEmComum());
+    }
+
+    @Test
+    void deveDesempatarPeloCepNumericamenteMaisProximo() {
+        // 01001-800 está mais perto de 01001-900 (id 2) do que de 01001-000 (id 1)
+        CepTrie.Resultado resultado = trie.proximos("01001-800", 2);
+
+        assertArrayEquals(new long[]{2L, 1L}, resultado.ids());
+    }
+
+    @Test
+    void deveMoverERemoverIds() {
+        trie.indexar(4L, "01001-001");
+        trie.remover(1L);
+
+        assertArrayEquals(new long[]{4L, 2L}, trie.proximos("01001-000", 2).ids());
+        assertEquals(4, trie.getTamanho());
+    }
+
+    @Test
+    void deveIgnorarCepInvalido() {
+        trie.indexar(6L, "123");
+
+        assertEquals(5, trie.getTamanho());
+        assertEquals(0, trie.proximos("abc", 3).ids().length);
+    }
+}
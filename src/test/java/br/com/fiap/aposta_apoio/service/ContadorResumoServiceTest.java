@@ -0,0 +1,96 @@
+package br.com.fiap.aposta_apoio.service;
+
+import br.com.fiap.aposta_apoio.dto.ResumoDTO;
+import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.model.SessaoApoio;
+import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
+import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
+import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o ContadorResumoService.
+ * Valida a carga inicial, os ajustes após commit e a reconciliação com o banco.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContadorResumoServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private ProfissionalRepository profissionalRepository;
+
+    @Mock
+    private SessaoApoioRepository sessaoApoioRepository;
+
+    @InjectMocks
+    private ContadorResumoService contadorResumoService;
+
+    @BeforeEach
+    void setUp() {
+        when(usuarioRepository.count()).thenReturn(10L);
+        when(profissionalRepository.count()).thenReturn(3L);
+        when(sessaoApoioRepository.count()).thenReturn(7L);
+        contadorResumoService.reconciliar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deveServirResumoSemConsultarOBanco() {
+        clearInvocations(usuarioRepository, profissionalRepository, sessaoApoioRepository);
+
+        ResumoDTO resumo = contadorResumoService.resumo();
+
+        assertEquals(new ResumoDTO(10, 3, 7), resumo);
+        verifyNoInteractions(usuarioRepository, profissionalRepository, sessaoApoioRepository);
+    }
+
+    @Test
+    void deveAjustarContadoresForaDeTransacao() {
+        contadorResumoService.ajustar(Usuario.class, 1);
+        contadorResumoService.ajustar(Profissional.class, -1);
+        contadorResumoService.ajustar(SessaoApoio.class, 5);
+
+        assertEquals(new ResumoDTO(11, 2, 12), contadorResumoService.resumo());
+    }
+
+    @Test
+    void deveAplicarAjusteSomenteAposCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        contadorResumoService.ajustar(Usuario.class, 1);
+        assertEquals(10, contadorResumoService.resumo().totalUsuarios());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(11, contadorResumoService.resumo().totalUsuarios());
+    }
+
+    @Test
+    void deveCorrigirDesvioNaReconciliacao() {
+        contadorResumoService.ajustar(Usuario.class, 1);
+
+        contadorResumoService.reconciliar();
+
+        assertEquals(10, contadorResumoService.resumo().totalUsuarios());
+        assertEquals(1, contadorResumoService.getDivergencias());
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.fiap.aposta_apoio.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o CpfOffHeapSet.
+ * Valida inclusão, remoção, crescimento da tabela e a leitura do snapshot mapeado.
+ */
+class CpfOffHeapSetTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void deveIncluirERemoverCpfsInclusiveOZero() {
+        CpfOffHeapSet conjunto = new CpfOffHeapSet(0);
+
+        assertTrue(conjunto.adicionar(12345678901L));
+        assertTrue(conjunto.adicionar(0L));
+        assertFalse(conjunto.adicionar(12345678901L));
+
+        assertTrue(conjunto.contem(12345678901L));
+        assertTrue(conjunto.contem(0L));
+        assertFalse(conjunto.contem(12345678902L));
+        assertFalse(conjunto.contem(-1L));
+        assertEquals(2, conjunto.getQuantidade());
+
+        assertTrue(conjunto.remover(12345678901L));
+        assertFalse(conjunto.remover(12345678901L));
+        assertFalse(conjunto.contem(12345678901L));
+        assertTrue(conjunto.contem(0L));
+        assertEquals(1, conjunto.getQuantidade());
+    }
+
+    @Test
+    void deveCrescerMantendoTodosOsCpfs() {
+        CpfOffHeapSet conjunto = new CpfOffHeapSet(0);
+        for (long cpf = 10_000_000_000L; cpf < 10_000_100_000L; cpf++) {
+            conjunto.adicionar(cpf);
+        }
+        for (long cpf = 10_000_000_000L; cpf < 10_000_100_000L; cpf += 2) {
+            conjunto.remover(cpf);
+        }
+
+        assertEquals(50_000, conjunto.getQuantidade());
+        for (long cpf = 10_000_000_000L; cpf < 10_000_100_000L; cpf++) {
+            assertEquals(cpf % 2 == 1, conjunto.contem(cpf), "CPF " + cpf);
+        }
+        assertFalse(conjunto.contem(10_000_100_000L));
+    }
+
+    @Test
+    void deveGravarECarregarSnapshotSemAlterarOArquivo() throws IOException {
+        CpfOffHeapSet original = new CpfOffHeapSet(10);
+        original.adicionar(12345678901L);
+        original.adicionar(98765432100L);
+        Path arquivo = diretorio.resolve("autoexclusao.snapshot");
+        original.gravar(arquivo);
+        byte[] gravado = Files.readAllBytes(arquivo);
+
+        CpfOffHeapSet carregado = CpfOffHeapSet.carregar(arquivo);
+        assertEquals(2, carregado.getQuantidade());
+        assertTrue(carregado.contem(12345678901L));
+        assertTrue(carregado.contem(98765432100L));
+        assertFalse(carregado.contem(11111111111L));
+
+        // O mapeamento é privado: alterações ficam só na memória
+        carregado.adicionar(11111111111L);
+        assertTrue(carregado.contem(11111111111L));
+        assertArrayEquals(gravado, Files.readAllBytes(arquivo));
+    }
+
+    @Test
+    void deveRejeitarArquivoQueNaoESnapshot() throws IOException {
+        Path arquivo = Files.write(diretorio.resolve("invalido.snapshot"), new byte[64]);
+
+        assertThrows(IOException.class, () -> CpfOffHeapSet.carregar(arquivo));
+    }
+}
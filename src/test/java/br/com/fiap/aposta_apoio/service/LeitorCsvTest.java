@@ -0,0 +1,48 @@
+package br.com.fiap.aposta_apoio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o LeitorCsv.
+ * Valida campos entre aspas, numeração das linhas e o descarte de registros acima do limite.
+ */
+class LeitorCsvTest {
+
+    @Test
+    void deveLerCamposEntreAspasComVirgulaAspasEQuebraDeLinha() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a,\"b, c\",\"d \"\"e\"\"\"\r\n\"f\ng\",h\n"), 100);
+
+        assertEquals(List.of("a", "b, c", "d \"e\""), leitor.proximo());
+        assertEquals(1, leitor.getLinhaInicial());
+        assertEquals(List.of("f\ng", "h"), leitor.proximo());
+        assertEquals(2, leitor.getLinhaInicial());
+        assertNull(leitor.proximo());
+    }
+
+    @Test
+    void deveIgnorarLinhasEmBrancoMantendoANumeracao() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("a,b\n\n\r\nc,d"), 100);
+
+        assertEquals(List.of("a", "b"), leitor.proximo());
+        assertEquals(List.of("c", "d"), leitor.proximo());
+        assertEquals(4, leitor.getLinhaInicial());
+        assertNull(leitor.proximo());
+    }
+
+    @Test
+    void deveDescartarRegistroAcimaDoLimiteSemPerderOsSeguintes() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("\"" + "x".repeat(50) + "\n,\",y\nz\n"), 10);
+
+        assertEquals(List.of(), leitor.proximo());
+        assertTrue(leitor.isExcedeuLimite());
+        assertEquals(List.of("z"), leitor.proximo());
+        assertFalse(leitor.isExcedeuLimite());
+        assertEquals(3, leitor.getLinhaInicial());
+    }
+}
@@ -1,16 +1,26 @@
 package br.com.fiap.aposta_apoio.service;
 
 import br.com.fiap.aposta_apoio.dto.ProfissionalDTO;
+import br.com.fiap.aposta_apoio.exception.ParametroInvalidoException;
 import br.com.fiap.aposta_apoio.model.EnderecoVO;
 import br.com.fiap.aposta_apoio.model.Especialidade;
 import br.com.fiap.aposta_apoio.model.Profissional;
+import br.com.fiap.aposta_apoio.repository.KeysetRepository;
 import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
 import java.util.List;
@@ -31,6 +41,24 @@ class ProfissionalServiceTest {
     @Mock
     private ProfissionalRepository profissionalRepository;
 
+    @Mock
+    private SessaoRollupService rollupService;
+
+    @Mock
+    private KeysetRepository keysetRepository;
+
+    @Mock
+    private BuscaNomeService buscaNomeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProximidadeProfissionalService proximidadeService;
+
+    @Spy
+    private ProfissionalBuscaCache buscaCache = new ProfissionalBuscaCache(16);
+
     @InjectMocks
     private ProfissionalService profissionalService;
 
@@ -184,5 +212,34 @@ class ProfissionalServiceTest {
         assertNotNull(Especialidade.PSIQUIATRIA);
         assertEquals(5, Especialidade.values().length);
     }
-}
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveServirBuscaRepetidaDoCacheAteUmaAlteracao() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(profissionalRepository.findAll(any(Example.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(profissional), pageable, 1));
+        when(profissionalRepository.save(any(Profissional.class))).thenReturn(profissional);
+
+        // Act
+        Page<ProfissionalDTO> primeira = profissionalService.buscar(Especialidade.PSICOLOGIA, " São Paulo ", "sp", pageable);
+        Page<ProfissionalDTO> segunda = profissionalService.buscar(Especialidade.PSICOLOGIA, "São Paulo", "SP", pageable);
+        profissionalService.criar(profissionalDTO);
+        profissionalService.buscar(Especialidade.PSICOLOGIA, "São Paulo", "SP", pageable);
+
+        // Assert
+        assertEquals(1, primeira.getTotalElements());
+        assertSame(primeira, segunda);
+        assertEquals(1, buscaCache.getAcertos());
+        verify(profissionalRepository, times(2)).findAll(any(Example.class), eq(pageable));
+    }
+
+    @Test
+    void deveRejeitarEstadoComMaisDeDuasLetras() {
+        // Act & Assert
+        assertThrows(ParametroInvalidoException.class,
+                () -> profissionalService.buscar(null, null, "SPO", PageRequest.of(0, 10)));
+        verifyNoInteractions(profissionalRepository);
+    }
+}
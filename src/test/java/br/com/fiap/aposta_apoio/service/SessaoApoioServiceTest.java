@@ -1,9 +1,12 @@
 package br.com.fiap.aposta_apoio.service;
 
+import br.com.fiap.aposta_apoio.dto.AtribuicaoSessaoDTO;
 import br.com.fiap.aposta_apoio.dto.SessaoApoioDTO;
+import br.com.fiap.aposta_apoio.model.Especialidade;
 import br.com.fiap.aposta_apoio.model.Profissional;
 import br.com.fiap.aposta_apoio.model.SessaoApoio;
 import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.KeysetRepository;
 import br.com.fiap.aposta_apoio.repository.ProfissionalRepository;
 import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
 import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
@@ -12,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -39,6 +43,18 @@ class SessaoApoioServiceTest {
     @Mock
     private ProfissionalRepository profissionalRepository;
 
+    @Mock
+    private SessaoRollupService rollupService;
+
+    @Mock
+    private KeysetRepository keysetRepository;
+
+    @Mock
+    private CargaProfissionalService cargaService;
+
+    @Spy
+    private AgendaProfissionalService agendaService = new AgendaProfissionalService(null, 60);
+
     @InjectMocks
     private SessaoApoioService sessaoService;
 
@@ -91,6 +107,7 @@ class SessaoApoioServiceTest {
         verify(usuarioRepository, times(1)).findById(1L);
         verify(profissionalRepository, times(1)).findById(1L);
         verify(sessaoRepository, times(1)).save(any(SessaoApoio.class));
+        verify(rollupService, times(1)).registrar(sessao, 1);
     }
 
     @Test
@@ -129,17 +146,61 @@ class SessaoApoioServiceTest {
         verify(sessaoRepository, never()).save(any());
     }
 
+    @Test
+    void deveRejeitarSessaoSobrepostaDoMesmoProfissional() {
+        // Arrange
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(profissionalRepository.findById(1L)).thenReturn(Optional.of(profissional));
+        when(sessaoRepository.save(any(SessaoApoio.class))).thenReturn(sessao);
+        sessaoService.criar(sessaoDTO);
+
+        SessaoApoioDTO sobreposta = new SessaoApoioDTO(
+                null, 1L, 1L, LocalDateTime.of(2025, 10, 20, 14, 30), "Sobreposta"
+        );
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> sessaoService.criar(sobreposta));
+        verify(sessaoRepository, times(1)).save(any(SessaoApoio.class));
+    }
+
+    @Test
+    void deveAtribuirProximoCandidatoQuandoMenosOcupadoTemConflito() {
+        // Arrange - o profissional 1 (menos ocupado) já tem sessão no horário
+        Profissional outro = new Profissional();
+        outro.setId(2L);
+        outro.setNome("Dra. Ana");
+        SessaoApoio atribuida = new SessaoApoio();
+        atribuida.setId(2L);
+        atribuida.setUsuario(usuario);
+        atribuida.setProfissional(outro);
+        atribuida.setDataHora(sessaoDTO.dataHora());
+        atribuida.setDescricao("Atribuída");
+
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(profissionalRepository.findById(1L)).thenReturn(Optional.of(profissional));
+        when(profissionalRepository.findById(2L)).thenReturn(Optional.of(outro));
+        when(sessaoRepository.save(any(SessaoApoio.class))).thenReturn(sessao, atribuida);
+        sessaoService.criar(sessaoDTO);
+
+        when(usuarioRepository.existsById(1L)).thenReturn(true);
+        when(cargaService.candidatos(Especialidade.PSICOLOGIA)).thenReturn(List.of(
+                new CargaProfissionalService.Carga(0, 1L), new CargaProfissionalService.Carga(1, 2L)));
+
+        // Act
+        SessaoApoioDTO resultado = sessaoService.atribuir(
+                new AtribuicaoSessaoDTO(1L, Especialidade.PSICOLOGIA, sessaoDTO.dataHora(), "Atribuída"));
+
+        // Assert
+        assertEquals(2L, resultado.profissionalId());
+        verify(sessaoRepository, times(2)).save(any(SessaoApoio.class));
+    }
+
     @Test
     void deveListarTodasSessoes() {
         // Arrange
-        SessaoApoio sessao2 = new SessaoApoio();
-        sessao2.setId(2L);
-        sessao2.setUsuario(usuario);
-        sessao2.setProfissional(profissional);
-        sessao2.setDataHora(LocalDateTime.of(2025, 10, 25, 15, 0));
-        sessao2.setDescricao("Segunda sessão");
+        SessaoApoioDTO sessao2DTO = new SessaoApoioDTO(2L, 1L, 1L, LocalDateTime.of(2025, 10, 25, 15, 0), "Segunda sessão");
 
-        when(sessaoRepository.findAll()).thenReturn(Arrays.asList(sessao, sessao2));
+        when(sessaoRepository.findAllDto()).thenReturn(Arrays.asList(sessaoDTO, sessao2DTO));
 
         // Act
         List<SessaoApoioDTO> resultado = sessaoService.listar();
@@ -149,13 +210,13 @@ class SessaoApoioServiceTest {
         assertEquals(2, resultado.size());
         assertEquals("Primeira sessão", resultado.get(0).descricao());
         assertEquals("Segunda sessão", resultado.get(1).descricao());
-        verify(sessaoRepository, times(1)).findAll();
+        verify(sessaoRepository, times(1)).findAllDto();
     }
 
     @Test
     void deveBuscarSessaoPorId() {
         // Arrange
-        when(sessaoRepository.findById(1L)).thenReturn(Optional.of(sessao));
+        when(sessaoRepository.findDtoById(1L)).thenReturn(Optional.of(sessaoDTO));
 
         // Act
         SessaoApoioDTO resultado = sessaoService.buscarPorId(1L);
@@ -165,19 +226,19 @@ class SessaoApoioServiceTest {
         assertEquals(1L, resultado.id());
         assertEquals(1L, resultado.usuarioId());
         assertEquals(1L, resultado.profissionalId());
-        verify(sessaoRepository, times(1)).findById(1L);
+        verify(sessaoRepository, times(1)).findDtoById(1L);
     }
 
     @Test
     void deveLancarExcecaoQuandoSessaoNaoEncontrada() {
         // Arrange
-        when(sessaoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(sessaoRepository.findDtoById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> {
             sessaoService.buscarPorId(999L);
         });
-        verify(sessaoRepository, times(1)).findById(999L);
+        verify(sessaoRepository, times(1)).findDtoById(999L);
     }
 
     @Test
@@ -0,0 +1,60 @@
+package br.com.fiap.aposta_apoio.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o TrigramIndex.
+ * Valida a normalização de acentos, a ordenação por relevância, a paginação e a reindexação.
+ */
+class TrigramIndexTest {
+
+    private TrigramIndex indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new TrigramIndex();
+        indice.indexar(1L, "João Silva");
+        indice.indexar(2L, "Joana Souza");
+        indice.indexar(3L, "Maria Conceição");
+        indice.indexar(4L, "Joãozinho Pereira da Silva");
+    }
+
+    @Test
+    void deveNormalizarAcentosEMaiusculas() {
+        assertEquals("joao silva", TrigramIndex.normalizar("  JOÃO   Silva! "));
+        assertEquals("maria conceicao", TrigramIndex.normalizar("Maria Conceição"));
+    }
+
+    @Test
+    void deveEncontrarSemDiferenciarAcentos() {
+        TrigramIndex.Resultado resultado = indice.buscar("conceicao", 0, 10);
+
+        assertEquals(1, resultado.total());
+        assertArrayEquals(new long[]{3L}, resultado.ids());
+    }
+
+    @Test
+    void deveOrdenarPorRelevanciaEPaginar() {
+        // Ambos contêm "joao silva"; o nome mais curto vem primeiro
+        TrigramIndex.Resultado primeira = indice.buscar("joao silva", 0, 1);
+        TrigramIndex.Resultado segunda = indice.buscar("joao silva", 1, 1);
+
+        assertEquals(2, primeira.total());
+        assertArrayEquals(new long[]{1L}, primeira.ids());
+        assertArrayEquals(new long[]{4L}, segunda.ids());
+    }
+
+    @Test
+    void deveReindexarERemoverDocumentos() {
+        indice.indexar(2L, "Ana Lima");
+        indice.remover(1L);
+
+        assertEquals(0, indice.buscar("joana", 0, 10).total());
+        assertArrayEquals(new long[]{2L}, indice.buscar("lima", 0, 10).ids());
+        assertArrayEquals(new long[]{4L}, indice.buscar("joao silva", 0, 10).ids());
+        assertEquals(3, indice.getDocumentos());
+    }
+}
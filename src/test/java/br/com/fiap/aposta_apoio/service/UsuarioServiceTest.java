@@ -1,21 +1,33 @@
 package br.com.fiap.aposta_apoio.service;
 
 import br.com.fiap.aposta_apoio.dto.UsuarioDTO;
+import br.com.fiap.aposta_apoio.event.UsuarioAlteradoEvent;
 import br.com.fiap.aposta_apoio.model.EnderecoVO;
 import br.com.fiap.aposta_apoio.model.Usuario;
+import br.com.fiap.aposta_apoio.repository.ExportacaoRepository;
+import br.com.fiap.aposta_apoio.repository.KeysetRepository;
 import br.com.fiap.aposta_apoio.repository.SessaoApoioRepository;
 import br.com.fiap.aposta_apoio.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +46,24 @@ class UsuarioServiceTest {
     @Mock
     private SessaoApoioRepository sessaoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private KeysetRepository keysetRepository;
+
+    @Mock
+    private BuscaNomeService buscaNomeService;
+
+    @Mock
+    private ExportacaoRepository exportacaoRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -68,7 +98,7 @@ class UsuarioServiceTest {
     @Test
     void deveCriarUsuarioComSucesso() {
         // Arrange
-        when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuario);
+        when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenReturn(usuario);
 
         // Act
         UsuarioDTO resultado = usuarioService.criar(usuarioDTO);
@@ -77,23 +107,33 @@ class UsuarioServiceTest {
         assertNotNull(resultado);
         assertEquals("João Silva", resultado.nome());
         assertEquals("joao@test.com", resultado.email());
-        verify(usuarioRepository, times(1)).save(any(Usuario.class));
+        verify(usuarioRepository, times(1)).saveAndFlush(any(Usuario.class));
     }
 
     @Test
-    void deveListarTodosUsuarios() {
+    void deveListarTodosUsuarios() throws Exception {
         // Arrange
-        List<Usuario> usuarios = Arrays.asList(usuario);
-        when(usuarioRepository.findAll()).thenReturn(usuarios);
+        when(exportacaoRepository.streamUsuarios()).thenReturn(Stream.of(usuarioDTO));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
 
         // Act
-        List<UsuarioDTO> resultado = usuarioService.listar();
+        long total = usuarioService.listar(saida);
 
         // Assert
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals("João Silva", resultado.get(0).nome());
-        verify(usuarioRepository, times(1)).findAll();
+        assertEquals(1, total);
+        UsuarioDTO[] resultado = objectMapper.readValue(saida.toString(StandardCharsets.UTF_8), UsuarioDTO[].class);
+        assertEquals(1, resultado.length);
+        assertEquals("João Silva", resultado[0].nome());
+        verify(usuarioRepository, never()).findAll();
+    }
+
+    @Test
+    void deveListarArrayVazioSemUsuarios() throws Exception {
+        when(exportacaoRepository.streamUsuarios()).thenReturn(Stream.empty());
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        assertEquals(0, usuarioService.listar(saida));
+        assertEquals("[]", saida.toString(StandardCharsets.UTF_8));
     }
 
     @Test
@@ -111,6 +151,19 @@ class UsuarioServiceTest {
         verify(usuarioRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void deveBuscarUsuarioPorCpfNormalizado() {
+        // Arrange
+        when(usuarioRepository.findByCpf("12345678901")).thenReturn(Optional.of(usuario));
+
+        // Act
+        UsuarioDTO resultado = usuarioService.buscarPorCpf("123.456.789-01");
+
+        // Assert
+        assertEquals(1L, resultado.id());
+        verify(usuarioRepository, times(1)).findByCpf("12345678901");
+    }
+
     @Test
     void deveLancarExcecaoQuandoUsuarioNaoEncontrado() {
         // Arrange
@@ -127,7 +180,7 @@ class UsuarioServiceTest {
     void deveAtualizarUsuarioComSucesso() {
         // Arrange
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
-        when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuario);
+        when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenReturn(usuario);
 
         // Act
         UsuarioDTO resultado = usuarioService.atualizar(1L, usuarioDTO);
@@ -136,6 +189,51 @@ class UsuarioServiceTest {
         assertNotNull(resultado);
         assertEquals("João Silva", resultado.nome());
         verify(usuarioRepository, times(1)).findById(1L);
-        verify(usuarioRepository, times(1)).save(any(Usuario.class));
+        verify(usuarioRepository, times(1)).saveAndFlush(any(Usuario.class));
+    }
+
+    @Test
+    void deveTraduzirApenasViolacaoDoIndiceDeCpf() {
+        // Arrange
+        DataIntegrityViolationException cpf = violacaoUnica("PUBLIC.UK_USUARIO_CPF_INDEX_2");
+        DataIntegrityViolationException login = violacaoUnica("PUBLIC.CONSTRAINT_INDEX_2");
+        when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenThrow(cpf).thenThrow(login);
+
+        // Act & Assert
+        IllegalStateException duplicado = assertThrows(IllegalStateException.class, () -> usuarioService.criar(usuarioDTO));
+        assertEquals("CPF já cadastrado", duplicado.getMessage());
+        assertSame(login, assertThrows(DataIntegrityViolationException.class, () -> usuarioService.criar(usuarioDTO)));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deveReconhecerIndiceDeCpfPeloNomeDaConstraint() {
+        assertTrue(Cpf.violouIndiceUnico(violacaoUnica("usuario.uk_usuario_cpf")));
+        assertTrue(Cpf.violouIndiceUnico(violacaoUnica("uk_usuario_cpf")));
+        assertFalse(Cpf.violouIndiceUnico(violacaoUnica("usuario.login")));
+        assertFalse(Cpf.violouIndiceUnico(
+                new DataIntegrityViolationException("Duplicate entry '1' for key 'usuario.uk_usuario_cpf'")));
+    }
+
+    @Test
+    void deveDeletarUsuarioEPublicarEvento() {
+        // Arrange
+        usuario.setLogin("joao.silva");
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(sessaoRepository.countByUsuario_Id(1L)).thenReturn(0L);
+
+        // Act
+        usuarioService.deletar(1L);
+
+        // Assert
+        verify(usuarioRepository, times(1)).delete(usuario);
+        verify(eventPublisher, times(1)).publishEvent(
+            new UsuarioAlteradoEvent(1L, "joao.silva", UsuarioAlteradoEvent.Tipo.REMOVIDO));
+    }
+
+    private static DataIntegrityViolationException violacaoUnica(String constraint) {
+        SQLException sql = new SQLException("Duplicate entry", "23000", 1062);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sql, constraint));
     }
 }
@@ -0,0 +1,100 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aplica as migrações Flyway sobre H2 em modo MySQL, com dados gravados antes dos backfills
+ * (V5 e V9), que os testes da aplicação não executam (neles o Flyway fica desligado).
+ */
+class MigracoesIntegrationTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migracoes-" + System.nanoTime()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+    }
+
+    @Test
+    void deveAplicarBackfillDoRollupENormalizarCpfs() throws Exception {
+        migrar("4");
+        executar("""
+                INSERT INTO usuario (nome, email, telefone, cpf, rua, numero, bairro, cidade, estado, cep)
+                VALUES ('Ana', 'ana@test.com', '11999999999', '123.456.789-01', 'Rua', '1', 'Centro', 'São Paulo', 'SP', '01001000')
+                """);
+        executar("""
+                INSERT INTO profissional (nome, email, especialidade, rua, numero, bairro, cidade, estado, cep)
+                VALUES ('Dr. Bruno', 'bruno@test.com', 'PSICOLOGIA', 'Rua', '1', 'Centro', 'São Paulo', 'SP', '01001000')
+                """);
+        executar("""
+                INSERT INTO sessao_apoio (usuario_id, profissional_id, data_hora) VALUES
+                (1, 1, '2025-10-20 09:00:00'), (1, 1, '2025-10-20 14:00:00'), (1, 1, '2025-10-21 09:00:00')
+                """);
+
+        migrar(null);
+
+        assertEquals(2, consultar("SELECT COUNT(*) FROM sessao_rollup"));
+        assertEquals(2, consultar("""
+                SELECT total FROM sessao_rollup WHERE dia = '2025-10-20' AND especialidade = 'PSICOLOGIA' AND estado = 'SP'
+                """));
+        assertEquals(1, consultar("SELECT total FROM sessao_rollup WHERE dia = '2025-10-21'"));
+        assertEquals(12345678901L, consultar("SELECT CAST(cpf AS BIGINT) FROM usuario WHERE id = 1"));
+        assertEquals(11, consultar("SELECT CHAR_LENGTH(cpf) FROM usuario WHERE id = 1"));
+    }
+
+    @Test
+    void deveFalharComCpfQueNaoFicaCom11Digitos() throws Exception {
+        migrar("8");
+        executar("""
+                INSERT INTO usuario (nome, email, telefone, cpf, rua, numero, bairro, cidade, estado, cep)
+                VALUES ('Ana', 'ana@test.com', '11999999999', '123.456.789', 'Rua', '1', 'Centro', 'São Paulo', 'SP', '01001000')
+                """);
+
+        FlywayException erro = assertThrows(FlywayException.class, () -> migrar(null));
+
+        Throwable causa = erro;
+        while (causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        assertInstanceOf(IllegalStateException.class, causa);
+        assertTrue(causa.getMessage().contains("id 1 (\"123456789\")"), causa.getMessage());
+        assertEquals(0, consultar("""
+                SELECT COUNT(*) FROM information_schema.indexes WHERE LOWER(index_name) = 'uk_usuario_cpf'
+                """));
+    }
+
+    private void migrar(String alvo) {
+        var configuracao = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration");
+        if (alvo != null) {
+            configuracao.target(alvo);
+        }
+        configuracao.load().migrate();
+    }
+
+    private void executar(String sql) throws Exception {
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private long consultar(String sql) throws Exception {
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        }
+    }
+}